@@ -0,0 +1,72 @@
+package org.traccar;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.traccar.helper.ChannelBufferTools;
+import org.traccar.helper.DelimiterScanner;
+
+/**
+ * Delimiter search on a frame arriving in fragments
+ *
+ * One operation delivers the whole frame fragment by fragment and searches for the delimiter after each fragment,
+ * like a frame decoder does on every received packet.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DelimiterScannerBenchmark {
+
+    @Param({"128", "1024", "8192"})
+    private int frameLength;
+
+    @Param({"16", "256"})
+    private int fragmentLength;
+
+    private ChannelBuffer buf;
+    private final DelimiterScanner scanner = new DelimiterScanner("\r\n");
+
+    @Setup
+    public void setUp() {
+        char[] data = new char[frameLength - 2];
+        Arrays.fill(data, '0');
+        buf = ChannelBuffers.copiedBuffer(new String(data) + "\r\n", Charset.forName("US-ASCII"));
+    }
+
+    @Benchmark
+    public int rescan() {
+        Integer index = null;
+        for (int length = fragmentLength; index == null; length += fragmentLength) {
+            buf.writerIndex(Math.min(length, frameLength));
+            index = ChannelBufferTools.find(buf, buf.readerIndex(), buf.writerIndex(), "\r\n");
+        }
+        return index;
+    }
+
+    @Benchmark
+    public int incremental() {
+        int index = -1;
+        for (int length = fragmentLength; index < 0; length += fragmentLength) {
+            buf.writerIndex(Math.min(length, frameLength));
+            index = scanner.find(buf);
+        }
+        return index;
+    }
+
+}
@@ -0,0 +1,156 @@
+package org.traccar;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.handler.codec.frame.FrameDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Frame decoder throughput using the sample messages of the decoder tests (test/vectors)
+ *
+ * Frame decoders are taken from the pipelines configured by ServerManager. One operation splits one message.
+ * Unit tests pass text messages without delimiter, so common delimiters are appended until a frame is produced.
+ * Messages not forming a complete frame are skipped, the list contains protocols with at least one frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameDecoderBenchmark {
+
+    private static final String[] DELIMITERS = {"", "\r\n", "\n", "\r", "#", "$", "\0"};
+
+    @Param({
+            "Aplicom", "Ardi01", "Atrack", "AutoFon45", "AutoFon", "Box", "Cellocator", "EasyTrack", "Eelink",
+            "Enfora", "Freedom", "Galileo", "Gl100", "Gl200", "GoSafe", "Gotop", "Gps103", "GpsGate", "Gt02", "Gt06",
+            "H02", "Haicom", "Intellitrac", "Jt600", "Khd", "Laipac", "M2m", "Megastek", "Meiligao", "Meitrack",
+            "Navigil", "Navis", "Orion", "Pt3000", "Pt502", "Riti", "Ruptela", "Sanav", "Stl060", "Suntech", "Syrus",
+            "T55", "Telik", "Teltonika", "Totem", "Tr20", "Tr900", "Trackbox", "Tramigo", "Ulbotech", "V680",
+            "Visiontek", "Wialon", "Wondex", "Xexun", "Xt013", "Xt7", "Ywt"
+    })
+    private String decoder;
+
+    private ServerManager serverManager;
+    private FrameDecoder frameDecoder;
+    private Method decodeMethod;
+    private ChannelBuffer[] messages;
+    private int index;
+
+    private static Method findDecodeMethod(Class<?> decoderClass) throws NoSuchMethodException {
+        for (Class<?> c = decoderClass; c != null; c = c.getSuperclass()) {
+            try {
+                Method method = c.getDeclaredMethod(
+                        "decode", ChannelHandlerContext.class, Channel.class, ChannelBuffer.class);
+                method.setAccessible(true);
+                return method;
+            } catch (NoSuchMethodException error) {
+                // Check superclass
+            }
+        }
+        throw new NoSuchMethodException(decoderClass.getName() + ".decode");
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        String protocol = decoder.toLowerCase();
+
+        Properties properties = new Properties();
+        properties.setProperty("database.driver", "org.h2.Driver");
+        properties.setProperty("database.url", "jdbc:h2:mem:benchmark");
+        properties.setProperty(protocol + ".enable", "true");
+        properties.setProperty(protocol + ".port", "5000");
+
+        File file = File.createTempFile("benchmark", ".xml");
+        try {
+            OutputStream output = new FileOutputStream(file);
+            try {
+                properties.storeToXML(output, null);
+            } finally {
+                output.close();
+            }
+            serverManager = new ServerManager();
+            serverManager.init(new String[] {file.getPath()});
+        } finally {
+            file.delete();
+        }
+
+        Field field = ServerManager.class.getDeclaredField("serverList");
+        field.setAccessible(true);
+        TrackerServer server = (TrackerServer) ((List<?>) field.get(serverManager)).get(0);
+        frameDecoder = (FrameDecoder) server.getPipelineFactory().getPipeline().get("frameDecoder");
+        decodeMethod = findDecodeMethod(frameDecoder.getClass());
+
+        List<ChannelBuffer> valid = new ArrayList<ChannelBuffer>();
+        for (Object message : DecoderVectors.load(decoder)) {
+            for (String delimiter : DELIMITERS) {
+                ChannelBuffer buffer = toFrame(message, delimiter);
+                if (buffer != null && isFrame(buffer)) {
+                    valid.add(buffer);
+                    break;
+                }
+            }
+        }
+        if (valid.isEmpty()) {
+            throw new IllegalStateException("No complete frames for " + decoder);
+        }
+        messages = valid.toArray(new ChannelBuffer[valid.size()]);
+    }
+
+    private static ChannelBuffer toFrame(Object message, String delimiter) {
+        Charset charset = Charset.forName("ISO-8859-1");
+        if (message instanceof String) {
+            return ChannelBuffers.copiedBuffer((String) message + delimiter, charset);
+        } else if (message instanceof ChannelBuffer) {
+            ChannelBuffer buffer = (ChannelBuffer) message;
+            return delimiter.isEmpty() ? buffer : ChannelBuffers.copiedBuffer(
+                    buffer.duplicate(), ChannelBuffers.copiedBuffer(delimiter, charset));
+        }
+        return null;
+    }
+
+    private boolean isFrame(ChannelBuffer buffer) {
+        try {
+            return decodeMethod.invoke(frameDecoder, null, null, buffer.duplicate()) != null;
+        } catch (Exception error) {
+            return false;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        serverManager.stop();
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        ChannelBuffer message = messages[index];
+        index = (index + 1) % messages.length;
+        return decodeMethod.invoke(frameDecoder, null, null, message.duplicate());
+    }
+
+}
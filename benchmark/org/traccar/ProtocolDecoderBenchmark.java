@@ -0,0 +1,114 @@
+package org.traccar;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.traccar.database.DataManager;
+import org.traccar.helper.TestDataManager;
+import org.traccar.model.Data;
+
+/**
+ * Protocol decoder throughput using the sample messages of the decoder tests (test/vectors)
+ *
+ * One operation decodes one message, messages are decoded in the test order to keep decoder state consistent.
+ * Decoders whose tests only use unsupported messages (e.g. HTTP requests) are not listed.
+ * Select decoders with JMH option, e.g. -Dbenchmark="ProtocolDecoderBenchmark -p decoder=Gt06,Teltonika"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtocolDecoderBenchmark {
+
+    @Param({
+            "Aplicom", "Ardi01", "Atrack", "AutoFon45", "AutoFon", "Box", "CarTrack", "Carscop", "Cellocator",
+            "EasyTrack", "Eelink", "Enfora", "Ev603", "Freedom", "Galileo", "Gator", "Gl100", "Gl200", "GlobalSat",
+            "GoSafe", "Gotop", "Gps103", "GpsGate", "Gt02", "Gt06", "H02", "Haicom", "Intellitrac", "Jt600", "Khd",
+            "Laipac", "M2m", "ManPower", "Megastek", "Meiligao", "Meitrack", "MiniFinder", "Navigil", "Navis",
+            "Noran", "Orion", "Pt3000", "Pt502", "Riti", "Ruptela", "Sanav", "Skypatrol", "Stl060", "Suntech",
+            "Syrus", "T55", "Telik", "Teltonika", "Tk102", "Tk103", "Tlt2h", "Topflytech", "Totem", "Tr20", "Tr900",
+            "Trackbox", "Tramigo", "Ulbotech", "V680", "Visiontek", "Wialon", "Wondex", "Xexun2", "Xexun", "Xirgo",
+            "Xt013", "Xt7", "Ywt"
+    })
+    private String decoder;
+
+    private BaseProtocolDecoder protocolDecoder;
+    private Object[] messages;
+    private int index;
+
+    static BaseProtocolDecoder createDecoder(String name) throws Exception {
+        Class<?> decoderClass = Class.forName("org.traccar.protocol." + name + "ProtocolDecoder");
+        for (Constructor<?> constructor : decoderClass.getConstructors()) {
+            Class<?>[] types = constructor.getParameterTypes();
+            if (types.length >= 3 && types[0] == DataManager.class) {
+                Object[] arguments = new Object[types.length];
+                arguments[0] = new TestDataManager();
+                for (int i = 3; i < types.length; i++) {
+                    arguments[i] = types[i] == boolean.class ? Boolean.FALSE : null;
+                }
+                return (BaseProtocolDecoder) constructor.newInstance(arguments);
+            }
+        }
+        throw new IllegalArgumentException("No decoder constructor for " + name);
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        protocolDecoder = createDecoder(decoder);
+
+        // Drop messages failing outside of the test context
+        List<Object> valid = new ArrayList<Object>();
+        for (Object message : DecoderVectors.load(decoder)) {
+            try {
+                protocolDecoder.decode(null, null, null, DecoderVectors.copy(message));
+                valid.add(message);
+            } catch (Exception error) {
+                // Skip message
+            }
+        }
+        if (valid.isEmpty()) {
+            throw new IllegalStateException("No sample messages for " + decoder);
+        }
+        messages = valid.toArray();
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        Object message = messages[index];
+        index = (index + 1) % messages.length;
+        return protocolDecoder.decode(null, null, null, DecoderVectors.copy(message));
+    }
+
+    /**
+     * Decode and render extended information like the storage does
+     */
+    @Benchmark
+    public Object decodeAndRender() throws Exception {
+        Object result = decode();
+        if (result instanceof Data) {
+            return ((Data) result).getExtendedInfo();
+        } else if (result instanceof List) {
+            StringBuilder info = new StringBuilder();
+            for (Object item : (List<?>) result) {
+                info.append(((Data) item).getExtendedInfo());
+            }
+            return info;
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,73 @@
+package org.traccar;
+
+import java.util.concurrent.TimeUnit;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.traccar.helper.Crc;
+import org.traccar.helper.ResponseTemplate;
+
+/**
+ * Device response encoding, direct buffer written field by field compared to patched template
+ *
+ * GT06 acknowledges every message with a 10 byte response, Teltonika every AVL packet with a record count.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseBenchmark {
+
+    private static final ResponseTemplate GT06_RESPONSE = new ResponseTemplate(
+            0x78, 0x78, 0x05, 0x00, 0x00, 0x00, 0x00, 0x00, 0x0D, 0x0A);
+
+    private static final ResponseTemplate TELTONIKA_RESPONSE = new ResponseTemplate(0x00, 0x00, 0x00, 0x00);
+
+    private int index;
+
+    @Benchmark
+    public ChannelBuffer gt06Direct() {
+        ChannelBuffer response = ChannelBuffers.directBuffer(10);
+        response.writeByte(0x78); response.writeByte(0x78); // header
+        response.writeByte(0x05); // size
+        response.writeByte(0x12);
+        response.writeShort(index++);
+        response.writeShort(Crc.crc16Ccitt(response.toByteBuffer(2, 4)));
+        response.writeByte(0x0D); response.writeByte(0x0A); // ending
+        return response;
+    }
+
+    @Benchmark
+    public ChannelBuffer gt06Template() {
+        ChannelBuffer response = GT06_RESPONSE.create();
+        response.setByte(3, 0x12);
+        response.setShort(4, index++);
+        response.setShort(6, Crc.crc16Ccitt(response.toByteBuffer(2, 4)));
+        return response;
+    }
+
+    @Benchmark
+    public ChannelBuffer teltonikaDirect() {
+        ChannelBuffer response = ChannelBuffers.directBuffer(4);
+        response.writeInt(index++ & 0xFF);
+        return response;
+    }
+
+    @Benchmark
+    public ChannelBuffer teltonikaTemplate() {
+        ChannelBuffer response = TELTONIKA_RESPONSE.create();
+        response.setInt(0, index++ & 0xFF);
+        return response;
+    }
+
+}
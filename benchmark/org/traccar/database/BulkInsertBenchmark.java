@@ -0,0 +1,93 @@
+package org.traccar.database;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Insert of a position batch into embedded H2, JDBC batch (rows = 0) versus multi-row statements
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final String QUERY =
+            "INSERT INTO positions (device_id, time, valid, latitude, longitude, altitude, speed, course, power, address, other) " +
+            "VALUES (:device_id, :time, :valid, :latitude, :longitude, :altitude, :speed, :course, :power, :address, :extended_info);";
+
+    private static final int BATCH_SIZE = 500;
+
+    @Param({"0", "10", "100", "500"})
+    private int rows;
+
+    private Connection connection;
+    private NamedParameterStatement statement;
+    private List<NamedParameterStatement.Params> batch;
+
+    @Setup
+    public void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:bulk;DB_CLOSE_DELAY=-1");
+        connection = dataSource.getConnection();
+        connection.createStatement().execute("CREATE TABLE IF NOT EXISTS positions (device_id BIGINT, " +
+                "time TIMESTAMP, valid BOOLEAN, latitude DOUBLE, longitude DOUBLE, altitude DOUBLE, " +
+                "speed DOUBLE, course DOUBLE, power DOUBLE, address VARCHAR(512), other VARCHAR(4096));");
+
+        statement = new NamedParameterStatement(QUERY, dataSource, Statement.NO_GENERATED_KEYS);
+        batch = new ArrayList<NamedParameterStatement.Params>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(statement.prepare()
+                    .setLong("device_id", i % 50)
+                    .setTimestamp("time", new Date())
+                    .setBoolean("valid", true)
+                    .setDouble("latitude", 60.0 + i * 0.001)
+                    .setDouble("longitude", 30.0 + i * 0.001)
+                    .setDouble("altitude", 0.0)
+                    .setDouble("speed", 12.5)
+                    .setDouble("course", 180.0)
+                    .setDouble("power", 12.1)
+                    .setString("address", null)
+                    .setString("extended_info", "<info><protocol>gt06</protocol><index>" + i + "</index></info>"));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clear() throws Exception {
+        connection.createStatement().execute("TRUNCATE TABLE positions;");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Benchmark
+    public Object insert() throws Exception {
+        if (rows == 0) {
+            return statement.executeBatch(batch, null);
+        }
+        return statement.executeMultiRow(batch, rows, null);
+    }
+
+}
@@ -0,0 +1,178 @@
+package org.traccar.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parameter binding of the default position insert, map based (previous implementation) versus slot based, with new
+ * or reused slot arrays
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NamedParameterStatementBenchmark {
+
+    private static final String QUERY =
+            "INSERT INTO positions (device_id, time, valid, latitude, longitude, altitude, speed, course, power, address, other) " +
+            "VALUES (:device_id, :time, :valid, :latitude, :longitude, :altitude, :speed, :course, :power, :address, :extended_info);";
+
+    /**
+     * Copy of the previous HashMap based binding
+     */
+    private static class MapParams {
+
+        private final Map<String, List<Integer>> indexMap;
+        private Map<String, Object> values;
+        private Map<String, Integer> types;
+
+        public MapParams(Map<String, List<Integer>> indexMap) {
+            this.indexMap = indexMap;
+        }
+
+        public MapParams set(String name, int type, Object value) {
+            if (types == null) {
+                types = new HashMap<String, Integer>();
+            }
+            types.put(name, type);
+            if (values == null) {
+                values = new HashMap<String, Object>();
+            }
+            values.put(name, value);
+            return this;
+        }
+
+        public void setParams(PreparedStatement stmt) throws SQLException {
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                String name = entry.getKey();
+                Object value = entry.getValue();
+                int type = types.get(name);
+
+                List<Integer> indexList = indexMap.get(name);
+                if (indexList != null) for (Integer index : indexList) {
+                    if (value == null) {
+                        stmt.setNull(index, type);
+                    } else {
+                        switch (type) {
+                            case Types.INTEGER:
+                                stmt.setLong(index, (Long) value);
+                                break;
+                            case Types.VARCHAR:
+                                stmt.setString(index, (String) value);
+                                break;
+                            case Types.TIMESTAMP:
+                                stmt.setTimestamp(index, new Timestamp(((Date) value).getTime()));
+                                break;
+                            case Types.DOUBLE:
+                                stmt.setDouble(index, (Double) value);
+                                break;
+                            case Types.BOOLEAN:
+                                stmt.setBoolean(index, (Boolean) value);
+                                break;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private Connection connection;
+    private PreparedStatement statement;
+    private NamedParameterStatement namedStatement;
+    private Map<String, List<Integer>> indexMap;
+
+    private long deviceId = 1;
+    private Date time = new Date();
+    private double latitude = 60.0;
+    private double longitude = 30.0;
+    private String extendedInfo = "<info><protocol>gt06</protocol><index>1</index></info>";
+
+    @Setup
+    public void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        connection = dataSource.getConnection();
+        connection.createStatement().execute("CREATE TABLE IF NOT EXISTS positions (device_id BIGINT, " +
+                "time TIMESTAMP, valid BOOLEAN, latitude DOUBLE, longitude DOUBLE, altitude DOUBLE, " +
+                "speed DOUBLE, course DOUBLE, power DOUBLE, address VARCHAR(512), other VARCHAR(4096));");
+
+        namedStatement = new NamedParameterStatement(QUERY, dataSource);
+        indexMap = new HashMap<String, List<Integer>>();
+        statement = connection.prepareStatement(NamedParameterStatement.parse(QUERY, indexMap));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        statement.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public PreparedStatement mapBinding() throws SQLException {
+        MapParams params = new MapParams(indexMap);
+        params.set("device_id", Types.INTEGER, deviceId);
+        params.set("time", Types.TIMESTAMP, time);
+        params.set("valid", Types.BOOLEAN, true);
+        params.set("altitude", Types.DOUBLE, 0.0);
+        params.set("latitude", Types.DOUBLE, latitude);
+        params.set("longitude", Types.DOUBLE, longitude);
+        params.set("speed", Types.DOUBLE, 12.5);
+        params.set("course", Types.DOUBLE, 180.0);
+        params.set("address", Types.VARCHAR, null);
+        params.set("extended_info", Types.VARCHAR, extendedInfo);
+        params.set("id", Types.INTEGER, null);
+        params.set("power", Types.DOUBLE, 12.1);
+        params.setParams(statement);
+        return statement;
+    }
+
+    private PreparedStatement bind(NamedParameterStatement.Params params) throws SQLException {
+        params.setLong("device_id", deviceId);
+        params.setTimestamp("time", time);
+        params.setBoolean("valid", true);
+        params.setDouble("altitude", 0.0);
+        params.setDouble("latitude", latitude);
+        params.setDouble("longitude", longitude);
+        params.setDouble("speed", 12.5);
+        params.setDouble("course", 180.0);
+        params.setString("address", null);
+        params.setString("extended_info", extendedInfo);
+        params.setLong("id", null);
+        params.setDouble("power", 12.1);
+        params.setParams(statement);
+        return statement;
+    }
+
+    @Benchmark
+    public PreparedStatement slotBinding() throws SQLException {
+        return bind(namedStatement.prepare());
+    }
+
+    @Benchmark
+    public PreparedStatement reusedSlotBinding() throws SQLException {
+        return bind(namedStatement.prepareReusable());
+    }
+
+}
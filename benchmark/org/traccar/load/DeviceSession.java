@@ -0,0 +1,240 @@
+package org.traccar.load;
+
+import java.net.SocketAddress;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.jboss.netty.bootstrap.ClientBootstrap;
+import org.jboss.netty.bootstrap.ConnectionlessBootstrap;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelFactory;
+import org.jboss.netty.channel.ChannelFuture;
+import org.jboss.netty.channel.ChannelFutureListener;
+import org.jboss.netty.channel.ChannelHandler;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.ChannelPipeline;
+import org.jboss.netty.channel.ChannelStateEvent;
+import org.jboss.netty.channel.Channels;
+import org.jboss.netty.channel.ExceptionEvent;
+import org.jboss.netty.channel.MessageEvent;
+import org.jboss.netty.channel.SimpleChannelUpstreamHandler;
+import org.jboss.netty.util.Timeout;
+import org.jboss.netty.util.Timer;
+import org.jboss.netty.util.TimerTask;
+
+/**
+ * Simulated device connection
+ *
+ * Session logs in, waits for the login acknowledgement (unless the protocol does not require it) and then sends
+ * position messages at a fixed interval. Acknowledgements are matched to messages in sending order.
+ */
+public abstract class DeviceSession extends SimpleChannelUpstreamHandler implements TimerTask {
+
+    private final String imei;
+    private final boolean datagram;
+    private final LoadStatistics statistics;
+    private final Timer timer;
+    private final long interval;
+
+    private final Queue<Long> pending = new LinkedList<Long>();
+
+    private volatile Channel channel;
+    private volatile boolean loggedIn;
+    private volatile boolean stopped;
+
+    private final Random random;
+    private double latitude;
+    private double longitude;
+    private double course;
+
+    protected DeviceSession(String imei, boolean datagram, LoadStatistics statistics, Timer timer, long interval) {
+        this.imei = imei;
+        this.datagram = datagram;
+        this.statistics = statistics;
+        this.timer = timer;
+        this.interval = interval;
+
+        random = new Random(imei.hashCode());
+        latitude = 40 + random.nextDouble() * 20;
+        longitude = random.nextDouble() * 40;
+        course = random.nextDouble() * 360;
+    }
+
+    public String getImei() {
+        return imei;
+    }
+
+    public boolean isDatagram() {
+        return datagram;
+    }
+
+    public boolean isLoggedIn() {
+        return loggedIn;
+    }
+
+    /**
+     * Decoder splitting server responses, null if every received buffer is one response
+     */
+    protected abstract ChannelHandler createResponseDecoder();
+
+    protected abstract ChannelBuffer encodeLogin();
+
+    protected abstract ChannelBuffer encodePositions(long time, double latitude, double longitude, double course);
+
+    /**
+     * Number of positions in one message
+     */
+    protected int getPositionCount() {
+        return 1;
+    }
+
+    /**
+     * Whether server acknowledges position messages
+     */
+    protected abstract boolean isAcknowledged();
+
+    /**
+     * Whether positions can be sent only after login acknowledgement
+     */
+    protected boolean isLoginRequired() {
+        return !datagram;
+    }
+
+    /**
+     * Check server response, false rejects login or closes session
+     */
+    protected abstract boolean checkResponse(ChannelBuffer response);
+
+    public void connect(ChannelFactory factory, SocketAddress address) {
+        ChannelPipeline pipeline = Channels.pipeline();
+        ChannelHandler decoder = createResponseDecoder();
+        if (decoder != null) {
+            pipeline.addLast("responseDecoder", decoder);
+        }
+        pipeline.addLast("session", this);
+
+        final long start = System.nanoTime();
+        ChannelFuture future;
+        if (datagram) {
+            ConnectionlessBootstrap connectionless = new ConnectionlessBootstrap(factory);
+            connectionless.setPipeline(pipeline);
+            future = connectionless.connect(address);
+        } else {
+            ClientBootstrap client = new ClientBootstrap(factory);
+            client.setPipeline(pipeline);
+            client.setOption("tcpNoDelay", true);
+            future = client.connect(address);
+        }
+
+        future.addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) {
+                if (future.isSuccess()) {
+                    statistics.connected((System.nanoTime() - start) / 1000);
+                    channel = future.getChannel();
+                    login();
+                } else {
+                    statistics.connectionFailed();
+                }
+            }
+        });
+    }
+
+    private void login() {
+        synchronized (pending) {
+            pending.add(System.nanoTime());
+        }
+        if (!isLoginRequired()) {
+            start();
+        }
+        channel.write(encodeLogin());
+    }
+
+    private synchronized void start() {
+        if (loggedIn) {
+            return;
+        }
+        loggedIn = true;
+        statistics.loggedIn();
+        schedule((long) (random.nextDouble() * interval));
+    }
+
+    private void schedule(long delay) {
+        if (stopped) {
+            return;
+        }
+        try {
+            timer.newTimeout(this, delay, TimeUnit.MILLISECONDS);
+        } catch (IllegalStateException error) {
+            // timer stopped during shutdown
+        }
+    }
+
+    @Override
+    public void run(Timeout timeout) {
+        Channel c = channel;
+        if (stopped || c == null || !c.isConnected()) {
+            return;
+        }
+
+        latitude += Math.cos(Math.toRadians(course)) * 0.0005;
+        longitude += Math.sin(Math.toRadians(course)) * 0.0005;
+        course = (course + random.nextDouble() * 20 - 10 + 360) % 360;
+
+        if (isAcknowledged()) {
+            synchronized (pending) {
+                pending.add(System.nanoTime());
+            }
+        }
+        c.write(encodePositions(System.currentTimeMillis(), latitude, longitude, course));
+        statistics.sent(getPositionCount());
+
+        schedule(interval);
+    }
+
+    @Override
+    public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) {
+        Long time;
+        synchronized (pending) {
+            time = pending.poll();
+        }
+        if (time != null) {
+            statistics.acknowledged((System.nanoTime() - time) / 1000);
+        }
+
+        boolean accepted = checkResponse((ChannelBuffer) e.getMessage());
+        if (!loggedIn) {
+            if (accepted) {
+                start();
+            } else {
+                statistics.loginFailed();
+                e.getChannel().close();
+            }
+        } else if (!accepted) {
+            e.getChannel().close();
+        }
+    }
+
+    @Override
+    public void channelClosed(ChannelHandlerContext ctx, ChannelStateEvent e) {
+        if (!stopped && !datagram) {
+            statistics.disconnected();
+        }
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, ExceptionEvent e) {
+        e.getChannel().close();
+    }
+
+    public void stop() {
+        stopped = true;
+        Channel c = channel;
+        if (c != null) {
+            c.close().awaitUninterruptibly();
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package org.traccar.load;
+
+import java.nio.charset.Charset;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.ChannelHandler;
+import org.jboss.netty.util.Timer;
+
+/**
+ * GPS103 device: text login answered with "LOAD", then unacknowledged position sentences
+ */
+public class Gps103Session extends DeviceSession {
+
+    private static final Charset CHARSET = Charset.forName("US-ASCII");
+
+    public Gps103Session(String imei, boolean datagram, LoadStatistics statistics, Timer timer, long interval) {
+        super(imei, datagram, statistics, timer, interval);
+    }
+
+    @Override
+    protected ChannelHandler createResponseDecoder() {
+        return null;
+    }
+
+    @Override
+    protected ChannelBuffer encodeLogin() {
+        return ChannelBuffers.copiedBuffer("##,imei:" + getImei() + ",A;", CHARSET);
+    }
+
+    private static String formatCoordinate(double value, int degreeDigits) {
+        double absolute = Math.abs(value);
+        int degrees = (int) absolute;
+        return String.format(Locale.US, "%0" + degreeDigits + "d%07.4f", degrees, (absolute - degrees) * 60);
+    }
+
+    @Override
+    protected ChannelBuffer encodePositions(long time, double latitude, double longitude, double course) {
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        calendar.setTimeInMillis(time);
+
+        String sentence = String.format(Locale.US,
+                "imei:%1$s,tracker,%2$ty%2$tm%2$td%2$tH%2$tM,,F,%2$tH%2$tM%2$tS.000,A,%3$s,%4$s,%5$s,%6$s,%7$.2f,%8$.0f;",
+                getImei(), calendar,
+                formatCoordinate(latitude, 2), latitude >= 0 ? "N" : "S",
+                formatCoordinate(longitude, 3), longitude >= 0 ? "E" : "W",
+                27.0, course);
+        return ChannelBuffers.copiedBuffer(sentence, CHARSET);
+    }
+
+    @Override
+    protected boolean isAcknowledged() {
+        return false;
+    }
+
+    @Override
+    protected boolean checkResponse(ChannelBuffer response) {
+        return true;
+    }
+
+}
@@ -0,0 +1,105 @@
+package org.traccar.load;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.ChannelHandler;
+import org.jboss.netty.util.Timer;
+import org.traccar.helper.Crc;
+import org.traccar.protocol.Gt06FrameDecoder;
+
+/**
+ * GT06 device: login with IMEI, then GPS and LBS messages, server acknowledges every message
+ */
+public class Gt06Session extends DeviceSession {
+
+    private static final int MSG_LOGIN = 0x01;
+    private static final int MSG_GPS_LBS = 0x12;
+
+    private int index;
+
+    public Gt06Session(String imei, LoadStatistics statistics, Timer timer, long interval) {
+        super(imei, false, statistics, timer, interval);
+    }
+
+    @Override
+    protected ChannelHandler createResponseDecoder() {
+        return new Gt06FrameDecoder();
+    }
+
+    private ChannelBuffer createMessage(int type, int length) {
+        ChannelBuffer buf = ChannelBuffers.buffer(length + 5);
+        buf.writeByte(0x78);
+        buf.writeByte(0x78); // header
+        buf.writeByte(length);
+        buf.writeByte(type);
+        return buf;
+    }
+
+    private ChannelBuffer finishMessage(ChannelBuffer buf) {
+        buf.writeShort(index++);
+        buf.writeShort(Crc.crc16Ccitt(buf.toByteBuffer(2, buf.writerIndex() - 2)));
+        buf.writeByte(0x0D);
+        buf.writeByte(0x0A); // ending
+        return buf;
+    }
+
+    @Override
+    protected ChannelBuffer encodeLogin() {
+        ChannelBuffer buf = createMessage(MSG_LOGIN, 0x11);
+        String imei = "0" + getImei();
+        for (int i = 0; i < 8; i++) {
+            buf.writeByte(Integer.parseInt(imei.substring(i * 2, i * 2 + 2), 16));
+        }
+        buf.writeShort(0x100B); // device type
+        buf.writeShort(0x0000); // time zone
+        return finishMessage(buf);
+    }
+
+    @Override
+    protected ChannelBuffer encodePositions(long time, double latitude, double longitude, double course) {
+        ChannelBuffer buf = createMessage(MSG_GPS_LBS, 0x1F);
+
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        calendar.setTimeInMillis(time);
+        buf.writeByte(calendar.get(Calendar.YEAR) - 2000);
+        buf.writeByte(calendar.get(Calendar.MONTH) + 1);
+        buf.writeByte(calendar.get(Calendar.DAY_OF_MONTH));
+        buf.writeByte(calendar.get(Calendar.HOUR_OF_DAY));
+        buf.writeByte(calendar.get(Calendar.MINUTE));
+        buf.writeByte(calendar.get(Calendar.SECOND));
+
+        buf.writeByte(0xCC); // GPS length and satellites
+        buf.writeInt((int) (Math.abs(latitude) * 60 * 30000));
+        buf.writeInt((int) (Math.abs(longitude) * 60 * 30000));
+        buf.writeByte(50); // speed
+
+        int flags = (int) course | 0x1000;
+        if (latitude >= 0) {
+            flags |= 0x0400;
+        }
+        if (longitude < 0) {
+            flags |= 0x0800;
+        }
+        buf.writeShort(flags);
+
+        buf.writeShort(460); // mcc
+        buf.writeByte(0); // mnc
+        buf.writeShort(0x287D); // lac
+        buf.writeMedium(0x001FB8); // cell
+
+        return finishMessage(buf);
+    }
+
+    @Override
+    protected boolean isAcknowledged() {
+        return true;
+    }
+
+    @Override
+    protected boolean checkResponse(ChannelBuffer response) {
+        return response.getByte(response.readerIndex() + 2) == 0x05;
+    }
+
+}
@@ -0,0 +1,324 @@
+package org.traccar.load;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.jboss.netty.channel.ChannelFactory;
+import org.jboss.netty.channel.socket.nio.NioClientSocketChannelFactory;
+import org.jboss.netty.channel.socket.nio.NioDatagramChannelFactory;
+import org.jboss.netty.util.HashedWheelTimer;
+import org.jboss.netty.util.Timer;
+import org.traccar.ServerManager;
+import org.traccar.helper.LatencyHistogram;
+
+/**
+ * Load generator simulating many devices against a running server
+ *
+ * Options are passed as key=value arguments:
+ *
+ *   protocol     gt06, teltonika or gps103 (default gt06)
+ *   transport    tcp or udp, udp is supported by gps103 only (default tcp)
+ *   devices      number of simulated devices (default 1000)
+ *   interval     milliseconds between messages of one device (default 10000)
+ *   records      positions per Teltonika AVL packet (default 4)
+ *   connectRate  new connections per second during ramp up, zero for no limit (default 500)
+ *   duration     measurement seconds after ramp up (default 60)
+ *   imei         IMEI of the first device, following devices use next numbers (default 100000000000000)
+ *   threads      client I/O threads (default number of processors)
+ *   host, port   server address (default embedded server on the protocol port from default.cfg)
+ *
+ * Without host an embedded server is started with an in-memory H2 database containing all simulated devices.
+ * Other arguments containing a dot (e.g. execution.enable=true) are passed to the embedded server configuration.
+ * With a remote server devices have to exist in its database.
+ *
+ * Example: tools/load.sh protocol=teltonika devices=5000 interval=5000
+ */
+public final class LoadGenerator {
+
+    private static final String DATABASE_URL = "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1";
+    private static final long REPORT_INTERVAL = 5000;
+    private static final long CONNECT_TIMEOUT = 30000;
+
+    private LoadGenerator() {
+    }
+
+    private static int getDefaultPort(String protocol) {
+        if (protocol.equals("gps103")) {
+            return 5001;
+        } else if (protocol.equals("gt06")) {
+            return 5023;
+        } else if (protocol.equals("teltonika")) {
+            return 5027;
+        }
+        throw new IllegalArgumentException("Unsupported protocol " + protocol);
+    }
+
+    private static Properties parseArguments(String[] arguments) {
+        Properties options = new Properties();
+        for (String argument : arguments) {
+            for (String option : argument.trim().split("\\s+")) {
+                if (option.isEmpty()) {
+                    continue;
+                }
+                int index = option.indexOf('=');
+                if (index <= 0) {
+                    throw new IllegalArgumentException("Expected key=value option: " + option);
+                }
+                options.setProperty(option.substring(0, index), option.substring(index + 1));
+            }
+        }
+        return options;
+    }
+
+    private static void createDatabase(long firstImei, int devices) throws Exception {
+        Class.forName("org.h2.Driver");
+        Connection connection = DriverManager.getConnection(DATABASE_URL, "sa", "");
+        try {
+            Statement statement = connection.createStatement();
+            try {
+                statement.execute("CREATE TABLE devices (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                        + "name VARCHAR(128), uniqueId VARCHAR(128), latestPosition_id BIGINT)");
+                statement.execute("CREATE TABLE positions (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                        + "device_id BIGINT, time TIMESTAMP, valid BOOLEAN, latitude DOUBLE, longitude DOUBLE, "
+                        + "altitude DOUBLE, speed DOUBLE, course DOUBLE, power DOUBLE, address VARCHAR(512), "
+                        + "other VARCHAR(8192))");
+            } finally {
+                statement.close();
+            }
+
+            PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO devices (name, uniqueId) VALUES (?, ?)");
+            try {
+                for (int i = 0; i < devices; i++) {
+                    insert.setString(1, "Device " + i);
+                    insert.setString(2, String.valueOf(firstImei + i));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            } finally {
+                insert.close();
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    private static long countPositions() throws Exception {
+        Connection connection = DriverManager.getConnection(DATABASE_URL, "sa", "");
+        try {
+            Statement statement = connection.createStatement();
+            try {
+                ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM positions");
+                resultSet.next();
+                return resultSet.getLong(1);
+            } finally {
+                statement.close();
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    private static ServerManager startServer(Properties options, String protocol, int port) throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("database.driver", "org.h2.Driver");
+        properties.setProperty("database.url", DATABASE_URL);
+        properties.setProperty("database.user", "sa");
+        properties.setProperty("database.password", "");
+        properties.setProperty("database.selectDevice", "SELECT id, uniqueId AS imei FROM devices;");
+        properties.setProperty("database.insertPosition",
+                "INSERT INTO positions (device_id, time, valid, latitude, longitude, altitude, speed, course, "
+                + "power, address, other) VALUES (:device_id, :time, :valid, :latitude, :longitude, :altitude, "
+                + ":speed, :course, :power, :address, :extended_info);");
+        properties.setProperty("database.updateLatestPosition",
+                "UPDATE devices SET latestPosition_id = :id WHERE id = :device_id;");
+        properties.setProperty(protocol + ".enable", "true");
+        properties.setProperty(protocol + ".port", String.valueOf(port));
+        for (String key : options.stringPropertyNames()) {
+            if (key.contains(".")) {
+                properties.setProperty(key, options.getProperty(key));
+            }
+        }
+
+        File file = File.createTempFile("load", ".xml");
+        try {
+            OutputStream output = new FileOutputStream(file);
+            try {
+                properties.storeToXML(output, null);
+            } finally {
+                output.close();
+            }
+            ServerManager serverManager = new ServerManager();
+            serverManager.init(new String[] {file.getPath()});
+            serverManager.start();
+            return serverManager;
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static DeviceSession createSession(
+            String protocol, boolean datagram, String imei, LoadStatistics statistics, Timer timer,
+            long interval, int records) {
+        if (protocol.equals("gt06") && !datagram) {
+            return new Gt06Session(imei, statistics, timer, interval);
+        } else if (protocol.equals("teltonika") && !datagram) {
+            return new TeltonikaSession(imei, statistics, timer, interval, records);
+        } else if (protocol.equals("gps103")) {
+            return new Gps103Session(imei, datagram, statistics, timer, interval);
+        }
+        throw new IllegalArgumentException("Unsupported transport for " + protocol);
+    }
+
+    private static String formatLatency(LatencyHistogram histogram) {
+        return String.format(Locale.US, "p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, p99.9 %.2f ms",
+                histogram.getPercentile(50) / 1000.0, histogram.getPercentile(90) / 1000.0,
+                histogram.getPercentile(99) / 1000.0, histogram.getPercentile(99.9) / 1000.0);
+    }
+
+    private static double getRate(long count, long nanos) {
+        return nanos > 0 ? count * 1000000000.0 / nanos : 0;
+    }
+
+    private static void printProgress(LoadStatistics statistics, long start, long[] last) {
+        long now = System.nanoTime();
+        long messages = statistics.getMessages();
+        long acks = statistics.getAcks();
+        System.out.println(String.format(Locale.US,
+                "%6.1f s: %d connected, %d logged in, %.1f messages/s, %.1f acks/s, ack %s",
+                (now - start) / 1000000000.0, statistics.getConnections(), statistics.getLogins(),
+                getRate(messages - last[1], now - last[0]), getRate(acks - last[2], now - last[0]),
+                formatLatency(statistics.getAckLatency())));
+        last[0] = now;
+        last[1] = messages;
+        last[2] = acks;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Properties options = parseArguments(args);
+
+        String protocol = options.getProperty("protocol", "gt06");
+        boolean datagram = options.getProperty("transport", "tcp").equals("udp");
+        int devices = Integer.parseInt(options.getProperty("devices", "1000"));
+        long interval = Long.parseLong(options.getProperty("interval", "10000"));
+        int records = Integer.parseInt(options.getProperty("records", "4"));
+        double connectRate = Double.parseDouble(options.getProperty("connectRate", "500"));
+        long duration = Long.parseLong(options.getProperty("duration", "60"));
+        long firstImei = Long.parseLong(options.getProperty("imei", "100000000000000"));
+        int threads = Integer.parseInt(options.getProperty(
+                "threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        String host = options.getProperty("host");
+        int port = Integer.parseInt(options.getProperty("port", String.valueOf(getDefaultPort(protocol))));
+
+        ServerManager serverManager = null;
+        if (host == null) {
+            host = "127.0.0.1";
+            createDatabase(firstImei, devices);
+            serverManager = startServer(options, protocol, port);
+        }
+        InetSocketAddress address = new InetSocketAddress(host, port);
+
+        System.out.println(String.format(Locale.US,
+                "%s (%s) at %s, %d devices, message every %d ms, expected %.1f messages/s",
+                protocol, datagram ? "udp" : "tcp", address, devices, interval, devices * 1000.0 / interval));
+
+        ChannelFactory factory;
+        if (datagram) {
+            factory = new NioDatagramChannelFactory(Executors.newCachedThreadPool(), threads);
+        } else {
+            factory = new NioClientSocketChannelFactory(
+                    Executors.newCachedThreadPool(), Executors.newCachedThreadPool(), 1, threads);
+        }
+        Timer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS);
+        LoadStatistics statistics = new LoadStatistics();
+        List<DeviceSession> sessions = new ArrayList<DeviceSession>(devices);
+
+        // Ramp up
+        long start = System.nanoTime();
+        long[] last = {start, 0, 0};
+        long nextReport = start + REPORT_INTERVAL * 1000000;
+        for (int i = 0; i < devices; i++) {
+            if (connectRate > 0) {
+                long wait = start + (long) (i * 1000000000.0 / connectRate) - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+            }
+            DeviceSession session = createSession(
+                    protocol, datagram, String.valueOf(firstImei + i), statistics, timer, interval, records);
+            sessions.add(session);
+            session.connect(factory, address);
+
+            if (System.nanoTime() > nextReport) {
+                printProgress(statistics, start, last);
+                nextReport += REPORT_INTERVAL * 1000000;
+            }
+        }
+        long connectDeadline = System.currentTimeMillis() + CONNECT_TIMEOUT;
+        while (statistics.getConnections() + statistics.getConnectionFailures() < devices
+                && System.currentTimeMillis() < connectDeadline) {
+            Thread.sleep(10);
+        }
+        long rampUp = System.nanoTime() - start;
+
+        // Measurement
+        statistics.resetLatency();
+        long measureStart = System.nanoTime();
+        long startMessages = statistics.getMessages();
+        long startPositions = statistics.getPositions();
+        long startAcks = statistics.getAcks();
+        long measureEnd = measureStart + duration * 1000000000;
+        while (System.nanoTime() < measureEnd) {
+            long wait = Math.min(nextReport, measureEnd) - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            if (System.nanoTime() >= nextReport) {
+                printProgress(statistics, start, last);
+                nextReport += REPORT_INTERVAL * 1000000;
+            }
+        }
+        long measured = System.nanoTime() - measureStart;
+        long messages = statistics.getMessages() - startMessages;
+        long positions = statistics.getPositions() - startPositions;
+        long acks = statistics.getAcks() - startAcks;
+
+        for (DeviceSession session : sessions) {
+            session.stop();
+        }
+        timer.stop();
+        factory.releaseExternalResources();
+
+        System.out.println();
+        System.out.println(String.format(Locale.US, "Connections:       %d established, %d failed, %d closed by server",
+                statistics.getConnections(), statistics.getConnectionFailures(), statistics.getDisconnections()));
+        System.out.println(String.format(Locale.US, "Connection setup:  %.1f/s over %.1f s ramp up, %s",
+                getRate(statistics.getConnections(), rampUp), rampUp / 1000000000.0,
+                formatLatency(statistics.getConnectLatency())));
+        System.out.println(String.format(Locale.US, "Logins:            %d accepted, %d rejected",
+                statistics.getLogins(), statistics.getLoginFailures()));
+        System.out.println(String.format(Locale.US, "Sustained load:    %.1f messages/s, %.1f positions/s over %.1f s",
+                getRate(messages, measured), getRate(positions, measured), measured / 1000000000.0));
+        System.out.println(String.format(Locale.US, "Acknowledgements:  %.1f/s, %s",
+                getRate(acks, measured), formatLatency(statistics.getAckLatency())));
+
+        if (serverManager != null) {
+            serverManager.stop();
+            System.out.println(String.format(Locale.US, "Stored positions:  %d of %d sent",
+                    countPositions(), statistics.getPositions()));
+        }
+    }
+
+}
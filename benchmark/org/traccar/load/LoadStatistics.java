@@ -0,0 +1,101 @@
+package org.traccar.load;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.traccar.helper.LatencyHistogram;
+
+/**
+ * Counters shared by all simulated devices
+ */
+public class LoadStatistics {
+
+    private final AtomicLong connections = new AtomicLong();
+    private final AtomicLong connectionFailures = new AtomicLong();
+    private final AtomicLong disconnections = new AtomicLong();
+    private final AtomicLong logins = new AtomicLong();
+    private final AtomicLong loginFailures = new AtomicLong();
+    private final AtomicLong messages = new AtomicLong();
+    private final AtomicLong positions = new AtomicLong();
+    private final AtomicLong acks = new AtomicLong();
+
+    private final LatencyHistogram connectLatency = new LatencyHistogram();
+    private volatile LatencyHistogram ackLatency = new LatencyHistogram();
+
+    public void connected(long latency) {
+        connections.incrementAndGet();
+        connectLatency.record(latency);
+    }
+
+    public void connectionFailed() {
+        connectionFailures.incrementAndGet();
+    }
+
+    public void disconnected() {
+        disconnections.incrementAndGet();
+    }
+
+    public void loggedIn() {
+        logins.incrementAndGet();
+    }
+
+    public void loginFailed() {
+        loginFailures.incrementAndGet();
+    }
+
+    public void sent(int count) {
+        messages.incrementAndGet();
+        positions.addAndGet(count);
+    }
+
+    public void acknowledged(long latency) {
+        acks.incrementAndGet();
+        ackLatency.record(latency);
+    }
+
+    /**
+     * Start new acknowledgement latency histogram, e.g. when ramp up is finished
+     */
+    public void resetLatency() {
+        ackLatency = new LatencyHistogram();
+    }
+
+    public long getConnections() {
+        return connections.get();
+    }
+
+    public long getConnectionFailures() {
+        return connectionFailures.get();
+    }
+
+    public long getDisconnections() {
+        return disconnections.get();
+    }
+
+    public long getLogins() {
+        return logins.get();
+    }
+
+    public long getLoginFailures() {
+        return loginFailures.get();
+    }
+
+    public long getMessages() {
+        return messages.get();
+    }
+
+    public long getPositions() {
+        return positions.get();
+    }
+
+    public long getAcks() {
+        return acks.get();
+    }
+
+    public LatencyHistogram getConnectLatency() {
+        return connectLatency;
+    }
+
+    public LatencyHistogram getAckLatency() {
+        return ackLatency;
+    }
+
+}
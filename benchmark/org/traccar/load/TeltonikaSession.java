@@ -0,0 +1,118 @@
+package org.traccar.load;
+
+import java.nio.charset.Charset;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelHandler;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.handler.codec.frame.FrameDecoder;
+import org.jboss.netty.util.Timer;
+
+/**
+ * Teltonika device: IMEI handshake, then AVL packets (codec 8) with a batch of records
+ *
+ * Server answers the handshake with one byte and every AVL packet with the number of accepted records.
+ */
+public class TeltonikaSession extends DeviceSession {
+
+    private static final int CODEC_FM4X00 = 0x08;
+    private static final int RECORD_LENGTH = 32;
+
+    private final int records;
+    private final long recordInterval;
+
+    public TeltonikaSession(String imei, LoadStatistics statistics, Timer timer, long interval, int records) {
+        super(imei, false, statistics, timer, interval);
+        this.records = records;
+        recordInterval = interval / records;
+    }
+
+    @Override
+    protected ChannelHandler createResponseDecoder() {
+        return new FrameDecoder() {
+            @Override
+            protected Object decode(ChannelHandlerContext ctx, Channel channel, ChannelBuffer buf) {
+                int length = isLoggedIn() ? 4 : 1;
+                if (buf.readableBytes() >= length) {
+                    return buf.readBytes(length);
+                }
+                return null;
+            }
+        };
+    }
+
+    @Override
+    protected ChannelBuffer encodeLogin() {
+        ChannelBuffer buf = ChannelBuffers.buffer(2 + getImei().length());
+        buf.writeShort(getImei().length());
+        buf.writeBytes(getImei().getBytes(Charset.forName("US-ASCII")));
+        return buf;
+    }
+
+    @Override
+    protected int getPositionCount() {
+        return records;
+    }
+
+    @Override
+    protected ChannelBuffer encodePositions(long time, double latitude, double longitude, double course) {
+        int dataLength = 3 + records * RECORD_LENGTH;
+        ChannelBuffer buf = ChannelBuffers.buffer(dataLength + 12);
+        buf.writeInt(0); // marker
+        buf.writeInt(dataLength);
+        buf.writeByte(CODEC_FM4X00);
+        buf.writeByte(records);
+
+        for (int i = records - 1; i >= 0; i--) {
+            buf.writeLong(time - i * recordInterval);
+            buf.writeByte(0); // priority
+            buf.writeInt((int) (longitude * 10000000));
+            buf.writeInt((int) (latitude * 10000000));
+            buf.writeShort(120); // altitude
+            buf.writeShort((int) course);
+            buf.writeByte(9); // satellites
+            buf.writeShort(50); // speed
+            buf.writeByte(0); // event
+            buf.writeByte(1); // total IO records
+            buf.writeByte(1); // 1 byte IO records
+            buf.writeByte(21); // GSM level
+            buf.writeByte(5);
+            buf.writeByte(0); // 2 byte IO records
+            buf.writeByte(0); // 4 byte IO records
+            buf.writeByte(0); // 8 byte IO records
+        }
+
+        buf.writeByte(records);
+        buf.writeInt(crc16(buf, 8, dataLength));
+        return buf;
+    }
+
+    /**
+     * CRC-16/IBM used by AVL packets
+     */
+    private static int crc16(ChannelBuffer buf, int offset, int length) {
+        int crc = 0;
+        for (int i = offset; i < offset + length; i++) {
+            crc ^= buf.getUnsignedByte(i);
+            for (int j = 0; j < 8; j++) {
+                crc = (crc & 1) != 0 ? (crc >>> 1) ^ 0xA001 : crc >>> 1;
+            }
+        }
+        return crc;
+    }
+
+    @Override
+    protected boolean isAcknowledged() {
+        return true;
+    }
+
+    @Override
+    protected boolean checkResponse(ChannelBuffer response) {
+        if (isLoggedIn()) {
+            return response.readInt() == records;
+        }
+        return response.readUnsignedByte() == 1;
+    }
+
+}
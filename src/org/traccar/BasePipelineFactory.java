@@ -24,6 +24,8 @@ import org.jboss.netty.handler.timeout.IdleStateHandler;
 import org.traccar.geocode.ReverseGeocoder;
 import org.traccar.helper.Log;
 import org.traccar.database.DataManager;
+import org.traccar.database.LatestPositionCache;
+import org.traccar.database.PositionWriter;
 
 /**
   * Base pipeline factory
@@ -32,8 +34,12 @@ public abstract class BasePipelineFactory implements ChannelPipelineFactory {
 
     private final TrackerServer server;
     private final DataManager dataManager;
+    private final PositionWriter positionWriter;
+    private final LatestPositionCache latestPositions;
     private final Boolean loggerEnabled;
     private final ReverseGeocoder reverseGeocoder;
+    private final OrderedExecutionHandler executionHandler;
+    private final ProtocolMetrics metrics;
     private FilterHandler filterHandler;
     private Integer resetDelay;
     private Boolean processInvalidPositions;
@@ -41,7 +47,7 @@ public abstract class BasePipelineFactory implements ChannelPipelineFactory {
     /**
      * Open channel handler
      */
-    protected class OpenChannelHandler extends SimpleChannelHandler {
+    protected static class OpenChannelHandler extends SimpleChannelHandler {
 
         private final TrackerServer server;
 
@@ -63,6 +69,9 @@ public abstract class BasePipelineFactory implements ChannelPipelineFactory {
         @Override
         public void log(ChannelEvent e) {
             if (e instanceof MessageEvent) {
+                if (!Log.isDebugEnabled()) {
+                    return;
+                }
                 MessageEvent event = (MessageEvent) e;
                 StringBuilder msg = new StringBuilder();
 
@@ -89,8 +98,12 @@ public abstract class BasePipelineFactory implements ChannelPipelineFactory {
     public BasePipelineFactory(ServerManager serverManager, TrackerServer server, String protocol) {
         this.server = server;
         dataManager = serverManager.getDataManager();
+        positionWriter = serverManager.getPositionWriter();
+        latestPositions = serverManager.getLatestPositionCache();
         loggerEnabled = serverManager.isLoggerEnabled();
         reverseGeocoder = serverManager.getReverseGeocoder();
+        executionHandler = serverManager.getExecutionHandler();
+        metrics = Metrics.getProtocolMetrics(protocol);
 
         String resetDelayProperty = serverManager.getProperties().getProperty(protocol + ".resetDelay");
         if (resetDelayProperty != null) {
@@ -100,6 +113,7 @@ public abstract class BasePipelineFactory implements ChannelPipelineFactory {
         String enableFilter = serverManager.getProperties().getProperty("filter.enable");
         if (enableFilter != null && Boolean.valueOf(enableFilter)) {
             filterHandler = new FilterHandler(serverManager.getProperties());
+            filterHandler.setMetrics(metrics);
         }
 
         if (reverseGeocoder != null) {
@@ -126,13 +140,16 @@ public abstract class BasePipelineFactory implements ChannelPipelineFactory {
             pipeline.addLast("logger", new StandardLoggingHandler());
         }
         addSpecificHandlers(pipeline);
+        if (executionHandler != null) {
+            pipeline.addLast("executor", executionHandler);
+        }
         if (filterHandler != null) {
             pipeline.addLast("filter", filterHandler);
         }
         if (reverseGeocoder != null) {
-            pipeline.addLast("geocoder", new ReverseGeocoderHandler(reverseGeocoder, processInvalidPositions));
+            pipeline.addLast("geocoder", new ReverseGeocoderHandler(reverseGeocoder, processInvalidPositions, metrics));
         }
-        pipeline.addLast("handler", new TrackerEventHandler(dataManager));
+        pipeline.addLast("handler", new TrackerEventHandler(dataManager, positionWriter, latestPositions, metrics));
         return pipeline;
     }
 
@@ -16,6 +16,7 @@
 package org.traccar;
 
 import java.net.SocketAddress;
+import java.util.List;
 import java.util.Properties;
 
 import org.jboss.netty.channel.Channel;
@@ -35,6 +36,7 @@ public abstract class BaseProtocolDecoder extends OneToOneDecoder {
     private final DataManager dataManager;
     private final String protocol;
     private final Properties properties;
+    private final ProtocolMetrics metrics;
 
     public final DataManager getDataManager() {
         return dataManager;
@@ -53,6 +55,7 @@ public abstract class BaseProtocolDecoder extends OneToOneDecoder {
         this.dataManager = dataManager;
         this.protocol = protocol;
         this.properties = properties;
+        metrics = protocol != null ? Metrics.getProtocolMetrics(protocol) : null;
     }
     
     @Override
@@ -65,7 +68,23 @@ public abstract class BaseProtocolDecoder extends OneToOneDecoder {
 
         MessageEvent e = (MessageEvent) evt;
         Object originalMessage = e.getMessage();
-        Object decodedMessage = decode(ctx, e.getChannel(), e.getRemoteAddress(), originalMessage);
+        Object decodedMessage;
+        if (metrics != null) {
+            metrics.frameReceived();
+            try {
+                decodedMessage = decode(ctx, e.getChannel(), e.getRemoteAddress(), originalMessage);
+            } catch (Exception error) {
+                metrics.decodeFailed();
+                throw error;
+            }
+            if (decodedMessage instanceof List) {
+                metrics.positionsDecoded(((List) decodedMessage).size());
+            } else if (decodedMessage != null && decodedMessage != originalMessage) {
+                metrics.positionsDecoded(1);
+            }
+        } else {
+            decodedMessage = decode(ctx, e.getChannel(), e.getRemoteAddress(), originalMessage);
+        }
         if (originalMessage == decodedMessage) {
             ctx.sendUpstream(evt);
         } else if (decodedMessage != null) {
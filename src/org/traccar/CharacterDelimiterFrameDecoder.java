@@ -42,16 +42,25 @@ public class CharacterDelimiterFrameDecoder extends DelimiterBasedFrameDecoder {
         return result;
     }
 
+    private final String[] delimiters;
+
     public CharacterDelimiterFrameDecoder(int maxFrameLength, char delimiter) {
         super(maxFrameLength, createDelimiter(delimiter));
+        this.delimiters = new String[] { String.valueOf(delimiter) };
     }
 
     public CharacterDelimiterFrameDecoder(int maxFrameLength, String delimiter) {
         super(maxFrameLength, createDelimiter(delimiter));
+        this.delimiters = new String[] { delimiter };
     }
 
     public CharacterDelimiterFrameDecoder(int maxFrameLength, String... delimiters) {
         super(maxFrameLength, convertDelimiters(delimiters));
+        this.delimiters = delimiters.clone();
+    }
+
+    public String[] getDelimiters() {
+        return delimiters.clone();
     }
 
 }
@@ -15,10 +15,8 @@
  */
 package org.traccar;
 
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Properties;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelHandlerContext;
@@ -35,7 +33,19 @@ public class FilterHandler extends OneToOneDecoder {
     private int filterDistance;
     private long filterLimit;
     
-    private final Map<Long, Position> lastPositions = new HashMap<Long, Position>();
+    private static final long DEFAULT_EXPIRATION = 86400;
+
+    private LastPositionStore lastPositions = new LastPositionStore(DEFAULT_EXPIRATION * 1000);
+
+    // Handler is shared by channels on all worker threads
+    private final ThreadLocal<LastPositionStore.Entry> lastEntry = new ThreadLocal<LastPositionStore.Entry>() {
+        @Override
+        protected LastPositionStore.Entry initialValue() {
+            return new LastPositionStore.Entry();
+        }
+    };
+
+    private ProtocolMetrics metrics;
 
     public FilterHandler(
             boolean filterInvalid,
@@ -67,82 +77,90 @@ public class FilterHandler extends OneToOneDecoder {
 
         value = properties.getProperty("filter.limit");
         if (value != null) filterLimit = Long.valueOf(value) * 1000;
+
+        value = properties.getProperty("filter.expiration");
+        if (value != null) lastPositions = new LastPositionStore(Long.valueOf(value) * 1000);
     }
     
     private boolean filterInvalid(Position position) {
-        return filterInvalid && !position.getValid();
+        return filterInvalid && !position.getValidValue();
     }
     
     private boolean filterZero(Position position) {
         return filterZero &&
-                (position.getLatitude() == 0.0) &&
-                (position.getLongitude() == 0.0);
+                (position.getLatitudeValue() == 0.0) &&
+                (position.getLongitudeValue() == 0.0);
     }
     
-    private boolean filterDuplicate(Position position) {
-        if (filterDuplicate) {
-            Position last = lastPositions.get(position.getDeviceId());
-            if (last != null) {
-                return position.getTime().equals(last.getTime());
-            } else {
-                return false;
-            }
+    private boolean filterDuplicate(Position position, LastPositionStore.Entry last) {
+        if (filterDuplicate && last != null) {
+            return position.getTimeMillis() == last.getTime();
         } else {
             return false;
         }
     }
     
-    private boolean filterDistance(Position position) {
-        if (filterDistance != 0) {
-            Position last = lastPositions.get(position.getDeviceId());
-            if (last != null) {
-                double distance = DistanceCalculator.distance(
-                        position.getLatitude(), position.getLongitude(),
-                        last.getLatitude(), last.getLongitude());
-                return distance < filterDistance;
-            } else {
-                return false;
-            }
+    private boolean filterDistance(Position position, LastPositionStore.Entry last) {
+        if (filterDistance != 0 && last != null) {
+            double distance = DistanceCalculator.distance(
+                    position.getLatitudeValue(), position.getLongitudeValue(),
+                    last.getLatitude(), last.getLongitude());
+            return distance < filterDistance;
         } else {
             return false;
         }
     }
     
-    private boolean filterLimit(Position position) {
-        if (filterLimit != 0) {
-            Position last = lastPositions.get(position.getDeviceId());
-            if (last != null) {
-                return (position.getTime().getTime() - last.getTime().getTime()) > filterLimit;
-            } else {
-                return false;
-            }
+    private boolean filterLimit(Position position, LastPositionStore.Entry last) {
+        if (filterLimit != 0 && last != null) {
+            return (position.getTimeMillis() - last.getTime()) > filterLimit;
         } else {
             return false;
         }
     }
     
     private boolean filter(Position p) {
+
+        LastPositionStore.Entry last = null;
+        if (filterDuplicate || filterDistance != 0 || filterLimit != 0) {
+            last = lastEntry.get();
+            if (!lastPositions.get(p.getDeviceIdValue(), last)) {
+                last = null;
+            }
+        }
         
         boolean result =
                 filterInvalid(p) ||
                 filterZero(p) ||
-                filterDuplicate(p) ||
-                filterDistance(p);
+                filterDuplicate(p, last) ||
+                filterDistance(p, last);
         
-        if (filterLimit(p)) {
+        if (filterLimit(p, last)) {
             result = false;
         }
         
         if (!result) {
-            lastPositions.put(p.getDeviceId(), p);
+            lastPositions.put(p.getDeviceIdValue(), p.getTimeMillis(), p.getLatitudeValue(), p.getLongitudeValue());
         } else {
-            StringBuilder s = new StringBuilder();
-            Log.info("Position filtered from " + p.getDeviceId());
+            if (Log.isInfoEnabled()) {
+                Log.info("Position filtered from " + p.getDeviceId());
+            }
+            if (metrics != null) {
+                metrics.positionFiltered();
+            }
         }
 
         return result;
     }
 
+    public LastPositionStore getLastPositions() {
+        return lastPositions;
+    }
+
+    public void setMetrics(ProtocolMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     @Override
     protected Object decode(
             ChannelHandlerContext ctx, Channel channel, Object msg)
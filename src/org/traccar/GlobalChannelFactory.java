@@ -15,38 +15,147 @@
  */
 package org.traccar;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.jboss.netty.channel.ChannelFactory;
 import org.jboss.netty.channel.socket.DatagramChannelFactory;
 import org.jboss.netty.channel.socket.nio.NioDatagramChannelFactory;
+import org.jboss.netty.channel.socket.nio.NioDatagramWorkerPool;
+import org.jboss.netty.channel.socket.nio.NioServerBossPool;
 import org.jboss.netty.channel.socket.nio.NioServerSocketChannelFactory;
+import org.jboss.netty.channel.socket.nio.NioWorkerPool;
+import org.jboss.netty.util.ThreadNameDeterminer;
+import org.jboss.netty.util.ThreadRenamingRunnable;
 
+/**
+ * Channel factories with configurable NIO thread pools
+ *
+ * All protocols share one boss and worker pool, unless protocol.workerThreads is set. In that case the protocol gets
+ * its own pools, so that a noisy protocol can not starve others. Connections accepted by the multiplexer use the
+ * multiplexer pools, whatever protocol is detected.
+ */
 public class GlobalChannelFactory {
 
-    private static ChannelFactory channelFactory = null;
-    private static DatagramChannelFactory datagramChannelFactory = null;
+    private static final String SHARED = "shared";
+
+    private static Properties properties = new Properties();
+
+    private static final Map<String, ChannelFactory> channelFactories = new HashMap<String, ChannelFactory>();
+    private static final Map<String, DatagramChannelFactory> datagramChannelFactories =
+            new HashMap<String, DatagramChannelFactory>();
+    private static final List<IoPool> pools = new ArrayList<IoPool>();
+
+    /**
+     * Names threads by pool, Netty keeps the name
+     */
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger index = new AtomicInteger();
+
+        public NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, prefix + "-" + index.getAndIncrement());
+        }
+
+    }
+
+    public static synchronized void init(Properties newProperties) {
+        properties = newProperties;
+        ThreadRenamingRunnable.setThreadNameDeterminer(ThreadNameDeterminer.CURRENT);
+    }
 
-    public static void release() {
-        if (channelFactory != null) {
+    public static synchronized void release() {
+        for (ChannelFactory channelFactory : channelFactories.values()) {
             channelFactory.releaseExternalResources();
         }
-        if (datagramChannelFactory != null) {
+        for (DatagramChannelFactory datagramChannelFactory : datagramChannelFactories.values()) {
             datagramChannelFactory.releaseExternalResources();
         }
-        channelFactory = null;
-        datagramChannelFactory = null;
+        for (IoPool pool : pools) {
+            pool.stop();
+        }
+        channelFactories.clear();
+        datagramChannelFactories.clear();
+        pools.clear();
+    }
+
+    private static String getPoolName(String protocol) {
+        if (protocol != null && properties.getProperty(protocol + ".workerThreads") != null) {
+            return protocol;
+        }
+        return SHARED;
+    }
+
+    private static int getThreads(String poolName, String key, int defaultValue) {
+        String prefix = poolName.equals(SHARED) ? "server" : poolName;
+        return Integer.valueOf(properties.getProperty(prefix + "." + key, String.valueOf(defaultValue)));
+    }
+
+    private static ExecutorService createExecutor(String name) {
+        return Executors.newCachedThreadPool(new NamedThreadFactory(name));
+    }
+
+    /**
+     * Pool lag is only measured for metrics
+     */
+    private static void addPool(IoPool pool) {
+        if (Boolean.valueOf(properties.getProperty("metrics.enable"))) {
+            pool.start(Long.valueOf(properties.getProperty("metrics.lagInterval", "5000")));
+        }
+        pools.add(pool);
+    }
+
+    public static synchronized List<IoPool> getPools() {
+        return Collections.unmodifiableList(new ArrayList<IoPool>(pools));
     }
 
     public static ChannelFactory getFactory() {
+        return getFactory(null);
+    }
+
+    public static synchronized ChannelFactory getFactory(String protocol) {
+        String name = getPoolName(protocol);
+        ChannelFactory channelFactory = channelFactories.get(name);
         if (channelFactory == null) {
-            channelFactory = new NioServerSocketChannelFactory();
+            int workerCount = getThreads(name, "workerThreads", Runtime.getRuntime().availableProcessors() * 2);
+            NioWorkerPool workerPool = new NioWorkerPool(createExecutor(name + "-worker"), workerCount);
+            NioServerBossPool bossPool = new NioServerBossPool(
+                    createExecutor(name + "-boss"), getThreads(name, "bossThreads", 1));
+            channelFactory = new NioServerSocketChannelFactory(bossPool, workerPool);
+            channelFactories.put(name, channelFactory);
+            addPool(new IoPool(name, workerPool, workerCount));
         }
         return channelFactory;
     }
-    
+
     public static DatagramChannelFactory getDatagramFactory() {
+        return getDatagramFactory(null);
+    }
+
+    public static synchronized DatagramChannelFactory getDatagramFactory(String protocol) {
+        String name = getPoolName(protocol);
+        DatagramChannelFactory datagramChannelFactory = datagramChannelFactories.get(name);
         if (datagramChannelFactory == null) {
-            datagramChannelFactory = new NioDatagramChannelFactory();
+            int workerCount = getThreads(name, "datagramThreads",
+                    getThreads(name, "workerThreads", Runtime.getRuntime().availableProcessors() * 2));
+            NioDatagramWorkerPool workerPool = new NioDatagramWorkerPool(
+                    createExecutor(name + "-datagram"), workerCount);
+            datagramChannelFactory = new NioDatagramChannelFactory(workerPool);
+            datagramChannelFactories.put(name, datagramChannelFactory);
+            addPool(new IoPool(name + "-datagram", workerPool, workerCount));
         }
         return datagramChannelFactory;
     }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.socket.Worker;
+import org.jboss.netty.channel.socket.nio.NioDatagramChannel;
+import org.jboss.netty.channel.socket.nio.NioSocketChannel;
+import org.jboss.netty.channel.socket.nio.WorkerPool;
+import org.jboss.netty.util.Timeout;
+import org.jboss.netty.util.TimerTask;
+
+/**
+ * NIO worker threads of one channel factory
+ *
+ * Event loop lag is the delay between queueing a task to a worker and its execution. Probe tasks are queued
+ * periodically from the global timer, reported values are from the last completed probe.
+ */
+public class IoPool {
+
+    private final String name;
+    private final Worker[] workers;
+    private final AtomicLongArray lag;
+
+    private volatile boolean stopped;
+    private volatile Timeout timeout;
+
+    public IoPool(String name, WorkerPool<? extends Worker> pool, int workerCount) {
+        this.name = name;
+        workers = new Worker[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = pool.nextWorker(); // round robin, returns every worker once
+        }
+        lag = new AtomicLongArray(workerCount);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWorkerCount() {
+        return workers.length;
+    }
+
+    /**
+     * Lag of the worker in microseconds
+     */
+    public long getLag(int index) {
+        return lag.get(index);
+    }
+
+    /**
+     * Measure lag every interval milliseconds until stopped
+     */
+    public void start(final long interval) {
+        timeout = GlobalTimer.getTimer().newTimeout(new TimerTask() {
+            @Override
+            public void run(Timeout current) {
+                if (!stopped) {
+                    measureLag();
+                    timeout = current.getTimer().newTimeout(this, interval, TimeUnit.MILLISECONDS);
+                }
+            }
+        }, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        stopped = true;
+        Timeout current = timeout;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    void measureLag() {
+        for (int i = 0; i < workers.length; i++) {
+            final int index = i;
+            final long start = System.nanoTime();
+            workers[i].executeInIoThread(new Runnable() {
+                @Override
+                public void run() {
+                    lag.set(index, (System.nanoTime() - start) / 1000);
+                }
+            });
+        }
+    }
+
+    /**
+     * Number of given channels handled by each worker
+     */
+    public int[] getChannelCounts(Collection<Channel> channels) {
+        int[] counts = new int[workers.length];
+        for (Channel channel : channels) {
+            Worker worker = null;
+            if (channel instanceof NioSocketChannel) {
+                worker = ((NioSocketChannel) channel).getWorker();
+            } else if (channel instanceof NioDatagramChannel) {
+                worker = ((NioDatagramChannel) channel).getWorker();
+            }
+            if (worker != null) {
+                for (int i = 0; i < workers.length; i++) {
+                    if (workers[i] == worker) {
+                        counts[i]++;
+                        break;
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+
+}
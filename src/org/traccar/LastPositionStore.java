@@ -0,0 +1,237 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar;
+
+/**
+ * Concurrent store of last position time and coordinates by device id
+ *
+ * Devices are split between lock stripes, each stripe is an open addressing table of primitive arrays.
+ * Devices without updates for longer than the idle timeout are removed when a stripe is rebuilt.
+ */
+public class LastPositionStore {
+
+    private static final int STRIPES = 64;
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Bytes per slot: id, time, latitude, longitude, update time and occupied flag
+     */
+    private static final int SLOT_SIZE = 8 * 5 + 1;
+    private static final int ARRAY_OVERHEAD = 16;
+
+    /**
+     * Source of current time, replaced in tests
+     */
+    public interface Clock {
+        long currentTimeMillis();
+    }
+
+    public static final Clock SYSTEM_CLOCK = new Clock() {
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    public static class Entry {
+
+        private long time;
+        private double latitude;
+        private double longitude;
+
+        public long getTime() {
+            return time;
+        }
+
+        public double getLatitude() {
+            return latitude;
+        }
+
+        public double getLongitude() {
+            return longitude;
+        }
+    }
+
+    private static class Stripe {
+
+        private long[] ids;
+        private long[] times;
+        private double[] latitudes;
+        private double[] longitudes;
+        private long[] updated;
+        private boolean[] occupied;
+        private int size;
+        private long lastSweep;
+
+        public Stripe(int capacity) {
+            allocate(capacity);
+        }
+
+        private void allocate(int capacity) {
+            ids = new long[capacity];
+            times = new long[capacity];
+            latitudes = new double[capacity];
+            longitudes = new double[capacity];
+            updated = new long[capacity];
+            occupied = new boolean[capacity];
+            size = 0;
+        }
+
+        private int find(long id) {
+            int mask = ids.length - 1;
+            int index = hash(id) & mask;
+            while (occupied[index] && ids[index] != id) {
+                index = (index + 1) & mask;
+            }
+            return index;
+        }
+
+        /**
+         * Rebuild table without idle entries, capacity is doubled if it is still more than half full
+         */
+        private void rebuild(long now, long timeout) {
+            long[] oldIds = ids;
+            long[] oldTimes = times;
+            double[] oldLatitudes = latitudes;
+            double[] oldLongitudes = longitudes;
+            long[] oldUpdated = updated;
+            boolean[] oldOccupied = occupied;
+
+            int live = 0;
+            for (int i = 0; i < oldIds.length; i++) {
+                if (oldOccupied[i] && (timeout <= 0 || now - oldUpdated[i] <= timeout)) {
+                    live++;
+                }
+            }
+
+            int capacity = INITIAL_CAPACITY;
+            while (live * 2 >= capacity) {
+                capacity <<= 1;
+            }
+            allocate(capacity);
+
+            for (int i = 0; i < oldIds.length; i++) {
+                if (oldOccupied[i] && (timeout <= 0 || now - oldUpdated[i] <= timeout)) {
+                    int index = find(oldIds[i]);
+                    occupied[index] = true;
+                    ids[index] = oldIds[i];
+                    times[index] = oldTimes[i];
+                    latitudes[index] = oldLatitudes[i];
+                    longitudes[index] = oldLongitudes[i];
+                    updated[index] = oldUpdated[i];
+                    size++;
+                }
+            }
+            lastSweep = now;
+        }
+    }
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final long timeout;
+    private final Clock clock;
+
+    /**
+     * @param timeout idle timeout in milliseconds, zero to keep devices forever
+     */
+    public LastPositionStore(long timeout) {
+        this(timeout, SYSTEM_CLOCK);
+    }
+
+    public LastPositionStore(long timeout, Clock clock) {
+        this.timeout = timeout;
+        this.clock = clock;
+        long now = clock.currentTimeMillis();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(INITIAL_CAPACITY);
+            stripes[i].lastSweep = now;
+        }
+    }
+
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private Stripe getStripe(long id) {
+        return stripes[(hash(id) >>> 16) & (STRIPES - 1)];
+    }
+
+    /**
+     * Copy last position of the device into given entry, returns false if device is unknown
+     */
+    public boolean get(long id, Entry entry) {
+        Stripe stripe = getStripe(id);
+        synchronized (stripe) {
+            int index = stripe.find(id);
+            if (!stripe.occupied[index]) {
+                return false;
+            }
+            entry.time = stripe.times[index];
+            entry.latitude = stripe.latitudes[index];
+            entry.longitude = stripe.longitudes[index];
+            return true;
+        }
+    }
+
+    public void put(long id, long time, double latitude, double longitude) {
+        long now = clock.currentTimeMillis();
+        Stripe stripe = getStripe(id);
+        synchronized (stripe) {
+            if (timeout > 0 && now - stripe.lastSweep > timeout) {
+                stripe.rebuild(now, timeout);
+            }
+
+            int index = stripe.find(id);
+            if (!stripe.occupied[index]) {
+                if ((stripe.size + 1) * 4 > stripe.ids.length * 3) {
+                    stripe.rebuild(now, timeout);
+                    index = stripe.find(id);
+                }
+                stripe.occupied[index] = true;
+                stripe.ids[index] = id;
+                stripe.size++;
+            }
+            stripe.times[index] = time;
+            stripe.latitudes[index] = latitude;
+            stripe.longitudes[index] = longitude;
+            stripe.updated[index] = now;
+        }
+    }
+
+    public int getSize() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Approximate memory used by the tables in bytes
+     */
+    public long getMemoryUsage() {
+        long result = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                result += (long) stripe.ids.length * SLOT_SIZE + 6 * ARRAY_OVERHEAD;
+            }
+        }
+        return result;
+    }
+
+}
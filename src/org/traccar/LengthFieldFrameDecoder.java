@@ -0,0 +1,55 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.handler.codec.frame.FrameDecoder;
+
+/**
+ * Frame decoder for binary protocols with frame length known from the header
+ *
+ * Frames are slices of the received data instead of copies. FrameDecoder never writes into received buffers (new
+ * data is appended by wrapping or copying into a new cumulation buffer), so a slice stays valid after decode returns,
+ * also when it is processed later by the execution handler. Slice indexes start at zero like a copied frame.
+ */
+public abstract class LengthFieldFrameDecoder extends FrameDecoder {
+
+    /**
+     * Length of the frame starting at the reader index
+     *
+     * Implementation may skip leading bytes that are not part of the frame.
+     *
+     * @return frame length, 0 if it can not be determined from available data
+     */
+    protected abstract int getFrameLength(ChannelBuffer buf);
+
+    @Override
+    protected Object decode(
+            ChannelHandlerContext ctx,
+            Channel channel,
+            ChannelBuffer buf) throws Exception {
+
+        int length = getFrameLength(buf);
+        if (length > 0 && buf.readableBytes() >= length) {
+            return buf.readSlice(length);
+        }
+
+        return null;
+    }
+
+}
@@ -39,6 +39,7 @@ public class Main {
             public void run() {
                 Log.info("Shutting down server...");
                 service.stop();
+                Log.shutdown();
             }
         });
     }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.traccar.helper.LatencyHistogram;
+
+/**
+ * Global metrics registry
+ *
+ * Counters are kept per protocol, latency histograms (microseconds) are shared by all protocols. Recording is a
+ * few atomic increments, so metrics are always collected and only exposing them is configurable. Database
+ * latency is kept by DataManager.
+ */
+public final class Metrics {
+
+    private static final ConcurrentMap<String, ProtocolMetrics> protocols =
+            new ConcurrentHashMap<String, ProtocolMetrics>();
+
+    private static final LatencyHistogram geocoderLatency = new LatencyHistogram();
+
+    private Metrics() {
+    }
+
+    public static ProtocolMetrics getProtocolMetrics(String protocol) {
+        ProtocolMetrics metrics = protocols.get(protocol);
+        if (metrics == null) {
+            metrics = new ProtocolMetrics();
+            ProtocolMetrics existing = protocols.putIfAbsent(protocol, metrics);
+            if (existing != null) {
+                metrics = existing;
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Counters of all protocols sorted by name
+     */
+    public static Map<String, ProtocolMetrics> getProtocolMetrics() {
+        return new TreeMap<String, ProtocolMetrics>(protocols);
+    }
+
+    /**
+     * Address lookup latency as seen by the pipeline, including cache hits and waiting for asynchronous lookups
+     */
+    public static LatencyHistogram getGeocoderLatency() {
+        return geocoderLatency;
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar;
+
+import java.util.Properties;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jboss.netty.channel.ChannelEvent;
+import org.jboss.netty.channel.ChannelHandler;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.handler.execution.ChannelUpstreamEventRunnable;
+import org.jboss.netty.handler.execution.ExecutionHandler;
+import org.jboss.netty.handler.execution.OrderedMemoryAwareThreadPoolExecutor;
+import org.traccar.helper.Log;
+
+/**
+ * Moves decoded messages off I/O threads, events of one channel are processed in order
+ */
+@ChannelHandler.Sharable
+public class OrderedExecutionHandler extends ExecutionHandler {
+
+    private static final int DEFAULT_THREADS = 16;
+    private static final long DEFAULT_CHANNEL_MEMORY = 1024 * 1024;
+    private static final long DEFAULT_TOTAL_MEMORY = 64 * 1024 * 1024;
+    private static final long TERMINATION_TIMEOUT = 30;
+
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicLong eventCount = new AtomicLong();
+    private final AtomicLong totalWaitTime = new AtomicLong();
+    private final AtomicLong maxWaitTime = new AtomicLong();
+
+    /**
+     * Event runnable recording time spent in the queue
+     */
+    private class TimedEventRunnable extends ChannelUpstreamEventRunnable {
+
+        private final long queueTime = System.nanoTime();
+
+        public TimedEventRunnable(ChannelHandlerContext ctx, ChannelEvent e, Executor executor) {
+            super(ctx, e, executor);
+            queueSize.incrementAndGet();
+        }
+
+        @Override
+        protected void doRun() {
+            queueSize.decrementAndGet();
+            long wait = System.nanoTime() - queueTime;
+            eventCount.incrementAndGet();
+            totalWaitTime.addAndGet(wait);
+            long max = maxWaitTime.get();
+            while (wait > max && !maxWaitTime.compareAndSet(max, wait)) {
+                max = maxWaitTime.get();
+            }
+            super.doRun();
+        }
+    }
+
+    public OrderedExecutionHandler(Properties properties) {
+        super(createExecutor(properties));
+    }
+
+    private static Executor createExecutor(Properties properties) {
+        int threads = Integer.valueOf(properties.getProperty(
+                "execution.threads", String.valueOf(DEFAULT_THREADS)));
+        long channelMemory = Long.valueOf(properties.getProperty(
+                "execution.maxChannelMemory", String.valueOf(DEFAULT_CHANNEL_MEMORY)));
+        long totalMemory = Long.valueOf(properties.getProperty(
+                "execution.maxTotalMemory", String.valueOf(DEFAULT_TOTAL_MEMORY)));
+
+        return new OrderedMemoryAwareThreadPoolExecutor(
+                threads, channelMemory, totalMemory, 30, TimeUnit.SECONDS, new ThreadFactory() {
+            private final AtomicInteger index = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                return new Thread(runnable, "execution-" + index.getAndIncrement());
+            }
+        });
+    }
+
+    @Override
+    public void handleUpstream(ChannelHandlerContext ctx, ChannelEvent e) throws Exception {
+        getExecutor().execute(new TimedEventRunnable(ctx, e, getExecutor()));
+    }
+
+    /**
+     * Events waiting for a thread
+     */
+    public int getQueueSize() {
+        return queueSize.get();
+    }
+
+    public long getEventCount() {
+        return eventCount.get();
+    }
+
+    /**
+     * Average queue wait time in milliseconds
+     */
+    public double getAverageWaitTime() {
+        long count = eventCount.get();
+        return count > 0 ? totalWaitTime.get() / 1000000.0 / count : 0;
+    }
+
+    /**
+     * Maximum queue wait time in milliseconds
+     */
+    public double getMaxWaitTime() {
+        return maxWaitTime.get() / 1000000.0;
+    }
+
+    /**
+     * Process queued events and stop threads
+     */
+    public void stop() {
+        OrderedMemoryAwareThreadPoolExecutor executor = (OrderedMemoryAwareThreadPoolExecutor) getExecutor();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(TERMINATION_TIMEOUT, TimeUnit.SECONDS)) {
+                Log.warning("Execution stage terminated with " + getQueueSize() + " queued events");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
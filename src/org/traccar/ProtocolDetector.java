@@ -0,0 +1,551 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.SocketAddress;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.AbstractChannel;
+import org.jboss.netty.channel.AbstractChannelSink;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelConfig;
+import org.jboss.netty.channel.ChannelEvent;
+import org.jboss.netty.channel.ChannelHandler;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.ChannelPipeline;
+import org.jboss.netty.channel.ChannelPipelineFactory;
+import org.jboss.netty.channel.ChannelUpstreamHandler;
+import org.jboss.netty.channel.Channels;
+import org.jboss.netty.channel.DefaultChannelConfig;
+import org.jboss.netty.channel.MessageEvent;
+import org.jboss.netty.handler.codec.frame.FrameDecoder;
+import org.jboss.netty.handler.codec.frame.LineBasedFrameDecoder;
+import org.jboss.netty.handler.codec.oneone.OneToOneDecoder;
+import org.traccar.helper.ChannelBufferTools;
+import org.traccar.helper.Log;
+import org.traccar.model.Position;
+
+/**
+ * Finds protocols able to decode a message
+ *
+ * Protocols are first filtered by signatures: known first bytes, frame delimiter and frame length. Decoder chains of
+ * remaining protocols are created from the server pipelines once per thread and called directly. Connection state
+ * kept in decoder fields (e.g. device id) is restored to its initial values before every probe, so it never carries
+ * over from another probe. Protocols using string decoder are
+ * only probed with text messages. Pipelines with other decoders (e.g. HTTP) are not supported. Responses written by
+ * decoders are captured by a probe channel and count as a match, so login messages without a position are
+ * recognized as well.
+ */
+public class ProtocolDetector {
+
+    private static final ConcurrentMap<Class<?>, Method> FRAME_METHODS = new ConcurrentHashMap<Class<?>, Method>();
+
+    private static final int SCORE_RESPONSE = 1;
+    private static final int SCORE_OBJECT = 1;
+    private static final int SCORE_POSITION = 2;
+    private static final int SCORE_VALID_POSITION = 3;
+
+    /**
+     * First bytes of binary protocols, frame decoders of these protocols do not skip leading data
+     */
+    private static final Map<String, String[]> PREFIXES = new HashMap<String, String[]>();
+
+    static {
+        PREFIXES.put("gt06", new String[] {"7878", "7979"});
+        PREFIXES.put("gt02", new String[] {"6868"});
+        PREFIXES.put("eelink", new String[] {"6767"});
+        PREFIXES.put("khd", new String[] {"2929"});
+        PREFIXES.put("gator", new String[] {"2424"});
+        PREFIXES.put("meitrack", new String[] {"2424"});
+        PREFIXES.put("orion", new String[] {"5057"});
+        PREFIXES.put("cellocator", new String[] {"4d434750"});
+    }
+
+    /**
+     * Protocol able to decode the message
+     */
+    public static class Result implements Comparable<Result> {
+
+        private final String protocol;
+        private final int score;
+        private final int frameLength;
+
+        public Result(String protocol, int score, int frameLength) {
+            this.protocol = protocol;
+            this.score = score;
+            this.frameLength = frameLength;
+        }
+
+        public String getProtocol() {
+            return protocol;
+        }
+
+        /**
+         * 3 for a valid position, 2 for a position, 1 for any other decoded object or a response
+         */
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * Number of message bytes consumed by the frame decoder
+         */
+        public int getFrameLength() {
+            return frameLength;
+        }
+
+        @Override
+        public int compareTo(Result other) {
+            if (score != other.score) {
+                return other.score - score;
+            }
+            if (frameLength != other.frameLength) {
+                return other.frameLength - frameLength;
+            }
+            return protocol.compareTo(other.protocol);
+        }
+
+        @Override
+        public String toString() {
+            return protocol + " (" + score + ")";
+        }
+
+    }
+
+    /**
+     * Cheap conditions a buffer has to meet before any decoder of the protocol is created
+     */
+    static class Signature {
+
+        private final List<byte[]> prefixes = new ArrayList<byte[]>();
+        private final List<byte[]> delimiters = new ArrayList<byte[]>();
+        private LengthFieldFrameDecoder lengthDecoder;
+
+        /**
+         * Message starts with given bytes (hex string), any of added prefixes
+         */
+        public Signature prefix(String hex) {
+            prefixes.add(ChannelBufferTools.convertHexString(hex));
+            return this;
+        }
+
+        /**
+         * Complete frame ends with given delimiter, any of added delimiters
+         */
+        public Signature delimiter(String delimiter) {
+            delimiters.add(delimiter.getBytes(Charset.forName("ISO-8859-1")));
+            return this;
+        }
+
+        /**
+         * Complete frame length is known from the header
+         */
+        public Signature length(LengthFieldFrameDecoder frameDecoder) {
+            this.lengthDecoder = frameDecoder;
+            return this;
+        }
+
+        private static boolean startsWith(ChannelBuffer buf, int index, byte[] bytes) {
+            if (buf.writerIndex() - index < bytes.length) {
+                return false;
+            }
+            for (int i = 0; i < bytes.length; i++) {
+                if (buf.getByte(index + i) != bytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean contains(ChannelBuffer buf, byte[] bytes) {
+            int index = buf.readerIndex();
+            while ((index = buf.indexOf(index, buf.writerIndex(), bytes[0])) != -1) {
+                if (startsWith(buf, index, bytes)) {
+                    return true;
+                }
+                index++;
+            }
+            return false;
+        }
+
+        private boolean matchesPrefix(ChannelBuffer buf) {
+            for (byte[] prefix : prefixes) {
+                if (startsWith(buf, buf.readerIndex(), prefix)) {
+                    return true;
+                }
+            }
+            return prefixes.isEmpty();
+        }
+
+        private boolean matchesDelimiter(ChannelBuffer buf) {
+            for (byte[] delimiter : delimiters) {
+                if (contains(buf, delimiter)) {
+                    return true;
+                }
+            }
+            return delimiters.isEmpty();
+        }
+
+        private boolean matchesLength(ChannelBuffer buf) {
+            if (lengthDecoder == null) {
+                return true;
+            }
+            ChannelBuffer frame = buf.duplicate();
+            try {
+                int length = lengthDecoder.getFrameLength(frame);
+                return length > 0 && frame.readableBytes() >= length;
+            } catch (RuntimeException error) {
+                return false;
+            }
+        }
+
+        public boolean matches(ChannelBuffer buf) {
+            return matchesPrefix(buf) && matchesDelimiter(buf) && matchesLength(buf);
+        }
+
+    }
+
+    /**
+     * Protocol pipeline supported by the detector
+     */
+    private static class Candidate {
+
+        private final String protocol;
+        private final ChannelPipelineFactory factory;
+        private final ByteOrder order;
+        private final boolean text;
+        private final Signature signature;
+
+        public Candidate(
+                String protocol, ChannelPipelineFactory factory, ByteOrder order, boolean text, Signature signature) {
+            this.protocol = protocol;
+            this.factory = factory;
+            this.order = order;
+            this.text = text;
+            this.signature = signature;
+        }
+
+    }
+
+    /**
+     * Decoders of a protocol pipeline, reused by one thread for all probes of the protocol
+     */
+    private static class ProbeChain {
+
+        private final ChannelHandler frameDecoder;
+        private final BaseProtocolDecoder protocolDecoder;
+
+        private final List<Object> targets = new ArrayList<Object>();
+        private final List<Field> fields = new ArrayList<Field>();
+        private final List<Object> values = new ArrayList<Object>();
+
+        public ProbeChain(ChannelPipeline pipeline) throws IllegalAccessException {
+            frameDecoder = pipeline.get("frameDecoder");
+            protocolDecoder = (BaseProtocolDecoder) pipeline.get("objectDecoder");
+            if (frameDecoder != null) {
+                saveState(frameDecoder, FrameDecoder.class);
+            }
+            saveState(protocolDecoder, OneToOneDecoder.class);
+        }
+
+        /**
+         * Remember initial values of non-final fields declared below the Netty base class
+         */
+        private void saveState(Object decoder, Class<?> base) throws IllegalAccessException {
+            for (Class<?> c = decoder.getClass(); c != null && c != base; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers)) {
+                        field.setAccessible(true);
+                        targets.add(decoder);
+                        fields.add(field);
+                        values.add(field.get(decoder));
+                    }
+                }
+            }
+        }
+
+        /**
+         * Restore decoders to the state of a new connection
+         */
+        public void reset() throws IllegalAccessException {
+            for (int i = 0; i < fields.size(); i++) {
+                fields.get(i).set(targets.get(i), values.get(i));
+            }
+        }
+
+    }
+
+    /**
+     * Connected channel counting written messages instead of sending them
+     */
+    private static class ProbeChannel extends AbstractChannel {
+
+        private final ChannelConfig config = new DefaultChannelConfig();
+        private int responses;
+
+        public ProbeChannel() {
+            super(null, null, Channels.pipeline(), new AbstractChannelSink() {
+                @Override
+                public void eventSunk(ChannelPipeline pipeline, ChannelEvent e) {
+                    if (e instanceof MessageEvent) {
+                        ((ProbeChannel) e.getChannel()).responses++;
+                    }
+                    e.getFuture().setSuccess();
+                }
+            });
+        }
+
+        @Override
+        public ChannelConfig getConfig() {
+            return config;
+        }
+
+        @Override
+        public boolean isBound() {
+            return true;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public SocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public SocketAddress getRemoteAddress() {
+            return null;
+        }
+
+    }
+
+    private final Map<String, Candidate> candidates = new LinkedHashMap<String, Candidate>();
+    private final Charset charset = Charset.defaultCharset();
+
+    private final ThreadLocal<ProbeChannel> channel = new ThreadLocal<ProbeChannel>() {
+        @Override
+        protected ProbeChannel initialValue() {
+            return new ProbeChannel();
+        }
+    };
+
+    private final ThreadLocal<Map<String, ProbeChain>> chains = new ThreadLocal<Map<String, ProbeChain>>() {
+        @Override
+        protected Map<String, ProbeChain> initialValue() {
+            return new HashMap<String, ProbeChain>();
+        }
+    };
+
+    public ProtocolDetector(List<TrackerServer> serverList) {
+        for (TrackerServer server : serverList) {
+            if (!server.getProtocol().equals("detector") && !candidates.containsKey(server.getProtocol())) {
+                addProtocol(server.getProtocol(), server.getPipelineFactory(),
+                        server.getBufferFactory().getDefaultOrder());
+            }
+        }
+    }
+
+    ProtocolDetector() {
+    }
+
+    /**
+     * Add protocol before first detection, unsupported pipelines are ignored
+     */
+    void addProtocol(String protocol, ChannelPipelineFactory factory, ByteOrder order) {
+        try {
+            ChannelPipeline pipeline = factory.getPipeline();
+            ChannelHandler frameDecoder = pipeline.get("frameDecoder");
+            if (!(pipeline.get("objectDecoder") instanceof BaseProtocolDecoder) || hasOtherDecoders(pipeline)) {
+                return;
+            }
+            if (frameDecoder != null
+                    && (!(frameDecoder instanceof FrameDecoder) || getFrameMethod(frameDecoder.getClass()) == null)) {
+                return;
+            }
+            candidates.put(protocol, new Candidate(protocol, factory, order,
+                    pipeline.get("stringDecoder") != null, createSignature(protocol, frameDecoder)));
+        } catch (Exception error) {
+            Log.warning(error);
+        }
+    }
+
+    static Signature createSignature(String protocol, ChannelHandler frameDecoder) {
+        Signature signature = new Signature();
+        if (PREFIXES.containsKey(protocol)) {
+            for (String prefix : PREFIXES.get(protocol)) {
+                signature.prefix(prefix);
+            }
+        }
+        if (frameDecoder instanceof CharacterDelimiterFrameDecoder) {
+            for (String delimiter : ((CharacterDelimiterFrameDecoder) frameDecoder).getDelimiters()) {
+                signature.delimiter(delimiter);
+            }
+        } else if (frameDecoder instanceof LineBasedFrameDecoder) {
+            signature.delimiter("\n");
+        } else if (frameDecoder instanceof LengthFieldFrameDecoder) {
+            signature.length((LengthFieldFrameDecoder) frameDecoder);
+        }
+        return signature;
+    }
+
+    private static Method getFrameMethod(Class<?> type) {
+        Method method = FRAME_METHODS.get(type);
+        if (method == null) {
+            for (Class<?> c = type; c != null && method == null; c = c.getSuperclass()) {
+                try {
+                    method = c.getDeclaredMethod(
+                            "decode", ChannelHandlerContext.class, Channel.class, ChannelBuffer.class);
+                    method.setAccessible(true);
+                } catch (NoSuchMethodException error) {
+                    // check superclass
+                }
+            }
+            FRAME_METHODS.putIfAbsent(type, method);
+        }
+        return method;
+    }
+
+    private static boolean hasOtherDecoders(ChannelPipeline pipeline) {
+        for (Map.Entry<String, ChannelHandler> entry : pipeline.toMap().entrySet()) {
+            String name = entry.getKey();
+            if (entry.getValue() instanceof ChannelUpstreamHandler && name.endsWith("Decoder")
+                    && !name.equals("frameDecoder") && !name.equals("stringDecoder")
+                    && !name.equals("objectDecoder")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isText(ChannelBuffer buf) {
+        for (int i = buf.readerIndex(); i < buf.writerIndex(); i++) {
+            byte b = buf.getByte(i);
+            if ((b < 0x20 && b != '\r' && b != '\n' && b != '\t') || b == 0x7f) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int getScore(Object decoded) {
+        if (decoded instanceof List) {
+            List<?> list = (List<?>) decoded;
+            if (list.isEmpty()) {
+                return 0;
+            }
+            decoded = list.get(0);
+        }
+        if (decoded instanceof Position) {
+            return Boolean.TRUE.equals(((Position) decoded).getValid()) ? SCORE_VALID_POSITION : SCORE_POSITION;
+        }
+        return decoded != null ? SCORE_OBJECT : 0;
+    }
+
+    private ProbeChain getChain(Candidate candidate) throws Exception {
+        Map<String, ProbeChain> threadChains = chains.get();
+        ProbeChain chain = threadChains.get(candidate.protocol);
+        if (chain == null) {
+            chain = new ProbeChain(candidate.factory.getPipeline());
+            threadChains.put(candidate.protocol, chain);
+        } else {
+            chain.reset();
+        }
+        return chain;
+    }
+
+    private Result probe(Candidate candidate, ChannelBuffer buf) throws Exception {
+        if (buf.order() != candidate.order) {
+            buf = ChannelBuffers.wrappedBuffer(buf.toByteBuffer().order(candidate.order));
+        }
+        if (!candidate.signature.matches(buf)) {
+            return null;
+        }
+        Object message = buf;
+        int frameLength = buf.readableBytes();
+
+        ProbeChain chain = getChain(candidate);
+        ChannelHandler frameDecoder = chain.frameDecoder;
+        BaseProtocolDecoder protocolDecoder = chain.protocolDecoder;
+
+        if (frameDecoder != null) {
+            try {
+                message = getFrameMethod(frameDecoder.getClass()).invoke(frameDecoder, null, null, buf);
+            } catch (InvocationTargetException error) {
+                return null;
+            }
+            frameLength = buf.readerIndex();
+            if (message == null) {
+                return null;
+            }
+        }
+
+        if (candidate.text && message instanceof ChannelBuffer) {
+            message = ((ChannelBuffer) message).toString(charset);
+        }
+
+        ProbeChannel probeChannel = channel.get();
+        probeChannel.responses = 0;
+        int score = getScore(protocolDecoder.decode(null, probeChannel, null, message));
+        if (score == 0 && probeChannel.responses > 0) {
+            score = SCORE_RESPONSE;
+        }
+        return score > 0 ? new Result(candidate.protocol, score, frameLength) : null;
+    }
+
+    /**
+     * Probe all protocols with the message
+     *
+     * @return matching protocols, best match first
+     */
+    public List<Result> detect(ChannelBuffer buf) {
+        boolean text = isText(buf);
+        List<Result> results = new ArrayList<Result>();
+        for (Candidate candidate : candidates.values()) {
+            if (candidate.text && !text) {
+                continue;
+            }
+            try {
+                Result result = probe(candidate, buf.slice());
+                if (result != null) {
+                    results.add(result);
+                }
+            } catch (Exception error) {
+                // decoder rejected the message
+            }
+        }
+        Collections.sort(results);
+        return results;
+    }
+
+}
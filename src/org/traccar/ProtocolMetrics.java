@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pipeline counters of one protocol
+ */
+public class ProtocolMetrics {
+
+    private final AtomicLong framesReceived = new AtomicLong();
+    private final AtomicLong decodeFailures = new AtomicLong();
+    private final AtomicLong positionsDecoded = new AtomicLong();
+    private final AtomicLong positionsFiltered = new AtomicLong();
+    private final AtomicLong positionsGeocoded = new AtomicLong();
+    private final AtomicLong positionsStored = new AtomicLong();
+
+    public void frameReceived() {
+        framesReceived.incrementAndGet();
+    }
+
+    public void decodeFailed() {
+        decodeFailures.incrementAndGet();
+    }
+
+    public void positionsDecoded(int count) {
+        positionsDecoded.addAndGet(count);
+    }
+
+    public void positionFiltered() {
+        positionsFiltered.incrementAndGet();
+    }
+
+    public void positionGeocoded() {
+        positionsGeocoded.incrementAndGet();
+    }
+
+    /**
+     * Position written to database, with asynchronous writer after its batch is written
+     */
+    public void positionStored() {
+        positionsStored.incrementAndGet();
+    }
+
+    public long getFramesReceived() {
+        return framesReceived.get();
+    }
+
+    public long getDecodeFailures() {
+        return decodeFailures.get();
+    }
+
+    public long getPositionsDecoded() {
+        return positionsDecoded.get();
+    }
+
+    public long getPositionsFiltered() {
+        return positionsFiltered.get();
+    }
+
+    public long getPositionsGeocoded() {
+        return positionsGeocoded.get();
+    }
+
+    public long getPositionsStored() {
+        return positionsStored.get();
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar;
+
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.Map;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelHandler;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.ChannelPipeline;
+import org.jboss.netty.channel.Channels;
+import org.jboss.netty.channel.MessageEvent;
+import org.jboss.netty.channel.SimpleChannelUpstreamHandler;
+import org.traccar.helper.Log;
+
+/**
+ * Identifies protocol of a shared port connection
+ *
+ * Received data is buffered until a protocol decodes it. Then the protocol pipeline is installed on the channel and
+ * the buffered data is replayed. Connection is closed if no protocol matches within the sniff limit.
+ *
+ * Netty binds a channel to a worker when it is accepted, so multiplexed connections stay on the worker threads of
+ * the multiplexer pool. Protocol specific pools (e.g. gt06.workerThreads) only apply to the protocol port, the
+ * shared port can be isolated with multiplexer.workerThreads instead.
+ */
+public class ProtocolSniffer extends SimpleChannelUpstreamHandler {
+
+    private final ProtocolDetector detector;
+    private final Map<String, TrackerServer> servers;
+    private final int limit;
+
+    private ChannelBuffer buffer;
+
+    public ProtocolSniffer(ProtocolDetector detector, Map<String, TrackerServer> servers, int limit) {
+        this.detector = detector;
+        this.servers = servers;
+        this.limit = limit;
+    }
+
+    @Override
+    public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) throws Exception {
+        if (!(e.getMessage() instanceof ChannelBuffer)) {
+            ctx.sendUpstream(e);
+            return;
+        }
+
+        ChannelBuffer input = (ChannelBuffer) e.getMessage();
+        if (buffer == null) {
+            buffer = input;
+        } else {
+            buffer = ChannelBuffers.wrappedBuffer(buffer, input);
+        }
+
+        List<ProtocolDetector.Result> results = detector.detect(buffer);
+        if (!results.isEmpty()) {
+            install(ctx, servers.get(results.get(0).getProtocol()), e.getRemoteAddress());
+        } else if (buffer.readableBytes() >= limit) {
+            Log.info("Unknown protocol from " + e.getRemoteAddress());
+            buffer = null;
+            e.getChannel().close();
+        }
+    }
+
+    private void install(ChannelHandlerContext ctx, TrackerServer server, SocketAddress remoteAddress)
+            throws Exception {
+
+        Channel channel = ctx.getChannel();
+        ChannelPipeline pipeline = ctx.getPipeline();
+
+        // Channel is already open, protocol server only needs to track it
+        server.getChannelGroup().add(channel);
+        channel.getConfig().setBufferFactory(server.getBufferFactory());
+
+        for (Map.Entry<String, ChannelHandler> entry : server.getPipelineFactory().getPipeline().toMap().entrySet()) {
+            if (!entry.getKey().equals("openHandler")) {
+                pipeline.addLast(entry.getKey(), entry.getValue());
+            }
+        }
+        pipeline.remove(this);
+
+        ChannelBuffer replay = server.getBufferFactory().getBuffer(buffer.readableBytes());
+        replay.writeBytes(buffer);
+        buffer = null;
+
+        Channels.fireMessageReceived(channel, replay, remoteAddress);
+    }
+
+}
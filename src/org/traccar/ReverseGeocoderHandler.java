@@ -15,21 +15,49 @@
  */
 package org.traccar;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Future;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelHandlerContext;
 import org.jboss.netty.handler.codec.oneone.OneToOneDecoder;
+import org.traccar.geocode.AsyncReverseGeocoder;
 import org.traccar.geocode.ReverseGeocoder;
+import org.traccar.helper.LatencyHistogram;
 import org.traccar.model.Position;
 
 public class ReverseGeocoderHandler extends OneToOneDecoder {
 
     private final ReverseGeocoder geocoder;
     private final boolean processInvalidPositions;
+    private final ProtocolMetrics metrics;
+    private final LatencyHistogram latency = Metrics.getGeocoderLatency();
 
     public ReverseGeocoderHandler(ReverseGeocoder geocoder, boolean processInvalidPositions ) {
+        this(geocoder, processInvalidPositions, null);
+    }
+
+    public ReverseGeocoderHandler(
+            ReverseGeocoder geocoder, boolean processInvalidPositions, ProtocolMetrics metrics) {
         this.geocoder = geocoder;
         this.processInvalidPositions = processInvalidPositions;
+        this.metrics = metrics;
+    }
+
+    private void setAddress(Position position, String address) {
+        position.setAddress(address);
+        if (address != null && metrics != null) {
+            metrics.positionGeocoded();
+        }
+    }
+
+    private void geocode(Position position) {
+        if (processInvalidPositions || position.getValid()) {
+            long start = System.nanoTime();
+            setAddress(position, geocoder.getAddress(position.getLatitudeValue(), position.getLongitudeValue()));
+            latency.recordSince(start);
+        }
     }
 
     @Override
@@ -37,21 +65,14 @@ public class ReverseGeocoderHandler extends OneToOneDecoder {
             ChannelHandlerContext ctx, Channel channel, Object msg)
             throws Exception {
         
-        if (geocoder != null) {
+        if (geocoder instanceof AsyncReverseGeocoder) {
+            decodeAsync((AsyncReverseGeocoder) geocoder, msg);
+        } else if (geocoder != null) {
             if (msg instanceof Position) {
-                Position position = (Position) msg;
-                
-                if (processInvalidPositions || position.getValid()) {
-                    position.setAddress(geocoder.getAddress(
-                            position.getLatitude(), position.getLongitude()));
-                }
+                geocode((Position) msg);
             } else if (msg instanceof List) {
-                List<Position> positions = (List<Position>) msg;
-                for (Position position : positions) {
-                    if (processInvalidPositions || position.getValid()) {
-                        position.setAddress(geocoder.getAddress(
-                                position.getLatitude(), position.getLongitude()));
-                    }
+                for (Object item : (List<?>) msg) {
+                    geocode((Position) item);
                 }
             }
         }
@@ -59,4 +80,39 @@ public class ReverseGeocoderHandler extends OneToOneDecoder {
         return msg;
     }
 
+    /**
+     * Start all lookups of the message and wait for results until common deadline
+     */
+    private void decodeAsync(AsyncReverseGeocoder geocoder, Object msg) {
+        List<Position> positions;
+        if (msg instanceof Position) {
+            positions = Collections.singletonList((Position) msg);
+        } else if (msg instanceof List) {
+            positions = new ArrayList<Position>();
+            for (Object item : (List<?>) msg) {
+                positions.add((Position) item);
+            }
+        } else {
+            return;
+        }
+
+        long start = System.nanoTime();
+        List<Future<String>> futures = new ArrayList<Future<String>>(positions.size());
+        for (Position position : positions) {
+            if (processInvalidPositions || position.getValid()) {
+                futures.add(geocoder.getAddressAsync(position.getLatitudeValue(), position.getLongitudeValue()));
+            } else {
+                futures.add(null);
+            }
+        }
+
+        long deadline = System.nanoTime() + geocoder.getTimeout() * 1000000;
+        for (int i = 0; i < positions.size(); i++) {
+            if (futures.get(i) != null) {
+                setAddress(positions.get(i), geocoder.getAddress(futures.get(i), deadline));
+                latency.recordSince(start);
+            }
+        }
+    }
+
 }
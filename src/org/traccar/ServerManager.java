@@ -18,6 +18,8 @@ package org.traccar;
 import org.jboss.netty.bootstrap.ConnectionlessBootstrap;
 import org.jboss.netty.bootstrap.ServerBootstrap;
 import org.jboss.netty.channel.ChannelPipeline;
+import org.jboss.netty.channel.ChannelPipelineFactory;
+import org.jboss.netty.channel.Channels;
 import org.jboss.netty.handler.codec.frame.FixedLengthFrameDecoder;
 import org.jboss.netty.handler.codec.frame.LengthFieldBasedFrameDecoder;
 import org.jboss.netty.handler.codec.frame.LineBasedFrameDecoder;
@@ -27,6 +29,10 @@ import org.jboss.netty.handler.codec.http.HttpResponseEncoder;
 import org.jboss.netty.handler.codec.string.StringDecoder;
 import org.jboss.netty.handler.codec.string.StringEncoder;
 import org.traccar.database.DataManager;
+import org.traccar.database.LatestPositionCache;
+import org.traccar.database.PositionWriter;
+import org.traccar.geocode.AsyncReverseGeocoder;
+import org.traccar.geocode.CachingReverseGeocoder;
 import org.traccar.geocode.GoogleReverseGeocoder;
 import org.traccar.geocode.NominatimReverseGeocoder;
 import org.traccar.geocode.ReverseGeocoder;
@@ -34,12 +40,16 @@ import org.traccar.helper.Log;
 import org.traccar.http.WebServer;
 import org.traccar.protocol.*;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.ByteOrder;
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -53,6 +63,10 @@ public class ServerManager {
         serverList.add(trackerServer);
     }
 
+    public List<TrackerServer> getServerList() {
+        return Collections.unmodifiableList(serverList);
+    }
+
     private boolean loggerEnabled;
 
     public boolean isLoggerEnabled() {
@@ -65,12 +79,35 @@ public class ServerManager {
         return dataManager;
     }
 
+    private PositionWriter positionWriter;
+
+    public PositionWriter getPositionWriter() {
+        return positionWriter;
+    }
+
+    private LatestPositionCache latestPositionCache;
+
+    public LatestPositionCache getLatestPositionCache() {
+        return latestPositionCache;
+    }
+
+    private OrderedExecutionHandler executionHandler;
+
+    public OrderedExecutionHandler getExecutionHandler() {
+        return executionHandler;
+    }
+
     private ReverseGeocoder reverseGeocoder;
+    private CachingReverseGeocoder geocoderCache;
 
     public ReverseGeocoder getReverseGeocoder() {
         return reverseGeocoder;
     }
 
+    public CachingReverseGeocoder getGeocoderCache() {
+        return geocoderCache;
+    }
+
     private WebServer webServer;
 
     public WebServer getWebServer() {
@@ -97,8 +134,22 @@ public class ServerManager {
             Log.setupLogger(properties);
         }
 
+        GlobalChannelFactory.init(properties);
+
         dataManager = new DataManager(properties);
 
+        if (properties.containsKey("database.latestPositionDelay")) {
+            latestPositionCache = new LatestPositionCache(properties, dataManager);
+        }
+
+        if (Boolean.valueOf(properties.getProperty("database.asyncWrite"))) {
+            positionWriter = new PositionWriter(properties, dataManager, latestPositionCache);
+        }
+
+        if (Boolean.valueOf(properties.getProperty("execution.enable"))) {
+            executionHandler = new OrderedExecutionHandler(properties);
+        }
+
         initGeocoder(properties);
 
         initGps103Server("gps103");
@@ -184,14 +235,22 @@ public class ServerManager {
         initXirgoServer("xirgo");
 
         initProtocolDetector();
+        initProtocolMultiplexer();
 
         // Initialize web server
-        if (Boolean.valueOf(properties.getProperty("http.enable"))) {
-            webServer = new WebServer(properties, dataManager);
+        if (Boolean.valueOf(properties.getProperty("http.enable"))
+                || Boolean.valueOf(properties.getProperty("metrics.enable"))) {
+            webServer = new WebServer(this);
         }
     }
 
     public void start() {
+        if (latestPositionCache != null) {
+            latestPositionCache.start();
+        }
+        if (positionWriter != null) {
+            positionWriter.start();
+        }
         if (webServer != null) {
             webServer.start();
         }
@@ -209,6 +268,28 @@ public class ServerManager {
         GlobalChannelFactory.release();
         GlobalTimer.release();
 
+        // Process events decoded before shutdown
+        if (executionHandler != null) {
+            executionHandler.stop();
+        }
+
+        // Flush queued positions
+        if (positionWriter != null) {
+            positionWriter.stop();
+        }
+
+        // Write coalesced latest positions
+        if (latestPositionCache != null) {
+            latestPositionCache.stop();
+        }
+
+        if (reverseGeocoder instanceof AsyncReverseGeocoder) {
+            ((AsyncReverseGeocoder) reverseGeocoder).stop();
+        }
+        if (geocoderCache != null) {
+            geocoderCache.save();
+        }
+
         if (webServer != null) {
             webServer.stop();
         }
@@ -218,6 +299,8 @@ public class ServerManager {
         serverList.clear();
     }
 
+    private static final String DEFAULT_GEOCODER_CACHE_SIZE = "100000";
+
     private void initGeocoder(Properties properties) throws IOException {
         if (Boolean.parseBoolean(properties.getProperty("geocoder.enable"))) {
             String type = properties.getProperty("geocoder.type");
@@ -227,6 +310,33 @@ public class ServerManager {
             } else {
                 reverseGeocoder = new GoogleReverseGeocoder();
             }
+
+            double gridSize = Double.valueOf(properties.getProperty("geocoder.cacheGridSize", "20"));
+
+            boolean async = Boolean.parseBoolean(properties.getProperty("geocoder.async"));
+
+            // Asynchronous results are only used through the cache
+            String cacheSize = properties.getProperty("geocoder.cacheSize");
+            if (cacheSize == null && async) {
+                cacheSize = DEFAULT_GEOCODER_CACHE_SIZE;
+                Log.info("Asynchronous geocoder requires address cache, using cache size " + cacheSize);
+            }
+            if (cacheSize != null) {
+                String cacheFile = properties.getProperty("geocoder.cacheFile");
+                geocoderCache = new CachingReverseGeocoder(reverseGeocoder, gridSize,
+                        Integer.valueOf(cacheSize),
+                        Long.valueOf(properties.getProperty("geocoder.cacheTimeout", "86400")) * 1000,
+                        cacheFile != null ? new File(cacheFile) : null);
+                reverseGeocoder = geocoderCache;
+            }
+
+            if (async) {
+                reverseGeocoder = new AsyncReverseGeocoder(reverseGeocoder, gridSize,
+                        Integer.valueOf(properties.getProperty("geocoder.threads", "4")),
+                        Integer.valueOf(properties.getProperty("geocoder.queueSize", "1000")),
+                        Long.valueOf(properties.getProperty("geocoder.timeout", "0")),
+                        Double.valueOf(properties.getProperty("geocoder.rateLimit", "0")));
+            }
         }
     }
 
@@ -241,27 +351,61 @@ public class ServerManager {
     private void initProtocolDetector() throws SQLException {
         String protocol = "detector";
         if (isProtocolEnabled(properties, protocol)) {
+            final ProtocolDetector detector = new ProtocolDetector(serverList);
             serverList.add(new TrackerServer(this, new ServerBootstrap(), protocol) {
                 @Override
                 protected void addSpecificHandlers(ChannelPipeline pipeline) {
-                    pipeline.addLast("detectorHandler", new DetectorHandler(serverList));
+                    pipeline.addLast("detectorHandler", new DetectorHandler(detector));
                 }
             });
             serverList.add(new TrackerServer(this, new ConnectionlessBootstrap(), protocol) {
                 @Override
                 protected void addSpecificHandlers(ChannelPipeline pipeline) {
-                    pipeline.addLast("detectorHandler", new DetectorHandler(serverList));
+                    pipeline.addLast("detectorHandler", new DetectorHandler(detector));
+                }
+            });
+        }
+    }
+    private void initProtocolMultiplexer() throws SQLException {
+        String protocol = "multiplexer";
+        if (isProtocolEnabled(properties, protocol)) {
+
+            // Datagram servers have no connection to install a pipeline on
+            List<TrackerServer> streamServers = new LinkedList<TrackerServer>();
+            final Map<String, TrackerServer> servers = new HashMap<String, TrackerServer>();
+            for (TrackerServer server : serverList) {
+                if (!server.isConnectionless() && !server.getProtocol().equals("detector")) {
+                    streamServers.add(server);
+                    servers.put(server.getProtocol(), server);
+                }
+            }
+            final ProtocolDetector detector = new ProtocolDetector(streamServers);
+            final int limit = Integer.valueOf(properties.getProperty(protocol + ".sniffLength", "1024"));
+
+            final TrackerServer multiplexer = new TrackerServer(this, new ServerBootstrap(), protocol) {
+                @Override
+                protected void addSpecificHandlers(ChannelPipeline pipeline) {
+                }
+            };
+            multiplexer.setPipelineFactory(new ChannelPipelineFactory() {
+                @Override
+                public ChannelPipeline getPipeline() {
+                    ChannelPipeline pipeline = Channels.pipeline();
+                    pipeline.addLast("openHandler", new BasePipelineFactory.OpenChannelHandler(multiplexer));
+                    pipeline.addLast("sniffer", new ProtocolSniffer(detector, servers, limit));
+                    return pipeline;
                 }
             });
+            serverList.add(multiplexer);
         }
     }
+
     private void initGps103Server(final String protocol) throws SQLException {
         if (isProtocolEnabled(properties, protocol)) {
             serverList.add(new TrackerServer(this, new ServerBootstrap(), protocol) {
                 @Override
                 protected void addSpecificHandlers(ChannelPipeline pipeline) {
                     pipeline.addLast("frameDecoder", new CharacterDelimiterFrameDecoder(1024, "\r\n", "\n", ";"));
-                    pipeline.addLast("stringDecoder", new StringDecoder());
                     pipeline.addLast("stringEncoder", new StringEncoder());
                     pipeline.addLast("objectDecoder", new Gps103ProtocolDecoder(dataManager, protocol, properties));
                 }
@@ -269,7 +413,6 @@ public class ServerManager {
             serverList.add(new TrackerServer(this, new ConnectionlessBootstrap(), protocol) {
                 @Override
                 protected void addSpecificHandlers(ChannelPipeline pipeline) {
-                    pipeline.addLast("stringDecoder", new StringDecoder());
                     pipeline.addLast("stringEncoder", new StringEncoder());
                     pipeline.addLast("objectDecoder", new Gps103ProtocolDecoder(dataManager, protocol, properties));
                 }
@@ -319,7 +462,6 @@ public class ServerManager {
                 @Override
                 protected void addSpecificHandlers(ChannelPipeline pipeline) {
                     pipeline.addLast("frameDecoder", new CharacterDelimiterFrameDecoder(1024, "$", "\0"));
-                    pipeline.addLast("stringDecoder", new StringDecoder());
                     pipeline.addLast("stringEncoder", new StringEncoder());
                     pipeline.addLast("objectDecoder", new Gl200ProtocolDecoder(dataManager, protocol, properties));
                 }
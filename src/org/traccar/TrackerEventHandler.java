@@ -21,6 +21,8 @@ import org.jboss.netty.handler.timeout.IdleStateAwareChannelHandler;
 import org.jboss.netty.handler.timeout.IdleStateEvent;
 import org.traccar.helper.Log;
 import org.traccar.database.DataManager;
+import org.traccar.database.LatestPositionCache;
+import org.traccar.database.PositionWriter;
 import org.traccar.model.Position;
 
 /**
@@ -34,14 +36,34 @@ public class TrackerEventHandler extends IdleStateAwareChannelHandler {
      */
     private DataManager dataManager;
 
-    TrackerEventHandler(DataManager newDataManager) {
+    /**
+     * Batched writer (optional)
+     */
+    private PositionWriter positionWriter;
+
+    /**
+     * Write-behind latest position update (optional)
+     */
+    private LatestPositionCache latestPositions;
+
+    /**
+     * Protocol counters (optional)
+     */
+    private ProtocolMetrics metrics;
+
+    TrackerEventHandler(
+            DataManager newDataManager, PositionWriter newPositionWriter,
+            LatestPositionCache newLatestPositions, ProtocolMetrics newMetrics) {
         dataManager = newDataManager;
+        positionWriter = newPositionWriter;
+        latestPositions = newLatestPositions;
+        metrics = newMetrics;
     }
 
     private Long processSinglePosition(Position position) {
         if (position == null) {
             Log.info("processSinglePosition null message");
-        } else {
+        } else if (Log.isInfoEnabled()) {
             StringBuilder s = new StringBuilder();
             s.append("device: ").append(position.getDeviceId()).append(", ");
             s.append("time: ").append(position.getTime()).append(", ");
@@ -50,10 +72,21 @@ public class TrackerEventHandler extends IdleStateAwareChannelHandler {
             Log.info(s.toString());
         }
 
+        // Queue position, writer also updates latest position and counts it when stored
+        if (positionWriter != null) {
+            if (position != null) {
+                positionWriter.write(position, metrics);
+            }
+            return null;
+        }
+
         // Write position to database
         Long id = null;
         try {
             id = dataManager.addPosition(position);
+            if (id != null && metrics != null) {
+                metrics.positionStored();
+            }
         } catch (Exception error) {
             Log.warning(error);
         }
@@ -75,10 +108,15 @@ public class TrackerEventHandler extends IdleStateAwareChannelHandler {
             }
         }
         if (id != null && lastPostition != null) {
-            try {
-                dataManager.updateLatestPosition(lastPostition, id);
-            } catch (Exception error) {
-                Log.warning(error);
+            if (latestPositions != null) {
+                lastPostition.setId(id);
+                latestPositions.update(lastPostition);
+            } else {
+                try {
+                    dataManager.updateLatestPosition(lastPostition, id);
+                } catch (Exception error) {
+                    Log.warning(error);
+                }
             }
         }
     }
@@ -17,9 +17,12 @@ package org.traccar;
 
 import java.net.InetSocketAddress;
 import java.nio.ByteOrder;
+import java.util.Properties;
 import org.jboss.netty.bootstrap.Bootstrap;
 import org.jboss.netty.bootstrap.ConnectionlessBootstrap;
 import org.jboss.netty.bootstrap.ServerBootstrap;
+import org.jboss.netty.buffer.ChannelBufferFactory;
+import org.jboss.netty.buffer.DirectChannelBufferFactory;
 import org.jboss.netty.buffer.HeapChannelBufferFactory;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelPipeline;
@@ -48,10 +51,12 @@ public abstract class TrackerServer {
 
         // Set appropriate channel factory
         if (bootstrap instanceof ServerBootstrap) {
-            bootstrap.setFactory(GlobalChannelFactory.getFactory());
+            bootstrap.setFactory(GlobalChannelFactory.getFactory(protocol));
         } else if (bootstrap instanceof ConnectionlessBootstrap) {
-            bootstrap.setFactory(GlobalChannelFactory.getDatagramFactory());
+            bootstrap.setFactory(GlobalChannelFactory.getDatagramFactory(protocol));
         }
+        setSocketOptions(serverManager.getProperties());
+        setEndianness(ByteOrder.BIG_ENDIAN);
 
         address = serverManager.getProperties().getProperty(protocol + ".address");
         String portProperty = serverManager.getProperties().getProperty(protocol + ".port");
@@ -67,6 +72,36 @@ public abstract class TrackerServer {
 
     protected abstract void addSpecificHandlers(ChannelPipeline pipeline);
 
+    private String getSocketOption(Properties properties, String key) {
+        String value = properties.getProperty(protocol + "." + key);
+        if (value == null) {
+            value = properties.getProperty("server." + key);
+        }
+        return value;
+    }
+
+    /**
+     * Socket buffer sizes and accept backlog, protocol specific values override server ones
+     */
+    private void setSocketOptions(Properties properties) {
+        String prefix = bootstrap instanceof ServerBootstrap ? "child." : "";
+
+        String receiveBuffer = getSocketOption(properties, "receiveBuffer");
+        if (receiveBuffer != null) {
+            bootstrap.setOption(prefix + "receiveBufferSize", Integer.valueOf(receiveBuffer));
+        }
+
+        String sendBuffer = getSocketOption(properties, "sendBuffer");
+        if (sendBuffer != null) {
+            bootstrap.setOption(prefix + "sendBufferSize", Integer.valueOf(sendBuffer));
+        }
+
+        String backlog = getSocketOption(properties, "backlog");
+        if (backlog != null && bootstrap instanceof ServerBootstrap) {
+            bootstrap.setOption("backlog", Integer.valueOf(backlog));
+        }
+    }
+
     /**
      * Server port
      */
@@ -93,12 +128,23 @@ public abstract class TrackerServer {
         this.address = address;
     }
 
+    /**
+     * Buffer factory selected by server.bufferFactory (heap or direct)
+     */
+    private ChannelBufferFactory createBufferFactory(ByteOrder byteOrder) {
+        if ("direct".equals(serverManager.getProperties().getProperty("server.bufferFactory"))) {
+            return DirectChannelBufferFactory.getInstance(byteOrder);
+        }
+        return HeapChannelBufferFactory.getInstance(byteOrder);
+    }
+
     /**
      * Set endianness
      */
     void setEndianness(ByteOrder byteOrder) {
-        bootstrap.setOption("bufferFactory", new HeapChannelBufferFactory(byteOrder));
-        bootstrap.setOption("child.bufferFactory", new HeapChannelBufferFactory(byteOrder));
+        ChannelBufferFactory bufferFactory = createBufferFactory(byteOrder);
+        bootstrap.setOption("bufferFactory", bufferFactory);
+        bootstrap.setOption("child.bufferFactory", bufferFactory);
     }
 
     /**
@@ -110,6 +156,31 @@ public abstract class TrackerServer {
         return allChannels;
     }
 
+    /**
+     * Open device connections, listening channel is not counted
+     */
+    public int getConnectionCount() {
+        if (bootstrap instanceof ServerBootstrap) {
+            return Math.max(allChannels.size() - 1, 0);
+        }
+        return 0;
+    }
+
+    public boolean isConnectionless() {
+        return bootstrap instanceof ConnectionlessBootstrap;
+    }
+
+    /**
+     * Buffer factory of device channels, defines endianness of received data
+     */
+    public ChannelBufferFactory getBufferFactory() {
+        Object factory = bootstrap.getOption(isConnectionless() ? "bufferFactory" : "child.bufferFactory");
+        if (factory instanceof ChannelBufferFactory) {
+            return (ChannelBufferFactory) factory;
+        }
+        return HeapChannelBufferFactory.getInstance();
+    }
+
     public void setPipelineFactory(ChannelPipelineFactory pipelineFactory) {
         bootstrap.setPipelineFactory(pipelineFactory);
     }
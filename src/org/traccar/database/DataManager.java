@@ -16,20 +16,18 @@
 package org.traccar.database;
 
 import com.mchange.v2.c3p0.ComboPooledDataSource;
+import com.mchange.v2.c3p0.PooledDataSource;
 import org.traccar.helper.DriverDelegate;
+import org.traccar.helper.LatencyHistogram;
 import org.traccar.helper.Log;
 import org.traccar.model.*;
-import org.xml.sax.InputSource;
 import javax.sql.DataSource;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 import java.io.File;
-import java.io.StringReader;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.sql.*;
 import java.util.*;
+import java.util.Date;
 
 /**
  * Database abstraction class
@@ -39,14 +37,7 @@ public class DataManager {
     public DataManager(Properties properties) throws Exception {
         if (properties != null) {
             initDatabase(properties);
-            
-            // Refresh delay
-            String refreshDelay = properties.getProperty("database.refreshDelay");
-            if (refreshDelay != null) {
-                devicesRefreshDelay = Long.valueOf(refreshDelay) * 1000;
-            } else {
-                devicesRefreshDelay = DEFAULT_REFRESH_DELAY * 1000;
-            }
+            deviceRegistry = new DeviceRegistry(properties, this);
         }
     }
     
@@ -56,10 +47,69 @@ public class DataManager {
         return dataSource;
     }
 
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 20;
+
+    private static final int DEFAULT_BULK_INSERT_ROWS = 100;
+
+    /**
+     * Position bulk insert, rows per multi-row statement (0 for JDBC batch) and PostgreSQL COPY
+     */
+    private int bulkInsertRows;
+    private boolean bulkInsertCopy;
+
+    /**
+     * Database dialect from driver class or url, null if unknown
+     */
+    static String getDialect(String driver, String url) {
+        String value = ((driver != null ? driver : "") + " " + (url != null ? url : "")).toLowerCase();
+        if (value.contains("mysql")) {
+            return "mysql";
+        } else if (value.contains("postgresql")) {
+            return "postgresql";
+        } else if (value.contains("h2")) {
+            return "h2";
+        }
+        return null;
+    }
+
+    private void initBulkInsert(Properties properties) {
+        String mode = properties.getProperty("database.bulkInsert");
+        if (mode == null || mode.equals("false") || queryAddPosition == null) {
+            return;
+        }
+
+        String dialect = getDialect(properties.getProperty("database.driver"), properties.getProperty("database.url"));
+        if (dialect == null) {
+            Log.warning("Bulk insert is not supported for this database, using JDBC batch");
+            return;
+        }
+
+        if (mode.equals("copy")) {
+            if (queryUpdateLatestPosition != null) {
+                // COPY returns no position ids
+                Log.warning("COPY insert can not be used with latest position update, using multi-row insert");
+            } else if (dialect.equals("postgresql") && queryAddPosition.supportsCopy()) {
+                bulkInsertCopy = true;
+                return;
+            } else {
+                Log.warning("COPY insert requires PostgreSQL and parameter values, using multi-row insert");
+            }
+        }
+
+        if (queryAddPosition.supportsMultiRow()) {
+            bulkInsertRows = Integer.valueOf(properties.getProperty(
+                    "database.bulkInsertRows", String.valueOf(DEFAULT_BULK_INSERT_ROWS)));
+        } else {
+            Log.warning("Position query is not a single row INSERT ... VALUES, using JDBC batch");
+        }
+    }
+
     /**
      * Database statements
      */
     private NamedParameterStatement queryGetDevices;
+    private NamedParameterStatement queryGetDevicesByImei;
+    private NamedParameterStatement queryGetDevicesUpdated;
     private NamedParameterStatement queryAddPosition;
     private NamedParameterStatement queryUpdateLatestPosition;
     private NamedParameterStatement queryGetDeviceSettings;
@@ -69,6 +119,71 @@ public class DataManager {
     private NamedParameterStatement queryUpdateSOS;
     private NamedParameterStatement queryUpdateDeviceSettingStatus;
 
+    private final List<NamedParameterStatement> statements = new LinkedList<NamedParameterStatement>();
+
+    private final LatencyHistogram insertLatency = new LatencyHistogram();
+    private final LatencyHistogram updateLatency = new LatencyHistogram();
+
+    /**
+     * Position insert latency in microseconds, one value per statement or batch
+     */
+    public LatencyHistogram getInsertLatency() {
+        return insertLatency;
+    }
+
+    /**
+     * Latest position update latency in microseconds
+     */
+    public LatencyHistogram getUpdateLatency() {
+        return updateLatency;
+    }
+
+    private NamedParameterStatement createStatement(String query, int autoGeneratedKeys) {
+        NamedParameterStatement statement = new NamedParameterStatement(query, dataSource, autoGeneratedKeys);
+        statements.add(statement);
+        return statement;
+    }
+
+    private NamedParameterStatement createStatement(String query) {
+        return createStatement(query, Statement.NO_GENERATED_KEYS);
+    }
+
+    /**
+     * Statement cache hits of all configured queries
+     */
+    public long getStatementCacheHits() {
+        long result = 0;
+        for (NamedParameterStatement statement : statements) {
+            result += statement.getCacheHits();
+        }
+        return result;
+    }
+
+    /**
+     * Statement cache misses of all configured queries
+     */
+    public long getStatementCacheMisses() {
+        long result = 0;
+        for (NamedParameterStatement statement : statements) {
+            result += statement.getCacheMisses();
+        }
+        return result;
+    }
+
+    /**
+     * Statements held by the pool statement cache of all connections, -1 if not available
+     */
+    public int getStatementCacheSize() {
+        if (dataSource instanceof PooledDataSource) {
+            try {
+                return ((PooledDataSource) dataSource).getStatementCacheNumStatementsAllUsers();
+            } catch (SQLException error) {
+                Log.warning(error);
+            }
+        }
+        return -1;
+    }
+
     /**
      * Initialize database
      */
@@ -97,6 +212,30 @@ public class DataManager {
         ds.setPassword(properties.getProperty("database.password"));
         ds.setIdleConnectionTestPeriod(600);
         ds.setTestConnectionOnCheckin(true);
+
+        // Pool sizing
+        String value = properties.getProperty("database.initialPoolSize");
+        if (value != null) ds.setInitialPoolSize(Integer.valueOf(value));
+
+        value = properties.getProperty("database.minPoolSize");
+        if (value != null) ds.setMinPoolSize(Integer.valueOf(value));
+
+        value = properties.getProperty("database.maxPoolSize");
+        if (value != null) ds.setMaxPoolSize(Integer.valueOf(value));
+
+        value = properties.getProperty("database.maxIdleTime");
+        if (value != null) ds.setMaxIdleTime(Integer.valueOf(value));
+
+        value = properties.getProperty("database.maxIdleTimeExcessConnections");
+        if (value != null) ds.setMaxIdleTimeExcessConnections(Integer.valueOf(value));
+
+        // Prepared statement cache (per pooled connection, keyed by query)
+        ds.setMaxStatementsPerConnection(Integer.valueOf(properties.getProperty(
+                "database.statementCacheSize", String.valueOf(DEFAULT_STATEMENT_CACHE_SIZE))));
+
+        value = properties.getProperty("database.maxStatements");
+        if (value != null) ds.setMaxStatements(Integer.valueOf(value));
+
         dataSource = ds;
 
         // Load statements from configuration
@@ -104,43 +243,55 @@ public class DataManager {
 
         query = properties.getProperty("database.selectDevice");
         if (query != null) {
-            queryGetDevices = new NamedParameterStatement(query, dataSource);
+            queryGetDevices = createStatement(query);
+        }
+
+        query = properties.getProperty("database.selectDeviceByImei");
+        if (query != null) {
+            queryGetDevicesByImei = createStatement(query);
+        }
+
+        query = properties.getProperty("database.selectDeviceUpdates");
+        if (query != null) {
+            queryGetDevicesUpdated = createStatement(query);
         }
 
         query = properties.getProperty("database.insertPosition");
         if (query != null) {
-            queryAddPosition = new NamedParameterStatement(query, dataSource, Statement.RETURN_GENERATED_KEYS);
+            queryAddPosition = createStatement(query, Statement.RETURN_GENERATED_KEYS);
         }
 
         query = properties.getProperty("database.updateLatestPosition");
         if (query != null) {
-            queryUpdateLatestPosition = new NamedParameterStatement(query, dataSource);
+            queryUpdateLatestPosition = createStatement(query);
         }
 
+        initBulkInsert(properties);
+
         query = properties.getProperty("database.getDeviceSettings");
         if (query != null) {
-            queryGetDeviceSettings = new NamedParameterStatement(query, dataSource);
+            queryGetDeviceSettings = createStatement(query);
         }
         query = properties.getProperty("database.getSosNumbers");
         if (query != null) {
-            queryGetSosNumbers = new NamedParameterStatement(query, dataSource);
+            queryGetSosNumbers = createStatement(query);
         }
 
         query = properties.getProperty("database.getFriendsAndFamilyNumbers");
         if (query != null) {
-            queryGetFriendsAndFamilyNumbers = new NamedParameterStatement(query, dataSource);
+            queryGetFriendsAndFamilyNumbers = createStatement(query);
         }
         query = properties.getProperty("database.updateStatusOFSOS");
         if (query != null) {
-            queryUpdateSOS = new NamedParameterStatement(query, dataSource);
+            queryUpdateSOS = createStatement(query);
         }
         query = properties.getProperty("database.updateStatusOFFriendsAndFamilyNumbers");
         if (query != null) {
-            queryUpdateFriendsAndFamily = new NamedParameterStatement(query, dataSource);
+            queryUpdateFriendsAndFamily = createStatement(query);
         }
         query = properties.getProperty("database.updateDeviceSettingStatus");
         if (query != null) {
-            queryUpdateDeviceSettingStatus = new NamedParameterStatement(query, dataSource);
+            queryUpdateDeviceSettingStatus = createStatement(query);
         }
     }
 
@@ -164,30 +315,37 @@ public class DataManager {
 
 
     /**
-     * Devices cache
+     * Devices with given IMEI, null if query is not configured
      */
-    private Map<String, Device> devices;
-    private Calendar devicesLastUpdate;
-    private long devicesRefreshDelay;
-    private static final long DEFAULT_REFRESH_DELAY = 300;
-
-    public Device getDeviceByImei(String imei) throws SQLException {
-
-        if (devices == null || !devices.containsKey(imei) ||
-                (Calendar.getInstance().getTimeInMillis() - devicesLastUpdate.getTimeInMillis() > devicesRefreshDelay)) {
-            devices = new HashMap<String, Device>();
-            for (Device device : getDevices()) {
-                devices.put(device.getImei(), device);
-            }
-            devicesLastUpdate = Calendar.getInstance();
+    public List<Device> getDevicesByImei(String imei) throws SQLException {
+        if (queryGetDevicesByImei != null) {
+            return queryGetDevicesByImei.prepare().setString("imei", imei).executeQuery(deviceResultSetProcessor);
         }
-
-        return devices.get(imei);
+        return null;
     }
 
+    /**
+     * Devices added after given id or changed after given time, null if query is not configured
+     */
+    public List<Device> getDevicesUpdated(long id, Date time) throws SQLException {
+        if (queryGetDevicesUpdated != null) {
+            return queryGetDevicesUpdated.prepare().setLong("id", id).setTimestamp("time", time).executeQuery(deviceResultSetProcessor);
+        }
+        return null;
+    }
 
+    /**
+     * Devices cache
+     */
+    private DeviceRegistry deviceRegistry;
 
+    public DeviceRegistry getDeviceRegistry() {
+        return deviceRegistry;
+    }
 
+    public Device getDeviceByImei(String imei) throws SQLException {
+        return deviceRegistry.getDeviceByImei(imei);
+    }
 
     private NamedParameterStatement.ResultSetProcessor<Long> generatedKeysResultSetProcessor = new NamedParameterStatement.ResultSetProcessor<Long>() {
         @Override
@@ -196,11 +354,43 @@ public class DataManager {
         }
     };
 
-    public synchronized Long addPosition(Position position) throws SQLException {
+    public Long addPosition(Position position) throws SQLException {
         if (queryAddPosition != null) {
-            List<Long> result = assignVariables(queryAddPosition.prepare(), position).executeUpdate(generatedKeysResultSetProcessor);
-            if (result != null && !result.isEmpty()) {
-                return result.iterator().next();
+            long start = System.nanoTime();
+            try {
+                List<Long> result = assignVariables(queryAddPosition.prepareReusable(), position).executeUpdate(generatedKeysResultSetProcessor);
+                if (result != null && !result.isEmpty()) {
+                    return result.iterator().next();
+                }
+            } finally {
+                insertLatency.recordSince(start);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Insert positions in one batch, returns generated ids in the same order (null if unknown)
+     *
+     * With COPY bulk insert no ids are returned, it is only enabled without latest position update.
+     */
+    public List<Long> addPositions(List<Position> positions) throws SQLException {
+        if (queryAddPosition != null) {
+            List<NamedParameterStatement.Params> batch = queryAddPosition.prepareBatch(positions.size());
+            for (int i = 0; i < positions.size(); i++) {
+                assignVariables(batch.get(i), positions.get(i));
+            }
+            long start = System.nanoTime();
+            try {
+                if (bulkInsertCopy) {
+                    queryAddPosition.executeCopy(batch);
+                    return null;
+                } else if (bulkInsertRows > 0) {
+                    return queryAddPosition.executeMultiRow(batch, bulkInsertRows, generatedKeysResultSetProcessor);
+                }
+                return queryAddPosition.executeBatch(batch, generatedKeysResultSetProcessor);
+            } finally {
+                insertLatency.recordSince(start);
             }
         }
         return null;
@@ -208,45 +398,63 @@ public class DataManager {
 
     public void updateLatestPosition(Position position, Long positionId) throws SQLException {
         if (queryUpdateLatestPosition != null) {
-            assignVariables(queryUpdateLatestPosition.prepare(), position).setLong("id", positionId).executeUpdate();
+            long start = System.nanoTime();
+            try {
+                assignVariables(queryUpdateLatestPosition.prepareReusable(), position).setLong("id", positionId).executeUpdate();
+            } finally {
+                updateLatency.recordSince(start);
+            }
         }
     }
 
+    /**
+     * Update latest positions of several devices in one batch, position ids must be set
+     */
+    public void updateLatestPositions(List<Position> positions) throws SQLException {
+        if (queryUpdateLatestPosition != null && !positions.isEmpty()) {
+            List<NamedParameterStatement.Params> batch = queryUpdateLatestPosition.prepareBatch(positions.size());
+            for (int i = 0; i < positions.size(); i++) {
+                Position position = positions.get(i);
+                assignVariables(batch.get(i), position).setLong("id", position.getId());
+            }
+            long start = System.nanoTime();
+            try {
+                queryUpdateLatestPosition.executeBatch(batch, null);
+            } finally {
+                updateLatency.recordSince(start);
+            }
+        }
+    }
+
+    private static String getAttribute(Position position, String key) {
+        Object value = position.getAttribute(key);
+        if (value != null && !value.toString().isEmpty()) {
+            return value.toString();
+        }
+        return null;
+    }
+
     private NamedParameterStatement.Params assignVariables(NamedParameterStatement.Params params, Position position) throws SQLException {
 
-        params.setLong("device_id", position.getDeviceId());
-        params.setTimestamp("time", position.getTime());
-        params.setBoolean("valid", position.getValid());
-        params.setDouble("altitude", position.getAltitude());
-        params.setDouble("latitude", position.getLatitude());
-        params.setDouble("longitude", position.getLongitude());
-        params.setDouble("speed", position.getSpeed());
-        params.setDouble("course", position.getCourse());
+        params.setLong("device_id", position.hasDeviceId(), position.getDeviceIdValue());
+        params.setTimestamp("time", position.hasTime(), position.getTimeMillis());
+        params.setBoolean("valid", position.hasValid(), position.getValidValue());
+        params.setDouble("altitude", position.hasAltitude(), position.getAltitudeValue());
+        params.setDouble("latitude", position.hasLatitude(), position.getLatitudeValue());
+        params.setDouble("longitude", position.hasLongitude(), position.getLongitudeValue());
+        params.setDouble("speed", position.hasSpeed(), position.getSpeedValue());
+        params.setDouble("course", position.hasCourse(), position.getCourseValue());
         params.setString("address", position.getAddress());
-        params.setString("extended_info", position.getExtendedInfo());
+        // Avoid rendering XML for queries that do not store it
+        if (params.hasParameter("extended_info")) {
+            params.setString("extended_info", position.getExtendedInfo());
+        }
 
         // DELME: Temporary compatibility support
-        XPath xpath = XPathFactory.newInstance().newXPath();
-        try {
-            InputSource source = new InputSource(new StringReader(position.getExtendedInfo()));
-            String index = xpath.evaluate("/info/index", source);
-            if (!index.isEmpty()) {
-                params.setLong("id", Long.valueOf(index));
-            } else {
-                params.setLong("id", null);
-            }
-            source = new InputSource(new StringReader(position.getExtendedInfo()));
-            String power = xpath.evaluate("/info/power", source);
-            if (!power.isEmpty()) {
-                params.setDouble("power", Double.valueOf(power));
-            } else {
-                params.setLong("power", null);
-            }
-        } catch (XPathExpressionException e) {
-            Log.warning("Error in XML: " + position.getExtendedInfo(), e);
-            params.setLong("id", null);
-            params.setLong("power", null);
-        }
+        String index = getAttribute(position, "index");
+        params.setLong("id", index != null ? Long.valueOf(index) : null);
+        String power = getAttribute(position, "power");
+        params.setDouble("power", power != null ? Double.valueOf(power) : null);
 
         return params;
     }
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.database;
+
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import org.traccar.model.Device;
+
+/**
+ * Thread-safe devices cache with negative caching and incremental refresh
+ */
+public class DeviceRegistry {
+
+    private static final long DEFAULT_REFRESH_DELAY = 300;
+    private static final long DEFAULT_UNKNOWN_TIMEOUT = 60;
+    private static final int DEFAULT_UNKNOWN_LIMIT = 10000;
+
+    private static final String REFRESH_KEY = "refresh";
+    private static final String IMEI_KEY = "imei:";
+
+    private final DataManager dataManager;
+    private final long refreshDelay;
+    private final long unknownTimeout;
+    private final int unknownLimit;
+
+    private final ConcurrentMap<String, Device> devicesByImei = new ConcurrentHashMap<String, Device>();
+    private final ConcurrentMap<Long, Device> devicesById = new ConcurrentHashMap<Long, Device>();
+
+    /**
+     * Unknown IMEI to expiration time, expired entries are swept on refresh and when the limit is reached
+     */
+    private final ConcurrentMap<String, Long> unknownDevices = new ConcurrentHashMap<String, Long>();
+
+    /**
+     * Loads in progress, shared by all threads requesting the same key
+     */
+    private final ConcurrentMap<String, FutureTask<?>> loads = new ConcurrentHashMap<String, FutureTask<?>>();
+
+    private final AtomicLong lastRefresh = new AtomicLong();
+    private volatile boolean loaded;
+    private volatile long maxId;
+    private volatile Date lastUpdate;
+
+    public DeviceRegistry(Properties properties, DataManager dataManager) {
+        this.dataManager = dataManager;
+
+        refreshDelay = Long.valueOf(properties.getProperty(
+                "database.refreshDelay", String.valueOf(DEFAULT_REFRESH_DELAY))) * 1000;
+        unknownTimeout = Long.valueOf(properties.getProperty(
+                "database.unknownDeviceTimeout", String.valueOf(DEFAULT_UNKNOWN_TIMEOUT))) * 1000;
+        unknownLimit = Integer.valueOf(properties.getProperty(
+                "database.unknownDeviceLimit", String.valueOf(DEFAULT_UNKNOWN_LIMIT)));
+    }
+
+    public Device getDeviceByImei(String imei) throws SQLException {
+
+        if (!loaded) {
+            refresh();
+        }
+
+        long now = System.currentTimeMillis();
+        long last = lastRefresh.get();
+        if (now - last > refreshDelay && lastRefresh.compareAndSet(last, now)) {
+            refresh();
+            sweepUnknown(now);
+        }
+
+        Device device = devicesByImei.get(imei);
+        if (device != null) {
+            return device;
+        }
+
+        Long expiration = unknownDevices.get(imei);
+        if (expiration != null) {
+            if (expiration > now) {
+                return null;
+            }
+            unknownDevices.remove(imei, expiration);
+        }
+
+        device = load(imei);
+        if (device == null) {
+            if (unknownDevices.size() >= unknownLimit) {
+                sweepUnknown(now);
+            }
+            // Still full, IMEI is queried again next time
+            if (unknownDevices.size() < unknownLimit) {
+                unknownDevices.put(imei, now + unknownTimeout);
+            }
+        }
+        return device;
+    }
+
+    private void sweepUnknown(long now) {
+        for (Map.Entry<String, Long> entry : unknownDevices.entrySet()) {
+            if (entry.getValue() <= now) {
+                unknownDevices.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Lookup by id, only cached devices are returned
+     */
+    public Device getDeviceById(long id) {
+        return devicesById.get(id);
+    }
+
+    public int getSize() {
+        return devicesById.size();
+    }
+
+    public int getUnknownSize() {
+        return unknownDevices.size();
+    }
+
+    /**
+     * Load missing device by IMEI, falls back to refresh if there is no dedicated query
+     */
+    private Device load(final String imei) throws SQLException {
+        return execute(IMEI_KEY + imei, new Callable<Device>() {
+            @Override
+            public Device call() throws Exception {
+                List<Device> devices = dataManager.getDevicesByImei(imei);
+                if (devices == null) {
+                    refresh();
+                } else {
+                    for (Device device : devices) {
+                        put(device);
+                    }
+                }
+                return devicesByImei.get(imei);
+            }
+        });
+    }
+
+    /**
+     * Load new and changed devices, all devices on first run or if incremental query is not configured
+     */
+    private void refresh() throws SQLException {
+        execute(REFRESH_KEY, new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                Date time = new Date();
+                List<Device> devices = null;
+                if (loaded) {
+                    devices = dataManager.getDevicesUpdated(maxId, lastUpdate);
+                }
+
+                if (devices == null) {
+                    devices = dataManager.getDevices();
+                    Set<Long> ids = new HashSet<Long>();
+                    for (Device device : devices) {
+                        ids.add(device.getId());
+                    }
+                    for (Device device : devicesById.values()) {
+                        if (!ids.contains(device.getId())) {
+                            remove(device);
+                        }
+                    }
+                }
+
+                for (Device device : devices) {
+                    put(device);
+                }
+
+                lastUpdate = time;
+                lastRefresh.set(time.getTime());
+                loaded = true;
+                return null;
+            }
+        });
+    }
+
+    private synchronized void put(Device device) {
+        if (device.getImei() == null) {
+            return;
+        }
+        Device previous = devicesById.put(device.getId(), device);
+        if (previous != null && !previous.getImei().equals(device.getImei())) {
+            devicesByImei.remove(previous.getImei(), previous);
+        }
+        devicesByImei.put(device.getImei(), device);
+        unknownDevices.remove(device.getImei());
+        if (device.getId() > maxId) {
+            maxId = device.getId();
+        }
+    }
+
+    private synchronized void remove(Device device) {
+        devicesById.remove(device.getId(), device);
+        devicesByImei.remove(device.getImei(), device);
+    }
+
+    /**
+     * Run loader once for concurrent callers with the same key
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T execute(String key, Callable<T> callable) throws SQLException {
+        FutureTask<T> task = new FutureTask<T>(callable);
+        FutureTask<T> current = (FutureTask<T>) loads.putIfAbsent(key, task);
+        if (current == null) {
+            current = task;
+            try {
+                task.run();
+            } finally {
+                loads.remove(key, task);
+            }
+        }
+
+        try {
+            return current.get();
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(error);
+        } catch (ExecutionException error) {
+            if (error.getCause() instanceof SQLException) {
+                throw (SQLException) error.getCause();
+            }
+            throw new SQLException(error.getCause());
+        }
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.traccar.helper.Log;
+import org.traccar.model.Position;
+
+/**
+ * Latest position of each device with write-behind database update
+ *
+ * Updates are coalesced per device and written in one batch every flush interval, so a device sending many messages
+ * causes one update per interval instead of one per message. Only position id and time are kept, so the update query
+ * can use device_id, id and time. An older position never replaces a newer one. The cache is also the read model for
+ * latest position ids within the server; the database lags by up to one interval.
+ */
+public class LatestPositionCache {
+
+    /**
+     * Position id and time
+     */
+    private static class Entry {
+
+        private final long id;
+        private final long time;
+
+        public Entry(long id, long time) {
+            this.id = id;
+            this.time = time;
+        }
+
+    }
+
+    private final DataManager dataManager;
+    private final long flushInterval;
+
+    private final ConcurrentMap<Long, Entry> latest = new ConcurrentHashMap<Long, Entry>();
+    private final ConcurrentMap<Long, Entry> pending = new ConcurrentHashMap<Long, Entry>();
+
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private Thread thread;
+
+    public LatestPositionCache(DataManager dataManager, long flushInterval) {
+        this.dataManager = dataManager;
+        this.flushInterval = flushInterval;
+    }
+
+    public LatestPositionCache(Properties properties, DataManager dataManager) {
+        this(dataManager, Long.valueOf(properties.getProperty("database.latestPositionDelay")));
+    }
+
+    /**
+     * Put entry unless the map has a newer one, returns false if the entry is older
+     */
+    private static boolean putNewer(ConcurrentMap<Long, Entry> map, Long deviceId, Entry entry) {
+        while (true) {
+            Entry current = map.putIfAbsent(deviceId, entry);
+            if (current == null) {
+                return true;
+            }
+            if (current.time > entry.time) {
+                return false;
+            }
+            if (map.replace(deviceId, current, entry)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Record stored position, position id must be set
+     */
+    public void update(Position position) {
+        Long id = position.getId();
+        if (position.hasDeviceId() && id != null) {
+            Long deviceId = position.getDeviceIdValue();
+            Entry entry = new Entry(id, position.getTimeMillis());
+            if (putNewer(latest, deviceId, entry)) {
+                putNewer(pending, deviceId, entry);
+            }
+        }
+    }
+
+    /**
+     * Id of the latest position, null if the device has no position yet
+     */
+    public Long getLatestPositionId(long deviceId) {
+        Entry entry = latest.get(deviceId);
+        return entry != null ? entry.id : null;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Write pending updates to the database
+     */
+    public void flush() {
+        List<Position> batch = new ArrayList<Position>(pending.size());
+        List<Entry> entries = new ArrayList<Entry>(pending.size());
+        for (Map.Entry<Long, Entry> entry : pending.entrySet()) {
+            // Newer position stays pending for the next flush
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                Position position = new Position();
+                position.setDeviceId(entry.getKey());
+                position.setId(entry.getValue().id);
+                position.setTime(entry.getValue().time);
+                batch.add(position);
+                entries.add(entry.getValue());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            dataManager.updateLatestPositions(batch);
+        } catch (Exception error) {
+            Log.warning(error);
+            // Retry with the next flush unless there is a newer position already
+            for (int i = 0; i < batch.size(); i++) {
+                putNewer(pending, batch.get(i).getDeviceIdValue(), entries.get(i));
+            }
+        }
+    }
+
+    public void start() {
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    while (!stopped.await(flushInterval, TimeUnit.MILLISECONDS)) {
+                        flush();
+                    }
+                } catch (InterruptedException error) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, "latest-position-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop writer thread and flush remaining updates
+     */
+    public void stop() {
+        stopped.countDown();
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+}
@@ -15,14 +15,30 @@
  */
 package org.traccar.database;
 
+import com.mchange.v2.c3p0.C3P0ProxyConnection;
 import javax.sql.DataSource;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.sql.*;
+import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class NamedParameterStatement {
 
-    private final Map<String, List<Integer>> indexMap;
+    /**
+     * Parameter name to slot and slot to statement indexes
+     */
+    private final Map<String, Integer> slotMap;
+    private final int[][] slotIndexes;
 
     private final String parsedQuery;
 
@@ -34,52 +50,135 @@ public class NamedParameterStatement {
         T processNextRow(ResultSet rs) throws SQLException;
     }
 
+    /**
+     * Parameter kinds stored in slots
+     */
+    private static final byte KIND_NONE = 0;
+    private static final byte KIND_INT = 1;
+    private static final byte KIND_LONG = 2;
+    private static final byte KIND_DOUBLE = 3;
+    private static final byte KIND_BOOLEAN = 4;
+    private static final byte KIND_STRING = 5;
+    private static final byte KIND_TIMESTAMP = 6;
+
     public class Params {
-        Map<String, Object> values;
-        Map<String, Integer> types;
+
+        private final byte[] kinds = new byte[slotIndexes.length];
+        private final boolean[] nulls = new boolean[slotIndexes.length];
+        private final long[] longValues = new long[slotIndexes.length];
+        private final double[] doubleValues = new double[slotIndexes.length];
+        private final Object[] objectValues = new Object[slotIndexes.length];
+
+        private int set(String name, byte kind, boolean isNull) {
+            Integer slot = slotMap.get(name);
+            if (slot != null) {
+                kinds[slot] = kind;
+                nulls[slot] = isNull;
+                return slot;
+            }
+            return -1;
+        }
+
+        /**
+         * Forget all values, so the slots can be bound again for another row
+         */
+        public Params clear() {
+            Arrays.fill(kinds, KIND_NONE);
+            Arrays.fill(objectValues, null);
+            return this;
+        }
+
+        public boolean hasParameter(String name) {
+            return slotMap.containsKey(name);
+        }
 
         public Params setInt(String name, Integer value) {
-            setType(name, Types.INTEGER);
-            return setValue(name, value);
+            int slot = set(name, KIND_INT, value == null);
+            if (slot >= 0 && value != null) longValues[slot] = value;
+            return this;
+        }
+
+        public Params setInt(String name, int value) {
+            int slot = set(name, KIND_INT, false);
+            if (slot >= 0) longValues[slot] = value;
+            return this;
         }
 
         public Params setLong(String name, Long value) {
-            setType(name, Types.INTEGER);
-            return setValue(name, value);
+            int slot = set(name, KIND_LONG, value == null);
+            if (slot >= 0 && value != null) longValues[slot] = value;
+            return this;
+        }
+
+        public Params setLong(String name, long value) {
+            int slot = set(name, KIND_LONG, false);
+            if (slot >= 0) longValues[slot] = value;
+            return this;
+        }
+
+        /**
+         * Value if present, otherwise NULL, for optional primitive fields
+         */
+        public Params setLong(String name, boolean present, long value) {
+            int slot = set(name, KIND_LONG, !present);
+            if (slot >= 0) longValues[slot] = value;
+            return this;
         }
 
         public Params setString(String name, String value) {
-            setType(name, Types.VARCHAR);
-            return setValue(name, value);
+            int slot = set(name, KIND_STRING, value == null);
+            if (slot >= 0) objectValues[slot] = value;
+            return this;
         }
 
         public Params setDouble(String name, Double value) {
-            setType(name, Types.DOUBLE);
-            return setValue(name, value);
+            int slot = set(name, KIND_DOUBLE, value == null);
+            if (slot >= 0 && value != null) doubleValues[slot] = value;
+            return this;
+        }
+
+        public Params setDouble(String name, double value) {
+            int slot = set(name, KIND_DOUBLE, false);
+            if (slot >= 0) doubleValues[slot] = value;
+            return this;
+        }
+
+        public Params setDouble(String name, boolean present, double value) {
+            int slot = set(name, KIND_DOUBLE, !present);
+            if (slot >= 0) doubleValues[slot] = value;
+            return this;
         }
 
         public Params setTimestamp(String name, Date value) {
-            setType(name, Types.TIMESTAMP);
-            return setValue(name, value);
+            int slot = set(name, KIND_TIMESTAMP, value == null);
+            if (slot >= 0 && value != null) longValues[slot] = value.getTime();
+            return this;
+        }
+
+        /**
+         * Time in milliseconds if present, otherwise NULL
+         */
+        public Params setTimestamp(String name, boolean present, long value) {
+            int slot = set(name, KIND_TIMESTAMP, !present);
+            if (slot >= 0) longValues[slot] = value;
+            return this;
         }
 
         public Params setBoolean(String name, Boolean value) {
-            setType(name, Types.BOOLEAN);
-            return setValue(name, value);
+            int slot = set(name, KIND_BOOLEAN, value == null);
+            if (slot >= 0 && value != null) longValues[slot] = value ? 1 : 0;
+            return this;
         }
 
-        private void setType(String name, Integer type) {
-            if (types == null) {
-                types = new HashMap<String, Integer>();
-            }
-            types.put(name, type);
+        public Params setBoolean(String name, boolean value) {
+            int slot = set(name, KIND_BOOLEAN, false);
+            if (slot >= 0) longValues[slot] = value ? 1 : 0;
+            return this;
         }
 
-        private Params setValue(String name, Object value) {
-            if (values == null) {
-                values = new HashMap<String, Object>();
-            }
-            values.put(name, value);
+        public Params setBoolean(String name, boolean present, boolean value) {
+            int slot = set(name, KIND_BOOLEAN, !present);
+            if (slot >= 0) longValues[slot] = value ? 1 : 0;
             return this;
         }
 
@@ -92,7 +191,7 @@ public class NamedParameterStatement {
 
             try {
                 conn = dataSource.getConnection();
-                stmt = conn.prepareStatement(parsedQuery);
+                stmt = prepareStatement(conn, Statement.NO_GENERATED_KEYS);
 
                 setParams(stmt);
 
@@ -114,7 +213,7 @@ public class NamedParameterStatement {
 
             try {
                 conn = dataSource.getConnection();
-                stmt = conn.prepareStatement(parsedQuery, autoGeneratedKeys);
+                stmt = prepareStatement(conn, autoGeneratedKeys);
 
                 setParams(stmt);
 
@@ -139,42 +238,43 @@ public class NamedParameterStatement {
             executeUpdate(null);
         }
 
-        private void setParams(PreparedStatement stmt) throws SQLException {
-            if (values == null) {
-                return;
-            }
+        void setParams(PreparedStatement stmt) throws SQLException {
+            setParams(stmt, 0);
+        }
 
-            for (Map.Entry<String, Object> entry : values.entrySet()) {
-                String name = entry.getKey();
-                Object value = entry.getValue();
-                int type = types.get(name);
+        /**
+         * Bind values shifted by offset, used for rows of a multi-row statement
+         */
+        void setParams(PreparedStatement stmt, int offset) throws SQLException {
+            for (int slot = 0; slot < kinds.length; slot++) {
+                byte kind = kinds[slot];
+                if (kind == KIND_NONE) {
+                    continue;
+                }
 
-                List<Integer> indexList = indexMap.get(name);
-                if (indexList != null) for (Integer index: indexList) {
-                    if (value == null) {
-                        stmt.setNull(index, type);
+                for (int parameter : slotIndexes[slot]) {
+                    int index = parameter + offset;
+                    if (nulls[slot]) {
+                        stmt.setNull(index, getSqlType(kind));
                     } else {
-                        switch (type) {
-                            case Types.INTEGER:
-                                if (value instanceof Long) {
-                                    stmt.setLong(index, (Long) value);
-                                } else if (value instanceof Integer) {
-                                    stmt.setInt(index, (Integer) value);
-                                } else {
-                                    throw new IllegalArgumentException("Unknown integer value: " + value.getClass());
-                                }
+                        switch (kind) {
+                            case KIND_INT:
+                                stmt.setInt(index, (int) longValues[slot]);
+                                break;
+                            case KIND_LONG:
+                                stmt.setLong(index, longValues[slot]);
                                 break;
-                            case Types.VARCHAR:
-                                stmt.setString(index, (String) value);
+                            case KIND_STRING:
+                                stmt.setString(index, (String) objectValues[slot]);
                                 break;
-                            case Types.TIMESTAMP:
-                                stmt.setTimestamp(index, new Timestamp(((Date) value).getTime()));
+                            case KIND_TIMESTAMP:
+                                stmt.setTimestamp(index, new Timestamp(longValues[slot]));
                                 break;
-                            case Types.DOUBLE:
-                                stmt.setDouble(index, (Double) value);
+                            case KIND_DOUBLE:
+                                stmt.setDouble(index, doubleValues[slot]);
                                 break;
-                            case Types.BOOLEAN:
-                                stmt.setBoolean(index, (Boolean) value);
+                            case KIND_BOOLEAN:
+                                stmt.setBoolean(index, longValues[slot] != 0);
                                 break;
                         }
                     }
@@ -182,39 +282,271 @@ public class NamedParameterStatement {
             }
         }
 
-        private void closeQuietly(Connection conn, Statement stmt, ResultSet rs) {
-            if (rs != null) {
-                try {
-                    rs.close();
-                } catch (SQLException sqex) {
-                }
+        /**
+         * Append value as a PostgreSQL CSV field, null is an unquoted empty field
+         */
+        void appendCsv(StringBuilder out, int slot) {
+            if (kinds[slot] == KIND_NONE || nulls[slot]) {
+                return;
             }
+            switch (kinds[slot]) {
+                case KIND_INT:
+                case KIND_LONG:
+                    out.append(longValues[slot]);
+                    break;
+                case KIND_DOUBLE:
+                    out.append(doubleValues[slot]);
+                    break;
+                case KIND_BOOLEAN:
+                    out.append(longValues[slot] != 0 ? 't' : 'f');
+                    break;
+                case KIND_TIMESTAMP:
+                    // Explicit offset, independent of JVM and session time zones
+                    out.append(COPY_TIME_FORMAT.get().format(new Date(longValues[slot])));
+                    break;
+                default:
+                    String value = (String) objectValues[slot];
+                    out.append('"');
+                    for (int i = 0; i < value.length(); i++) {
+                        char c = value.charAt(i);
+                        if (c == '"') {
+                            out.append('"');
+                        }
+                        out.append(c);
+                    }
+                    out.append('"');
+                    break;
+            }
+        }
+    }
 
-            if (stmt != null) {
-                try {
-                    stmt.close();
-                } catch (SQLException sqex) {
+    private static final ThreadLocal<SimpleDateFormat> COPY_TIME_FORMAT = new ThreadLocal<SimpleDateFormat>() {
+        @Override
+        protected SimpleDateFormat initialValue() {
+            SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS'+00'");
+            format.setTimeZone(TimeZone.getTimeZone("UTC"));
+            return format;
+        }
+    };
+
+    private static int getSqlType(byte kind) {
+        switch (kind) {
+            case KIND_STRING:
+                return Types.VARCHAR;
+            case KIND_TIMESTAMP:
+                return Types.TIMESTAMP;
+            case KIND_DOUBLE:
+                return Types.DOUBLE;
+            case KIND_BOOLEAN:
+                return Types.BOOLEAN;
+            default:
+                return Types.INTEGER;
+        }
+    }
+
+    /**
+     * Statement cache statistics, driver statement last prepared on each physical connection
+     */
+    private static final int MAX_TRACKED_CONNECTIONS = 256;
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final ConcurrentMap<Connection, Statement> driverStatements =
+            new ConcurrentHashMap<Connection, Statement>();
+
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    /**
+     * Prepare statement, reuse is provided by the pool statement cache
+     */
+    private PreparedStatement prepareStatement(Connection conn, int keys) throws SQLException {
+        PreparedStatement stmt = prepareStatement(conn, parsedQuery, keys);
+
+        // Cached statements wrap the same driver statement
+        try {
+            if (stmt.isWrapperFor(PreparedStatement.class)) {
+                PreparedStatement driverStatement = stmt.unwrap(PreparedStatement.class);
+                if (driverStatements.size() >= MAX_TRACKED_CONNECTIONS) {
+                    driverStatements.clear(); // forget connections closed by the pool
+                }
+                if (driverStatements.put(driverStatement.getConnection(), driverStatement) == driverStatement) {
+                    cacheHits.incrementAndGet();
+                } else {
+                    cacheMisses.incrementAndGet();
                 }
             }
+        } catch (SQLException error) {
+            // statistics not supported by driver
+        }
 
-            if (conn != null) {
-                try {
-                    conn.close();
-                } catch (SQLException sqex) {
-                }
+        return stmt;
+    }
+
+    private PreparedStatement prepareStatement(Connection conn, String sql, int keys) throws SQLException {
+        PreparedStatement stmt;
+        if (keys == Statement.NO_GENERATED_KEYS) {
+            stmt = conn.prepareStatement(sql);
+        } else {
+            stmt = conn.prepareStatement(sql, keys);
+        }
+        return stmt;
+    }
+
+    private static void closeQuietly(Connection conn, Statement stmt, ResultSet rs) {
+        if (rs != null) {
+            try {
+                rs.close();
+            } catch (SQLException sqex) {
+            }
+        }
+
+        if (stmt != null) {
+            try {
+                stmt.close();
+            } catch (SQLException sqex) {
+            }
+        }
+
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException sqex) {
             }
         }
     }
 
+    private static final Pattern VALUES_PATTERN =
+            Pattern.compile("\\s*INSERT\\s.*?\\sVALUES\\s*\\(", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private static final Pattern INSERT_PATTERN =
+            Pattern.compile("\\s*INSERT\\s+INTO\\s+(\\S+)\\s*\\(([^)]*)\\)\\s*VALUES\\s*\\(([^)]*)\\)\\s*;?\\s*",
+                    Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    /**
+     * Multi-row insert: query up to the values list, the list of one row and the rest of the query (e.g. ON DUPLICATE
+     * KEY UPDATE), null if query has another form
+     */
+    private final String valuesPrefix;
+    private final String valuesRow;
+    private final String valuesTail;
+    private final int rowParameterCount;
+    private final Map<Integer, String> multiRowQueries = new ConcurrentHashMap<Integer, String>();
+
+    /**
+     * PostgreSQL COPY query and column slots, null if query values are not all parameters
+     */
+    private final String copyQuery;
+    private final int[] copySlots;
+
     public NamedParameterStatement(String query, DataSource dataSource) {
         this(query, dataSource, Statement.NO_GENERATED_KEYS);
     }
 
     public NamedParameterStatement(String query, DataSource dataSource, int autoGeneratedKeys) {
-        this.indexMap = new HashMap<String, List<Integer>>();
+        Map<String, List<Integer>> indexMap = new HashMap<String, List<Integer>>();
         this.parsedQuery = parse(query, indexMap);
+
+        // Resolve names to slots once
+        this.slotMap = new HashMap<String, Integer>();
+        this.slotIndexes = new int[indexMap.size()][];
+        int slot = 0;
+        for (Map.Entry<String, List<Integer>> entry : indexMap.entrySet()) {
+            int[] indexes = new int[entry.getValue().size()];
+            int i = 0;
+            for (Integer index : entry.getValue()) {
+                indexes[i++] = index;
+            }
+            slotMap.put(entry.getKey(), slot);
+            slotIndexes[slot++] = indexes;
+        }
         this.dataSource = dataSource;
         this.autoGeneratedKeys = autoGeneratedKeys;
+
+        // Multi-row form, only if all parameters are in the values list
+        String[] values = splitValues(parsedQuery);
+        if (values != null && values[0].indexOf('?') < 0 && values[2].indexOf('?') < 0) {
+            valuesPrefix = values[0];
+            valuesRow = values[1];
+            valuesTail = values[2];
+        } else {
+            valuesPrefix = null;
+            valuesRow = null;
+            valuesTail = null;
+        }
+        int count = 0;
+        for (int[] indexes : slotIndexes) {
+            count += indexes.length;
+        }
+        rowParameterCount = count;
+
+        // COPY form, only if every value is a parameter
+        String copy = null;
+        int[] slots = null;
+        Matcher insert = INSERT_PATTERN.matcher(query);
+        if (insert.matches()) {
+            String[] columns = insert.group(2).split(",");
+            String[] names = insert.group(3).split(",");
+            if (columns.length == names.length) {
+                slots = new int[names.length];
+                for (int i = 0; i < names.length && slots != null; i++) {
+                    String name = names[i].trim();
+                    Integer column = name.startsWith(":") ? slotMap.get(name.substring(1)) : null;
+                    if (column != null) {
+                        slots[i] = column;
+                    } else {
+                        slots = null;
+                    }
+                }
+                if (slots != null) {
+                    copy = "COPY " + insert.group(1) + " (" + insert.group(2).trim() + ") FROM STDIN WITH CSV";
+                }
+            }
+        }
+        copyQuery = copy;
+        copySlots = slots;
+    }
+
+    /**
+     * Split single row INSERT into query up to the values list, the parenthesized row and the rest without semicolon
+     *
+     * @return three parts or null if query has another form
+     */
+    static String[] splitValues(String query) {
+        Matcher matcher = VALUES_PATTERN.matcher(query);
+        if (!matcher.lookingAt()) {
+            return null;
+        }
+        int start = matcher.end() - 1;
+        int depth = 0;
+        boolean inSingleQuote = false;
+        boolean inDoubleQuote = false;
+        for (int i = start; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (inSingleQuote) {
+                if (c == '\'') inSingleQuote = false;
+            } else if (inDoubleQuote) {
+                if (c == '"') inDoubleQuote = false;
+            } else if (c == '\'') {
+                inSingleQuote = true;
+            } else if (c == '"') {
+                inDoubleQuote = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                String tail = query.substring(i + 1).replaceFirst("\\s*;?\\s*$", "");
+                if (tail.trim().startsWith(",")) {
+                    return null; // already multi-row
+                }
+                return new String[] {query.substring(0, start), query.substring(start, i + 1), tail};
+            }
+        }
+        return null;
     }
 
     static String parse(String query, Map<String, List<Integer>> paramMap) {
@@ -273,4 +605,308 @@ public class NamedParameterStatement {
     public Params prepare() {
         return new Params();
     }
+
+    private final ThreadLocal<List<Params>> reusableParams = new ThreadLocal<List<Params>>() {
+        @Override
+        protected List<Params> initialValue() {
+            return new ArrayList<Params>();
+        }
+    };
+
+    /**
+     * Cleared parameters owned by the calling thread, valid until the next prepareReusable or prepareBatch call of
+     * this statement on the same thread
+     */
+    public Params prepareReusable() {
+        List<Params> pool = reusableParams.get();
+        if (pool.isEmpty()) {
+            pool.add(new Params());
+        }
+        return pool.get(0).clear();
+    }
+
+    /**
+     * Cleared rows of parameters owned by the calling thread, valid until the next prepareReusable or prepareBatch
+     * call of this statement on the same thread
+     */
+    public List<Params> prepareBatch(int rows) {
+        List<Params> pool = reusableParams.get();
+        while (pool.size() < rows) {
+            pool.add(new Params());
+        }
+        List<Params> batch = pool.subList(0, rows);
+        for (Params params : batch) {
+            params.clear();
+        }
+        return batch;
+    }
+
+    /**
+     * Some drivers (e.g. H2) only return the key of the last row of a batch
+     */
+    private volatile boolean batchGeneratedKeys = true;
+
+    /**
+     * Execute all parameter sets in one transaction using JDBC batch
+     */
+    public <T> List<T> executeBatch(List<Params> batch, ResultSetProcessor<T> processor) throws SQLException {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+
+        boolean returnKeys = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS;
+        List<T> result = returnKeys ? new ArrayList<T>(batch.size()) : null;
+
+        try {
+            conn = dataSource.getConnection();
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                stmt = prepareStatement(conn, autoGeneratedKeys);
+                boolean rowByRow = returnKeys && !batchGeneratedKeys;
+
+                if (!rowByRow) {
+
+                    for (Params params : batch) {
+                        params.setParams(stmt);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+
+                    if (returnKeys) {
+                        rs = stmt.getGeneratedKeys();
+                        while (rs.next()) {
+                            result.add(processor.processNextRow(rs));
+                        }
+                        rs.close();
+                        rs = null;
+                        if (result.size() != batch.size()) {
+                            // Insert the same rows again one by one to get all keys
+                            batchGeneratedKeys = false;
+                            rowByRow = true;
+                            conn.rollback();
+                            result.clear();
+                        }
+                    }
+
+                }
+
+                if (rowByRow) {
+
+                    // Row by row, but still on one statement and one commit
+                    for (Params params : batch) {
+                        params.setParams(stmt);
+                        stmt.executeUpdate();
+                        rs = stmt.getGeneratedKeys();
+                        result.add(rs.next() ? processor.processNextRow(rs) : null);
+                        rs.close();
+                        rs = null;
+                    }
+
+                }
+
+                conn.commit();
+            } catch (SQLException error) {
+                conn.rollback();
+                throw error;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } finally {
+            closeQuietly(conn, stmt, rs);
+        }
+
+        return result;
+    }
+
+    /**
+     * Some drivers only return the key of the last row of a multi-row insert
+     */
+    private volatile boolean multiRowGeneratedKeys = true;
+
+    public boolean supportsMultiRow() {
+        return valuesRow != null;
+    }
+
+    public boolean supportsCopy() {
+        return copyQuery != null;
+    }
+
+    private String getMultiRowQuery(int rows) {
+        String query = multiRowQueries.get(rows);
+        if (query == null) {
+            StringBuilder builder = new StringBuilder(valuesPrefix.length() + (valuesRow.length() + 2) * rows);
+            builder.append(valuesPrefix);
+            for (int i = 0; i < rows; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(valuesRow);
+            }
+            builder.append(valuesTail);
+            query = builder.toString();
+            multiRowQueries.put(rows, query);
+        }
+        return query;
+    }
+
+    /**
+     * Execute insert as multi-row statements of up to maxRows rows in one transaction
+     *
+     * Remaining rows use power of two statement sizes, so only a few distinct statements are prepared and cached.
+     * Falls back to JDBC batch if the query has no multi-row form or the driver does not return all keys. Key support
+     * is found with the first multi-row statement, on mismatch the transaction is rolled back and the same rows are
+     * inserted with JDBC batch, so no ids are lost.
+     */
+    public <T> List<T> executeMultiRow(List<Params> batch, int maxRows, ResultSetProcessor<T> processor)
+            throws SQLException {
+
+        boolean returnKeys = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS;
+        if (valuesRow == null || maxRows < 2 || returnKeys && !multiRowGeneratedKeys) {
+            return executeBatch(batch, processor);
+        }
+
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+
+        List<T> result = returnKeys ? new ArrayList<T>(batch.size()) : null;
+        boolean fallback = false;
+
+        try {
+            conn = dataSource.getConnection();
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                int offset = 0;
+                while (offset < batch.size() && !fallback) {
+                    int rows = Math.min(batch.size() - offset, maxRows);
+                    if (rows < maxRows) {
+                        rows = Integer.highestOneBit(rows);
+                    }
+
+                    stmt = prepareStatement(conn, getMultiRowQuery(rows), autoGeneratedKeys);
+                    for (int i = 0; i < rows; i++) {
+                        batch.get(offset + i).setParams(stmt, i * rowParameterCount);
+                    }
+                    stmt.executeUpdate();
+
+                    if (returnKeys) {
+                        int start = result.size();
+                        rs = stmt.getGeneratedKeys();
+                        while (rs.next()) {
+                            result.add(processor.processNextRow(rs));
+                        }
+                        rs.close();
+                        rs = null;
+                        if (result.size() - start != rows) {
+                            multiRowGeneratedKeys = false;
+                            fallback = true;
+                        }
+                    }
+
+                    stmt.close();
+                    stmt = null;
+                    offset += rows;
+                }
+                if (fallback) {
+                    conn.rollback();
+                } else {
+                    conn.commit();
+                }
+            } catch (SQLException error) {
+                conn.rollback();
+                throw error;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } finally {
+            closeQuietly(conn, stmt, rs);
+        }
+
+        if (fallback) {
+            return executeBatch(batch, processor);
+        }
+        return result;
+    }
+
+    /**
+     * Append parameters as one CSV line in COPY column order
+     */
+    void appendCopyRow(StringBuilder data, Params params) {
+        for (int i = 0; i < copySlots.length; i++) {
+            if (i > 0) {
+                data.append(',');
+            }
+            params.appendCsv(data, copySlots[i]);
+        }
+        data.append('\n');
+    }
+
+    /**
+     * Public method of a driver class, looked up on an interface if the implementation class is not public
+     */
+    private static Method findMethod(Class<?> type, String name, Class<?>... parameterTypes)
+            throws NoSuchMethodException {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Class<?> i : c.getInterfaces()) {
+                if (Modifier.isPublic(i.getModifiers())) {
+                    try {
+                        return i.getMethod(name, parameterTypes);
+                    } catch (NoSuchMethodException error) {
+                        // check other interfaces
+                    }
+                }
+            }
+        }
+        Method method = type.getMethod(name, parameterTypes);
+        method.setAccessible(true);
+        return method;
+    }
+
+    /**
+     * Insert rows using PostgreSQL COPY FROM STDIN, generated keys are not available
+     *
+     * Driver classes are called reflectively, the driver can be loaded from database.driverFile with its own class
+     * loader. Pooled connections are unwrapped using c3p0 raw connection operations.
+     */
+    public void executeCopy(List<Params> batch) throws SQLException {
+        if (copyQuery == null) {
+            throw new SQLException("Query values are not all parameters, COPY is not possible");
+        }
+
+        StringBuilder data = new StringBuilder(batch.size() * 128);
+        for (Params params : batch) {
+            appendCopyRow(data, params);
+        }
+
+        Connection conn = null;
+        try {
+            conn = dataSource.getConnection();
+            Object copyManager;
+            if (conn instanceof C3P0ProxyConnection) {
+                C3P0ProxyConnection proxy = (C3P0ProxyConnection) conn;
+                Class<?> type = (Class<?>) proxy.rawConnectionOperation(
+                        Object.class.getMethod("getClass"), C3P0ProxyConnection.RAW_CONNECTION, new Object[0]);
+                copyManager = proxy.rawConnectionOperation(
+                        findMethod(type, "getCopyAPI"), C3P0ProxyConnection.RAW_CONNECTION, new Object[0]);
+            } else {
+                copyManager = findMethod(conn.getClass(), "getCopyAPI").invoke(conn);
+            }
+            copyManager.getClass().getMethod("copyIn", String.class, Reader.class)
+                    .invoke(copyManager, copyQuery, new StringReader(data.toString()));
+        } catch (NoSuchMethodException error) {
+            throw new SQLException("COPY requires a PostgreSQL connection", error);
+        } catch (IllegalAccessException error) {
+            throw new SQLException(error);
+        } catch (InvocationTargetException error) {
+            if (error.getCause() instanceof SQLException) {
+                throw (SQLException) error.getCause();
+            }
+            throw new SQLException(error.getCause());
+        } finally {
+            closeQuietly(conn, null, null);
+        }
+    }
+
 }
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.database;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.traccar.ProtocolMetrics;
+import org.traccar.helper.Log;
+import org.traccar.model.Position;
+
+/**
+ * Asynchronous batched position writer
+ *
+ * Each writer thread has its own queue and positions are partitioned by device, so positions of one device are
+ * written in order by one thread. Queuing never blocks longer than the queue timeout; positions that do not fit are
+ * dropped and counted. A failed batch is retried row by row, so one bad row does not lose the whole batch.
+ */
+public class PositionWriter {
+
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final long DEFAULT_BATCH_DELAY = 1000;
+
+    /**
+     * Queued position with counters of its protocol
+     */
+    private static class Entry {
+
+        private final Position position;
+        private final ProtocolMetrics metrics;
+
+        public Entry(Position position, ProtocolMetrics metrics) {
+            this.position = position;
+            this.metrics = metrics;
+        }
+
+    }
+
+    private final DataManager dataManager;
+    private final LatestPositionCache latestPositions;
+    private final List<BlockingQueue<Entry>> queues;
+    private final int batchSize;
+    private final long batchDelay;
+    private final long queueTimeout;
+    private final Thread[] threads;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean full;
+
+    private volatile boolean running;
+
+    public PositionWriter(Properties properties, DataManager dataManager) {
+        this(properties, dataManager, null);
+    }
+
+    /**
+     * @param latestPositions write-behind latest position update, null to update with each batch
+     */
+    public PositionWriter(Properties properties, DataManager dataManager, LatestPositionCache latestPositions) {
+        this.dataManager = dataManager;
+        this.latestPositions = latestPositions;
+
+        int threadCount = Math.max(1, Integer.valueOf(properties.getProperty("database.writerThreads", "1")));
+        int queueSize = Integer.valueOf(
+                properties.getProperty("database.queueSize", String.valueOf(DEFAULT_QUEUE_SIZE)));
+        queues = new ArrayList<BlockingQueue<Entry>>(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            queues.add(new ArrayBlockingQueue<Entry>(Math.max(1, queueSize / threadCount)));
+        }
+        batchSize = Integer.valueOf(
+                properties.getProperty("database.batchSize", String.valueOf(DEFAULT_BATCH_SIZE)));
+        batchDelay = Long.valueOf(
+                properties.getProperty("database.batchDelay", String.valueOf(DEFAULT_BATCH_DELAY)));
+        queueTimeout = Long.valueOf(properties.getProperty("database.queueTimeout", "0"));
+
+        threads = new Thread[threadCount];
+    }
+
+    private BlockingQueue<Entry> getQueue(Position position) {
+        if (!position.hasDeviceId() || queues.size() == 1) {
+            return queues.get(0);
+        }
+        return queues.get((int) ((position.getDeviceIdValue() & Long.MAX_VALUE) % queues.size()));
+    }
+
+    public boolean write(Position position) {
+        return write(position, null);
+    }
+
+    /**
+     * Queue position for writing, waits at most the queue timeout if the queue is full
+     *
+     * @param metrics protocol counters, position is counted as stored after the batch is written
+     * @return false if position was dropped
+     */
+    public boolean write(Position position, ProtocolMetrics metrics) {
+        boolean queued = false;
+        try {
+            queued = getQueue(position).offer(new Entry(position, metrics), queueTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        }
+        if (queued) {
+            full = false;
+        } else {
+            dropped.incrementAndGet();
+            if (!full) {
+                full = true;
+                Log.warning("Position writer queue is full, dropping positions");
+            }
+        }
+        return queued;
+    }
+
+    public int getQueueSize() {
+        int size = 0;
+        for (BlockingQueue<Entry> queue : queues) {
+            size += queue.size();
+        }
+        return size;
+    }
+
+    /**
+     * Positions dropped because the queue was full
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public void start() {
+        running = true;
+        for (int i = 0; i < threads.length; i++) {
+            final BlockingQueue<Entry> queue = queues.get(i);
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    process(queue);
+                }
+            }, "position-writer-" + i);
+            threads[i].start();
+        }
+    }
+
+    /**
+     * Stop writer threads and flush remaining positions
+     */
+    public void stop() {
+        running = false;
+        for (Thread thread : threads) {
+            if (thread != null) {
+                try {
+                    thread.join();
+                } catch (InterruptedException error) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        List<Entry> batch = new ArrayList<Entry>(batchSize);
+        for (BlockingQueue<Entry> queue : queues) {
+            while (queue.drainTo(batch, batchSize) > 0) {
+                flush(batch);
+            }
+        }
+    }
+
+    private void process(BlockingQueue<Entry> queue) {
+        List<Entry> batch = new ArrayList<Entry>(batchSize);
+        while (running) {
+            try {
+                Entry entry = queue.poll(batchDelay, TimeUnit.MILLISECONDS);
+                if (entry == null) {
+                    continue;
+                }
+                batch.add(entry);
+
+                // Collect until batch is full or delay expires
+                long deadline = System.currentTimeMillis() + batchDelay;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long wait = deadline - System.currentTimeMillis();
+                    if (batch.size() >= batchSize || wait <= 0) {
+                        break;
+                    }
+                    entry = queue.poll(wait, TimeUnit.MILLISECONDS);
+                    if (entry == null) {
+                        break;
+                    }
+                    batch.add(entry);
+                }
+            } catch (InterruptedException error) {
+                running = false;
+            }
+
+            flush(batch);
+        }
+    }
+
+    private static void stored(Entry entry) {
+        if (entry.metrics != null) {
+            entry.metrics.positionStored();
+        }
+    }
+
+    /**
+     * Insert rows one by one after a failed batch, rows failing again are dropped
+     */
+    private List<Long> insertRows(List<Entry> batch) {
+        List<Long> ids = new ArrayList<Long>(batch.size());
+        for (Entry entry : batch) {
+            Long id = null;
+            try {
+                id = dataManager.addPosition(entry.position);
+                stored(entry);
+            } catch (Exception error) {
+                Log.warning(error);
+            }
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private void flush(List<Entry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<Position> positions = new ArrayList<Position>(batch.size());
+        for (Entry entry : batch) {
+            positions.add(entry.position);
+        }
+
+        List<Long> ids;
+        try {
+            ids = dataManager.addPositions(positions);
+            for (Entry entry : batch) {
+                stored(entry);
+            }
+        } catch (Exception error) {
+            Log.warning(error);
+            ids = insertRows(batch);
+        }
+
+        try {
+            // Only the latest position of each device is needed
+            Map<Long, Position> latest = new LinkedHashMap<Long, Position>();
+            for (int i = 0; i < positions.size(); i++) {
+                Position position = positions.get(i);
+                if (ids != null && ids.get(i) != null) {
+                    position.setId(ids.get(i));
+                    latest.put(position.getDeviceId(), position);
+                }
+            }
+
+            if (latestPositions != null) {
+                for (Position position : latest.values()) {
+                    latestPositions.update(position);
+                }
+            } else {
+                for (Position position : latest.values()) {
+                    dataManager.updateLatestPosition(position, position.getId());
+                }
+            }
+        } catch (Exception error) {
+            Log.warning(error);
+        }
+
+        batch.clear();
+    }
+
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.geocode;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.traccar.helper.Log;
+
+/**
+ * Runs lookups on a dedicated pool, concurrent lookups for the same grid cell share one request
+ */
+public class AsyncReverseGeocoder implements ReverseGeocoder {
+
+    private final ReverseGeocoder geocoder;
+    private final double gridSize;
+    private final long timeout;
+    private final long interval;
+    private final ThreadPoolExecutor executor;
+
+    private final ConcurrentMap<Long, Future<String>> pending = new ConcurrentHashMap<Long, Future<String>>();
+
+    /**
+     * Rate limit slot (nanoTime, arbitrary origin)
+     */
+    private long nextRequestTime;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+
+    /**
+     * @param gridSize coalescing cell size in meters
+     * @param threads number of lookup threads
+     * @param queueSize maximum number of queued lookups
+     * @param timeout maximum wait time in milliseconds for synchronous lookups
+     * @param rateLimit maximum requests per second, zero for no limit
+     */
+    public AsyncReverseGeocoder(
+            ReverseGeocoder geocoder, double gridSize, int threads, int queueSize, long timeout, double rateLimit) {
+        this.geocoder = geocoder;
+        this.gridSize = gridSize;
+        this.timeout = timeout;
+        interval = rateLimit > 0 ? (long) (1000000000 / rateLimit) : 0;
+        nextRequestTime = System.nanoTime();
+
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueSize), new ThreadFactory() {
+            private final AtomicInteger index = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "geocoder-" + index.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Start lookup or join one in progress for the same cell, null if the queue is full
+     */
+    public Future<String> getAddressAsync(final double latitude, final double longitude) {
+        final Long key = CachingReverseGeocoder.getKey(gridSize, latitude, longitude);
+
+        Future<String> future = pending.get(key);
+        if (future != null) {
+            coalesced.incrementAndGet();
+            return future;
+        }
+
+        if (geocoder instanceof CachingReverseGeocoder) {
+            String address = ((CachingReverseGeocoder) geocoder).getCachedAddress(latitude, longitude);
+            if (address != null) {
+                FutureTask<String> result = new FutureTask<String>(new Runnable() {
+                    @Override
+                    public void run() {
+                    }
+                }, address);
+                result.run();
+                return result;
+            }
+        }
+
+        FutureTask<String> task = new FutureTask<String>(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                acquire();
+                requests.incrementAndGet();
+                return geocoder.getAddress(latitude, longitude);
+            }
+        }) {
+            @Override
+            protected void done() {
+                pending.remove(key, this);
+            }
+        };
+
+        future = pending.putIfAbsent(key, task);
+        if (future != null) {
+            coalesced.incrementAndGet();
+            return future;
+        }
+
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException error) {
+            pending.remove(key, task);
+            rejected.incrementAndGet();
+            return null;
+        }
+        return task;
+    }
+
+    /**
+     * Wait for lookup result until given deadline (nanoTime), null on timeout or error
+     */
+    public String getAddress(Future<String> future, long deadline) {
+        if (future == null) {
+            return null;
+        }
+        try {
+            if (future.isDone()) {
+                return future.get();
+            }
+            long wait = deadline - System.nanoTime();
+            if (wait > 0) {
+                return future.get(wait, TimeUnit.NANOSECONDS);
+            }
+            timeouts.incrementAndGet();
+        } catch (TimeoutException error) {
+            timeouts.incrementAndGet();
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException error) {
+            Log.warning(error.getCause());
+        }
+        return null;
+    }
+
+    @Override
+    public String getAddress(double latitude, double longitude) {
+        return getAddress(getAddressAsync(latitude, longitude), System.nanoTime() + getTimeout() * 1000000);
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Wait for the provider rate limit
+     */
+    private void acquire() throws InterruptedException {
+        if (interval > 0) {
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                if (nextRequestTime - now < 0) {
+                    nextRequestTime = now;
+                }
+                wait = nextRequestTime - now;
+                nextRequestTime += interval;
+            }
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.geocode;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.traccar.helper.Log;
+
+/**
+ * Reverse geocoder cache, coordinates are quantized to a grid of given cell size
+ */
+public class CachingReverseGeocoder implements ReverseGeocoder {
+
+    private static final double METERS_PER_DEGREE = 111320.0;
+
+    private static class Entry {
+
+        private final String address;
+        private final long time;
+
+        public Entry(String address, long time) {
+            this.address = address;
+            this.time = time;
+        }
+    }
+
+    private final ReverseGeocoder geocoder;
+    private final double gridSize;
+    private final long timeout;
+    private final File file;
+
+    private final Map<Long, Entry> cache;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    /**
+     * @param gridSize cell size in meters
+     * @param size maximum number of cached addresses
+     * @param timeout entry lifetime in milliseconds
+     * @param file cache file or null
+     */
+    public CachingReverseGeocoder(ReverseGeocoder geocoder, double gridSize, final int size, long timeout, File file) {
+        this.geocoder = geocoder;
+        this.gridSize = gridSize;
+        this.timeout = timeout;
+        this.file = file;
+
+        cache = new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > size) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        if (file != null && file.exists()) {
+            load();
+        }
+    }
+
+    long getKey(double latitude, double longitude) {
+        return getKey(gridSize, latitude, longitude);
+    }
+
+    /**
+     * Grid cell key, longitude step is scaled by latitude to keep cells square
+     */
+    static long getKey(double gridSize, double latitude, double longitude) {
+        double latitudeStep = gridSize / METERS_PER_DEGREE;
+        long latitudeIndex = (long) Math.floor((latitude + 90) / latitudeStep);
+
+        double cosine = Math.cos(Math.toRadians(-90 + (latitudeIndex + 0.5) * latitudeStep));
+        double longitudeStep = latitudeStep / Math.max(cosine, 0.01);
+        long longitudeIndex = (long) Math.floor((longitude + 180) / longitudeStep);
+
+        return (latitudeIndex << 32) | (longitudeIndex & 0xffffffffL);
+    }
+
+    /**
+     * Cached address without calling the underlying geocoder, null if missing
+     */
+    public String getCachedAddress(double latitude, double longitude) {
+        Long key = getKey(latitude, longitude);
+        synchronized (cache) {
+            Entry entry = cache.get(key);
+            if (entry != null && System.currentTimeMillis() - entry.time < timeout) {
+                hits.incrementAndGet();
+                return entry.address;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getAddress(double latitude, double longitude) {
+        long now = System.currentTimeMillis();
+        Long key = getKey(latitude, longitude);
+
+        synchronized (cache) {
+            Entry entry = cache.get(key);
+            if (entry != null) {
+                if (now - entry.time < timeout) {
+                    hits.incrementAndGet();
+                    return entry.address;
+                }
+                cache.remove(key);
+                expirations.incrementAndGet();
+            }
+        }
+
+        misses.incrementAndGet();
+        String address = geocoder.getAddress(latitude, longitude);
+        if (address != null) {
+            synchronized (cache) {
+                cache.put(key, new Entry(address, now));
+            }
+        }
+        return address;
+    }
+
+    public int getSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total > 0 ? (double) hits.get() / total : 0;
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getExpirations() {
+        return expirations.get();
+    }
+
+    private void load() {
+        long now = System.currentTimeMillis();
+        try {
+            DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                synchronized (cache) {
+                    while (true) {
+                        long key = input.readLong();
+                        long time = input.readLong();
+                        String address = input.readUTF();
+                        if (now - time < timeout) {
+                            cache.put(key, new Entry(address, time));
+                        }
+                    }
+                }
+            } catch (EOFException error) {
+                // End of cache file
+            } finally {
+                input.close();
+            }
+        } catch (IOException error) {
+            Log.warning(error);
+        }
+    }
+
+    /**
+     * Save cached addresses to file if configured
+     */
+    public void save() {
+        if (file == null) {
+            return;
+        }
+        try {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            try {
+                synchronized (cache) {
+                    for (Map.Entry<Long, Entry> entry : cache.entrySet()) {
+                        output.writeLong(entry.getKey());
+                        output.writeLong(entry.getValue().time);
+                        output.writeUTF(entry.getValue().address);
+                    }
+                }
+            } finally {
+                output.close();
+            }
+        } catch (IOException error) {
+            Log.warning(error);
+        }
+    }
+
+}
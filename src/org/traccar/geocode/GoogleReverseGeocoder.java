@@ -27,6 +27,7 @@ import org.traccar.helper.Log;
 public class GoogleReverseGeocoder implements ReverseGeocoder {
 
     private final static String MARKER = "\"formatted_address\" : \"";
+    private final static int TIMEOUT = 10000;
 
     @Override
     public String getAddress(double latitude, double longitude) {
@@ -34,21 +35,28 @@ public class GoogleReverseGeocoder implements ReverseGeocoder {
         try {
             URL url = new URL("http://maps.googleapis.com/maps/api/geocode/json?latlng=" + latitude + "," + longitude + "&sensor=false");
             URLConnection connection = url.openConnection();
+            connection.setConnectTimeout(TIMEOUT);
+            connection.setReadTimeout(TIMEOUT);
 
             connection.setRequestProperty("Content-Type", "application/json;charset=UTF-8");
             
             BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(),Charset.forName("UTF-8")));
+            try {
 
-            // Find address line
-            String line;
-            while ((line = reader.readLine()) != null) {
-                int index = line.indexOf(MARKER);
-                if (index != -1) {
-                    return line.substring(index + MARKER.length(), line.length() - 2);
+                // Find address line, rest of the response is read to keep connection alive
+                String address = null;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int index = line.indexOf(MARKER);
+                    if (address == null && index != -1) {
+                        address = line.substring(index + MARKER.length(), line.length() - 2);
+                    }
                 }
-            }
+                return address;
 
-            reader.close();
+            } finally {
+                reader.close();
+            }
 
         } catch(IOException error) {
             Log.warning(error);
@@ -15,6 +15,7 @@
  */
 package org.traccar.geocode;
 
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLConnection;
 import javax.xml.parsers.DocumentBuilder;
@@ -25,6 +26,8 @@ import org.w3c.dom.Document;
 
 public class NominatimReverseGeocoder implements ReverseGeocoder {
 
+    private static final int TIMEOUT = 10000;
+
     private final String url;
     
     public NominatimReverseGeocoder(String url) {
@@ -37,12 +40,19 @@ public class NominatimReverseGeocoder implements ReverseGeocoder {
         try {
 
             URLConnection conn = new URL(String.format(url, latitude, longitude)).openConnection();
+            conn.setConnectTimeout(TIMEOUT);
+            conn.setReadTimeout(TIMEOUT);
+
+            InputStream input = conn.getInputStream();
+            try {
+                DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+                DocumentBuilder builder = factory.newDocumentBuilder();
+                Document doc = builder.parse(input);
 
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(conn.getInputStream());
-            
-            return doc.getFirstChild().getLastChild().getFirstChild().getNodeValue();
+                return doc.getFirstChild().getLastChild().getFirstChild().getNodeValue();
+            } finally {
+                input.close();
+            }
 
         } catch(Exception error) {
             Log.warning(error);
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.log4j.Appender;
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Level;
+import org.apache.log4j.spi.LoggingEvent;
+
+/**
+ * Appender writing events to the wrapped appender from a background thread
+ *
+ * Events are kept in a bounded queue. When the queue is full, events below the discard threshold are dropped and
+ * counted, more severe events wait for free space. Number of dropped events is reported in the log. Appending holds
+ * the read lock and closing the write lock, so no event is queued after the final drain or written directly before
+ * queued events.
+ */
+public class AsyncLogAppender extends AppenderSkeleton {
+
+    private static final int BATCH_SIZE = 256;
+    private static final long POLL_DELAY = 1000;
+
+    private final Appender appender;
+    private final BlockingQueue<LoggingEvent> queue;
+    private final Level discardThreshold;
+    private final Thread thread;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private long droppedReported;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean running = true;
+
+    public AsyncLogAppender(Appender appender, int queueSize, Level discardThreshold) {
+        this.appender = appender;
+        this.discardThreshold = discardThreshold;
+        queue = new ArrayBlockingQueue<LoggingEvent>(queueSize);
+
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                process();
+            }
+        }, "logger");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Not synchronized unlike the base implementation, queue handles concurrent access
+     */
+    @Override
+    public void doAppend(LoggingEvent event) {
+        if (isAsSevereAsThreshold(event.getLevel())) {
+            append(event);
+        }
+    }
+
+    @Override
+    protected void append(LoggingEvent event) {
+        lock.readLock().lock();
+        try {
+            if (closed) {
+                appender.doAppend(event);
+            } else if (!queue.offer(event)) {
+                if (discardThreshold.isGreaterOrEqual(event.getLevel())) {
+                    dropped.incrementAndGet();
+                } else {
+                    try {
+                        queue.put(event);
+                    } catch (InterruptedException error) {
+                        Thread.currentThread().interrupt();
+                        dropped.incrementAndGet();
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void process() {
+        List<LoggingEvent> batch = new ArrayList<LoggingEvent>(BATCH_SIZE);
+        while (running) {
+            try {
+                LoggingEvent event = queue.poll(POLL_DELAY, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    batch.add(event);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                }
+            } catch (InterruptedException error) {
+                running = false;
+            }
+            flush(batch);
+        }
+    }
+
+    private void flush(List<LoggingEvent> batch) {
+        reportDropped();
+        for (LoggingEvent event : batch) {
+            appender.doAppend(event);
+        }
+        batch.clear();
+    }
+
+    private void reportDropped() {
+        long count = dropped.get();
+        if (count != droppedReported) {
+            appender.doAppend(new LoggingEvent(
+                    getClass().getName(), Log.getLogger(), Level.WARN,
+                    "Logger queue full, " + (count - droppedReported) + " events dropped", null));
+            droppedReported = count;
+        }
+    }
+
+    /**
+     * Stop background thread and write remaining events
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            running = false;
+            try {
+                thread.join();
+            } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+            }
+
+            List<LoggingEvent> batch = new ArrayList<LoggingEvent>(BATCH_SIZE);
+            while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+                flush(batch);
+            }
+            reportDropped();
+            appender.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean requiresLayout() {
+        return false;
+    }
+
+}
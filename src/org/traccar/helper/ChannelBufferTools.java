@@ -26,6 +26,8 @@ public class ChannelBufferTools {
     
     /**
      * Find string in network buffer
+     *
+     * Use DelimiterScanner in frame decoders to avoid rescanning the same data.
      */
     public static Integer find(
             ChannelBuffer buf,
@@ -33,15 +35,18 @@ public class ChannelBufferTools {
             Integer finish,
             String subString) {
 
+        byte first = (byte) subString.charAt(0);
         int index = start;
-        boolean match;
 
-        for (; index < finish; index++) {
-            match = true;
+        while (index < finish) {
+            index = buf.indexOf(index, finish, first);
+            if (index < 0) {
+                return null;
+            }
 
-            for (int i = 0; i < subString.length(); i++) {
-                char c = (char) buf.getByte(index + i);
-                if (c != subString.charAt(i)) {
+            boolean match = true;
+            for (int i = 1; i < subString.length(); i++) {
+                if ((char) buf.getByte(index + i) != subString.charAt(i)) {
                     match = false;
                     break;
                 }
@@ -50,6 +55,7 @@ public class ChannelBufferTools {
             if (match) {
                 return index;
             }
+            index++;
         }
 
         return null;
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.helper;
+
+import java.util.Date;
+
+/**
+ * Timestamp from date and time fields
+ *
+ * Replacement for a cleared UTC Calendar: epoch time is calculated arithmetically, without Calendar and TimeZone
+ * instances per message. Unset fields default to 1970-01-01 00:00:00.000 and values out of range are carried over
+ * like in a lenient Calendar (e.g. hour 24 is the next day). Month is 1-based.
+ */
+public class DateBuilder {
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+    private final long offset;
+
+    private int year = 1970;
+    private int month = 1;
+    private int day = 1;
+    private int hour;
+    private int minute;
+    private int second;
+    private int millisecond;
+
+    /**
+     * @param offset local time offset from UTC in milliseconds
+     */
+    public DateBuilder(long offset) {
+        this.offset = offset;
+    }
+
+    public DateBuilder() {
+        this(0);
+    }
+
+    /**
+     * Days since epoch of a proleptic Gregorian date, month overflow is carried to the year
+     */
+    public static long daysFromCivil(int year, int month, int day) {
+        int monthIndex = month - 1;
+        year += monthIndex >= 0 ? monthIndex / 12 : (monthIndex - 11) / 12;
+        month = (monthIndex % 12 + 12) % 12 + 1;
+
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    /**
+     * Epoch milliseconds of UTC date and time
+     */
+    public static long toMillis(int year, int month, int day, int hour, int minute, int second) {
+        return daysFromCivil(year, month, day) * MILLIS_PER_DAY + ((hour * 60L + minute) * 60 + second) * 1000;
+    }
+
+    public DateBuilder setYear(int year) {
+        this.year = year;
+        return this;
+    }
+
+    public DateBuilder setMonth(int month) {
+        this.month = month;
+        return this;
+    }
+
+    public DateBuilder setDay(int day) {
+        this.day = day;
+        return this;
+    }
+
+    public DateBuilder setDate(int year, int month, int day) {
+        this.year = year;
+        this.month = month;
+        this.day = day;
+        return this;
+    }
+
+    public DateBuilder setHour(int hour) {
+        this.hour = hour;
+        return this;
+    }
+
+    public DateBuilder setMinute(int minute) {
+        this.minute = minute;
+        return this;
+    }
+
+    public DateBuilder setSecond(int second) {
+        this.second = second;
+        return this;
+    }
+
+    public DateBuilder setMillisecond(int millisecond) {
+        this.millisecond = millisecond;
+        return this;
+    }
+
+    /**
+     * Current UTC date, for messages that contain only time of day
+     */
+    public DateBuilder setCurrentDate() {
+        long days = System.currentTimeMillis() / MILLIS_PER_DAY + 719468;
+        long era = days / 146097;
+        int dayOfEra = (int) (days - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int monthIndex = (5 * dayOfYear + 2) / 153;
+        day = dayOfYear - (153 * monthIndex + 2) / 5 + 1;
+        month = monthIndex < 10 ? monthIndex + 3 : monthIndex - 9;
+        year = (int) (era * 400) + yearOfEra + (month <= 2 ? 1 : 0);
+        return this;
+    }
+
+    public DateBuilder setTime(int hour, int minute, int second) {
+        this.hour = hour;
+        this.minute = minute;
+        this.second = second;
+        return this;
+    }
+
+    public DateBuilder addMinute(int minutes) {
+        this.minute += minutes;
+        return this;
+    }
+
+    public long getMillis() {
+        return toMillis(year, month, day, hour, minute, second) + millisecond - offset;
+    }
+
+    public Date getDate() {
+        return new Date(getMillis());
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.helper;
+
+import java.nio.charset.Charset;
+import org.jboss.netty.buffer.ChannelBuffer;
+
+/**
+ * Incremental delimiter search for frame decoders
+ *
+ * Scanner remembers how many readable bytes were already searched, so data arriving in fragments is scanned once
+ * instead of from the reader index on every decode call. The offset is relative to the reader index and only reused
+ * for the same buffer at the same reader index, or when the caller confirms the buffer continues the previous one.
+ * FrameDecoder wraps its cumulation into a new buffer on every read, so decoders pass buf == cumulation for that.
+ * Any other buffer (e.g. a detector probe) is scanned from the reader index. Call reset if the decoder skips or
+ * reads bytes without finding the delimiter. State is reset automatically when delimiter is found.
+ *
+ * Search is anchored on the last delimiter byte using ChannelBuffer.indexOf, so the whole delimiter is only compared
+ * where the last byte matches.
+ */
+public class DelimiterScanner {
+
+    private final byte[] delimiter;
+
+    private int scanned;
+    private ChannelBuffer buffer;
+    private int readerIndex;
+
+    public DelimiterScanner(byte[] delimiter) {
+        this.delimiter = delimiter.clone();
+    }
+
+    public DelimiterScanner(String delimiter) {
+        this(delimiter.getBytes(Charset.forName("US-ASCII")));
+    }
+
+    public int getLength() {
+        return delimiter.length;
+    }
+
+    public void reset() {
+        scanned = 0;
+        buffer = null;
+    }
+
+    /**
+     * Find delimiter in readable bytes
+     *
+     * @return absolute index of the delimiter, -1 if not found yet
+     */
+    public int find(ChannelBuffer buf) {
+        return find(buf, false);
+    }
+
+    /**
+     * Find delimiter in readable bytes
+     *
+     * @param continued buffer starts with the readable bytes of the previous call (FrameDecoder cumulation)
+     * @return absolute index of the delimiter, -1 if not found yet
+     */
+    public int find(ChannelBuffer buf, boolean continued) {
+        if (!continued && (buf != buffer || buf.readerIndex() != readerIndex) || buf.readableBytes() < scanned) {
+            scanned = 0;
+        }
+        int index = indexOf(buf, buf.readerIndex() + scanned, buf.writerIndex());
+        if (index >= 0) {
+            reset();
+        } else {
+            // Last bytes can be the beginning of a delimiter
+            scanned = Math.max(0, buf.readableBytes() - delimiter.length + 1);
+            buffer = buf;
+            readerIndex = buf.readerIndex();
+        }
+        return index;
+    }
+
+    /**
+     * Find delimiter fully contained in the given range
+     */
+    public int indexOf(ChannelBuffer buf, int fromIndex, int toIndex) {
+        int last = delimiter.length - 1;
+        int index = fromIndex + last;
+        while (index < toIndex) {
+            index = buf.indexOf(index, toIndex, delimiter[last]);
+            if (index < 0) {
+                return -1;
+            }
+            int i = last - 1;
+            while (i >= 0 && buf.getByte(index - last + i) == delimiter[i]) {
+                i--;
+            }
+            if (i < 0) {
+                return index - last;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+}
@@ -37,8 +37,12 @@ public class Log {
     
     private static final String LOGGER_NAME = "traccar";
     
+    private static final int DEFAULT_QUEUE_SIZE = 8192;
+
     private static Logger logger = null;
-    
+
+    private static AsyncLogAppender asyncAppender;
+
     public static void setupLogger(Properties properties) throws IOException {
 
         Layout layout = new PatternLayout("%d{yyyy-MM-dd HH:mm:ss} %5p: %m%n");
@@ -46,6 +50,13 @@ public class Log {
         Appender appender = new DailyRollingFileAppender(
                 layout, properties.getProperty("logger.file"), "'.'yyyyMMdd");
 
+        // Write from background thread, debug and info messages are dropped when queue is full
+        if (Boolean.valueOf(properties.getProperty("logger.async"))) {
+            asyncAppender = new AsyncLogAppender(appender, Integer.valueOf(
+                    properties.getProperty("logger.queueSize", String.valueOf(DEFAULT_QUEUE_SIZE))), Level.INFO);
+            appender = asyncAppender;
+        }
+
         LogManager.resetConfiguration();
         LogManager.getRootLogger().addAppender(new NullAppender());
         
@@ -70,6 +81,20 @@ public class Log {
         return logger;
     }
     
+    /**
+     * Asynchronous appender, null if logging is synchronous
+     */
+    public static AsyncLogAppender getAsyncAppender() {
+        return asyncAppender;
+    }
+
+    /**
+     * Close appenders, writing all queued messages
+     */
+    public static void shutdown() {
+        LogManager.shutdown();
+    }
+
     public static void logSystemInfo() {
         try {
             OperatingSystemMXBean operatingSystemBean = ManagementFactory.getOperatingSystemMXBean();
@@ -130,6 +155,20 @@ public class Log {
         getLogger().warn(s.toString());
     }
 
+    /**
+     * Check before building expensive info messages
+     */
+    public static boolean isInfoEnabled() {
+        return getLogger().isInfoEnabled();
+    }
+
+    /**
+     * Check before building expensive debug messages
+     */
+    public static boolean isDebugEnabled() {
+        return getLogger().isDebugEnabled();
+    }
+
     public static void info(String msg) {
         getLogger().info(msg);
     }
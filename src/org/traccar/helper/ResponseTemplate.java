@@ -0,0 +1,63 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.helper;
+
+import java.nio.ByteOrder;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+
+/**
+ * Pre-encoded device response
+ *
+ * Responses are heap buffers; Netty copies them into its pooled direct send buffers, so no direct memory is
+ * allocated per response. Variable fields (serial number, checksum) are patched with set methods on a copy.
+ */
+public class ResponseTemplate {
+
+    private final byte[] template;
+    private final ChannelBuffer shared;
+
+    public ResponseTemplate(ByteOrder order, int... bytes) {
+        template = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            template[i] = (byte) bytes[i];
+        }
+        shared = ChannelBuffers.unmodifiableBuffer(ChannelBuffers.wrappedBuffer(order, template));
+    }
+
+    public ResponseTemplate(int... bytes) {
+        this(ByteOrder.BIG_ENDIAN, bytes);
+    }
+
+    public int getLength() {
+        return template.length;
+    }
+
+    /**
+     * Writable copy of the template for patching
+     */
+    public ChannelBuffer create() {
+        return ChannelBuffers.wrappedBuffer(shared.order(), template.clone());
+    }
+
+    /**
+     * Read-only response for templates without variable fields
+     */
+    public ChannelBuffer get() {
+        return shared.duplicate();
+    }
+
+}
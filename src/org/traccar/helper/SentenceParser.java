@@ -0,0 +1,393 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.helper;
+
+import java.nio.charset.Charset;
+import org.jboss.netty.buffer.ChannelBuffer;
+
+/**
+ * Cursor over a text sentence in a network buffer
+ *
+ * Numbers are read directly from bytes, strings are only created for values that are stored as strings. Read
+ * methods that do not find the expected format set the error flag and return zero, so decoders read all fields and
+ * check hasError once at the end instead of checking every call.
+ */
+public class SentenceParser {
+
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9,
+            1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18};
+
+    private final ChannelBuffer buf;
+    private final int end;
+    private int index;
+    private boolean error;
+
+    public SentenceParser(ChannelBuffer buf, int start, int end) {
+        this.buf = buf;
+        this.index = start;
+        this.end = end;
+    }
+
+    public SentenceParser(ChannelBuffer buf) {
+        this(buf, buf.readerIndex(), buf.writerIndex());
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public boolean hasError() {
+        return error;
+    }
+
+    public void clearError() {
+        error = false;
+    }
+
+    public boolean hasNext() {
+        return index < end;
+    }
+
+    public int length() {
+        return end - index;
+    }
+
+    /**
+     * Byte at given offset from the cursor, -1 after the end
+     */
+    public int peek(int offset) {
+        return index + offset < end ? buf.getUnsignedByte(index + offset) : -1;
+    }
+
+    public int peek() {
+        return peek(0);
+    }
+
+    /**
+     * Index of the string after the cursor, -1 if not found
+     */
+    public int indexOf(String value) {
+        byte first = (byte) value.charAt(0);
+        int i = index;
+        while (i + value.length() <= end) {
+            i = buf.indexOf(i, end - value.length() + 1, first);
+            if (i < 0) {
+                return -1;
+            }
+            if (matches(i, value)) {
+                return i;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private boolean matches(int start, String value) {
+        if (start + value.length() > end) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (buf.getByte(start + i) != (byte) value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean startsWith(String value) {
+        return matches(index, value);
+    }
+
+    /**
+     * Skip the string if it is at the cursor
+     */
+    public boolean skip(String value) {
+        if (matches(index, value)) {
+            index += value.length();
+            return true;
+        }
+        return false;
+    }
+
+    public boolean skip(char c) {
+        if (peek() == c) {
+            index++;
+            return true;
+        }
+        return false;
+    }
+
+    public void expect(String value) {
+        if (!skip(value)) {
+            error = true;
+        }
+    }
+
+    public void expect(char c) {
+        if (!skip(c)) {
+            error = true;
+        }
+    }
+
+    public char readChar() {
+        if (index < end) {
+            return (char) buf.getUnsignedByte(index++);
+        }
+        error = true;
+        return 0;
+    }
+
+    /**
+     * Empty field, cursor is at a comma or at the end
+     */
+    public boolean isEmptyField() {
+        return index >= end || buf.getByte(index) == ',';
+    }
+
+    /**
+     * Decode value, ASCII is converted directly because charset decoding allocates a decoder per call
+     */
+    private String toString(int start, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            byte b = buf.getByte(start + i);
+            if (b < 0) {
+                return buf.toString(start, length, Charset.defaultCharset());
+            }
+            chars[i] = (char) b;
+        }
+        return new String(chars);
+    }
+
+    private int fieldEnd() {
+        int i = buf.indexOf(index, end, (byte) ',');
+        return i < 0 ? end : i;
+    }
+
+    /**
+     * Skip to the next field
+     */
+    public void skipField() {
+        index = fieldEnd();
+        if (index < end) {
+            index++;
+        }
+    }
+
+    /**
+     * Field value up to the next comma, comma is consumed
+     */
+    public String readField() {
+        int fieldEnd = fieldEnd();
+        String result = toString(index, fieldEnd - index);
+        index = fieldEnd < end ? fieldEnd + 1 : end;
+        return result;
+    }
+
+    /**
+     * Optional fixed length hex field, null if the field is empty
+     */
+    public String readHexField(int length) {
+        if (isEmptyField()) {
+            return null;
+        }
+        if (!hasHexDigits(length) || peek(length) != ',' && index + length != end) {
+            error = true;
+            return null;
+        }
+        String result = toString(index, length);
+        index += length;
+        return result;
+    }
+
+    /**
+     * Start indexes of fields from the cursor to the end
+     */
+    public int[] getFieldIndexes() {
+        int count = 1;
+        for (int i = buf.indexOf(index, end, (byte) ','); i >= 0; i = buf.indexOf(i + 1, end, (byte) ',')) {
+            count++;
+        }
+        int[] result = new int[count];
+        result[0] = index;
+        for (int i = 1; i < count; i++) {
+            result[i] = buf.indexOf(result[i - 1], end, (byte) ',') + 1;
+        }
+        return result;
+    }
+
+    private static boolean isDigit(int b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isHexDigit(int b) {
+        return isDigit(b) || b >= 'a' && b <= 'f' || b >= 'A' && b <= 'F';
+    }
+
+    /**
+     * Number of consecutive decimal digits at the cursor
+     */
+    public int countDigits() {
+        int i = index;
+        while (i < end && isDigit(buf.getUnsignedByte(i))) {
+            i++;
+        }
+        return i - index;
+    }
+
+    public boolean hasDigits(int count) {
+        return index + count <= end && countDigits() >= count;
+    }
+
+    public boolean hasHexDigits(int count) {
+        if (index + count > end) {
+            return false;
+        }
+        for (int i = index; i < index + count; i++) {
+            if (!isHexDigit(buf.getUnsignedByte(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fixed width decimal number
+     */
+    public int readDigits(int count) {
+        if (!hasDigits(count)) {
+            error = true;
+            return 0;
+        }
+        int result = 0;
+        for (int i = 0; i < count; i++) {
+            result = result * 10 + buf.getUnsignedByte(index++) - '0';
+        }
+        return result;
+    }
+
+    /**
+     * Decimal integer with optional sign
+     */
+    public long readLong() {
+        int start = index;
+        boolean negative = skip('-');
+        if (!negative) {
+            skip('+');
+        }
+        int count = countDigits();
+        if (count == 0 || count > 18) {
+            index = start;
+            error = true;
+            return 0;
+        }
+        long result = 0;
+        for (int i = 0; i < count; i++) {
+            result = result * 10 + buf.getUnsignedByte(index++) - '0';
+        }
+        return negative ? -result : result;
+    }
+
+    public int readInt() {
+        return (int) readLong();
+    }
+
+    /**
+     * Decimal number with optional sign and fraction
+     */
+    public double readDouble() {
+        int start = index;
+        boolean negative = skip('-');
+        if (!negative) {
+            skip('+');
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int fraction = -1;
+        while (index < end) {
+            int b = buf.getUnsignedByte(index);
+            if (isDigit(b)) {
+                mantissa = mantissa * 10 + b - '0';
+                digits++;
+                if (fraction >= 0) {
+                    fraction++;
+                }
+            } else if (b == '.' && fraction < 0) {
+                fraction = 0;
+            } else {
+                break;
+            }
+            index++;
+        }
+
+        if (digits == 0) {
+            index = start;
+            error = true;
+            return 0;
+        }
+
+        if (digits >= POW10.length) {
+            return Double.parseDouble(toString(start, index - start));
+        }
+
+        double result;
+        if (fraction > 0) {
+            result = mantissa / POW10[fraction];
+        } else {
+            result = mantissa;
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * NMEA coordinate (DDMM.MMMM or DDDMM.MMMM) in degrees, without hemisphere
+     */
+    public double readCoordinate() {
+        int count = countDigits();
+        if (count < 3 || peek(count) != '.' || !isDigit(peek(count + 1))) {
+            error = true;
+            return 0;
+        }
+        int degrees = readDigits(count - 2);
+        return degrees + readDouble() / 60;
+    }
+
+    /**
+     * Hemisphere sign, 1 for N and E, -1 for S and W
+     */
+    public int readHemisphere() {
+        switch (peek()) {
+            case 'N':
+            case 'E':
+                index++;
+                return 1;
+            case 'S':
+            case 'W':
+                index++;
+                return -1;
+            default:
+                error = true;
+                return 0;
+        }
+    }
+
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2015 Anton Tananaev (anton.tananaev@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.http;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.jboss.netty.channel.Channel;
+import org.traccar.GlobalChannelFactory;
+import org.traccar.IoPool;
+import org.traccar.Metrics;
+import org.traccar.OrderedExecutionHandler;
+import org.traccar.ProtocolMetrics;
+import org.traccar.ServerManager;
+import org.traccar.TrackerServer;
+import org.traccar.database.DataManager;
+import org.traccar.database.PositionWriter;
+import org.traccar.geocode.AsyncReverseGeocoder;
+import org.traccar.geocode.CachingReverseGeocoder;
+import org.traccar.helper.AsyncLogAppender;
+import org.traccar.helper.LatencyHistogram;
+import org.traccar.helper.Log;
+
+/**
+ * Pipeline metrics in Prometheus text format, JSON with format=json parameter
+ */
+public class MetricsServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final ServerManager serverManager;
+
+    public MetricsServlet(ServerManager serverManager) {
+        this.serverManager = serverManager;
+    }
+
+    private Map<String, Long> getProtocolValues(ProtocolMetrics metrics, int connections) {
+        Map<String, Long> values = new LinkedHashMap<String, Long>();
+        values.put("frames_received_total", metrics != null ? metrics.getFramesReceived() : 0);
+        values.put("decode_failures_total", metrics != null ? metrics.getDecodeFailures() : 0);
+        values.put("positions_decoded_total", metrics != null ? metrics.getPositionsDecoded() : 0);
+        values.put("positions_filtered_total", metrics != null ? metrics.getPositionsFiltered() : 0);
+        values.put("positions_geocoded_total", metrics != null ? metrics.getPositionsGeocoded() : 0);
+        values.put("positions_stored_total", metrics != null ? metrics.getPositionsStored() : 0);
+        values.put("open_channels", (long) connections);
+        return values;
+    }
+
+    /**
+     * Values of all protocols by metric name and protocol
+     */
+    private Map<String, Map<String, Long>> getProtocolValues() {
+        Map<String, Integer> connections = new TreeMap<String, Integer>();
+        for (TrackerServer server : serverManager.getServerList()) {
+            Integer count = connections.get(server.getProtocol());
+            connections.put(server.getProtocol(), (count != null ? count : 0) + server.getConnectionCount());
+        }
+
+        Map<String, ProtocolMetrics> metrics = Metrics.getProtocolMetrics();
+        Map<String, Map<String, Long>> result = new TreeMap<String, Map<String, Long>>();
+        for (Map.Entry<String, Integer> entry : connections.entrySet()) {
+            result.put(entry.getKey(), getProtocolValues(metrics.get(entry.getKey()), entry.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Component values (gauges and counters) by metric name
+     */
+    private Map<String, Number> getComponentValues() {
+        Map<String, Number> values = new LinkedHashMap<String, Number>();
+
+        DataManager dataManager = serverManager.getDataManager();
+        if (dataManager != null) {
+            values.put("database_statement_cache_hits_total", dataManager.getStatementCacheHits());
+            values.put("database_statement_cache_misses_total", dataManager.getStatementCacheMisses());
+            values.put("database_statement_cache_size", dataManager.getStatementCacheSize());
+            if (dataManager.getDeviceRegistry() != null) {
+                values.put("devices", dataManager.getDeviceRegistry().getSize());
+                values.put("unknown_devices", dataManager.getDeviceRegistry().getUnknownSize());
+            }
+        }
+
+        PositionWriter positionWriter = serverManager.getPositionWriter();
+        if (positionWriter != null) {
+            values.put("writer_queue_size", positionWriter.getQueueSize());
+            values.put("writer_dropped_total", positionWriter.getDropped());
+        }
+
+        OrderedExecutionHandler executionHandler = serverManager.getExecutionHandler();
+        if (executionHandler != null) {
+            values.put("execution_queue_size", executionHandler.getQueueSize());
+            values.put("execution_events_total", executionHandler.getEventCount());
+        }
+
+        CachingReverseGeocoder geocoderCache = serverManager.getGeocoderCache();
+        if (geocoderCache != null) {
+            values.put("geocoder_cache_size", geocoderCache.getSize());
+            values.put("geocoder_cache_hits_total", geocoderCache.getHits());
+            values.put("geocoder_cache_misses_total", geocoderCache.getMisses());
+            values.put("geocoder_cache_evictions_total", geocoderCache.getEvictions());
+        }
+
+        if (serverManager.getReverseGeocoder() instanceof AsyncReverseGeocoder) {
+            AsyncReverseGeocoder geocoder = (AsyncReverseGeocoder) serverManager.getReverseGeocoder();
+            values.put("geocoder_queue_size", geocoder.getQueueSize());
+            values.put("geocoder_requests_total", geocoder.getRequests());
+            values.put("geocoder_coalesced_total", geocoder.getCoalesced());
+            values.put("geocoder_rejected_total", geocoder.getRejected());
+            values.put("geocoder_timeouts_total", geocoder.getTimeouts());
+        }
+
+        AsyncLogAppender logAppender = Log.getAsyncAppender();
+        if (logAppender != null) {
+            values.put("logger_queue_size", logAppender.getQueueSize());
+            values.put("logger_dropped_total", logAppender.getDropped());
+        }
+
+        return values;
+    }
+
+    private Map<String, LatencyHistogram> getHistograms() {
+        Map<String, LatencyHistogram> histograms = new LinkedHashMap<String, LatencyHistogram>();
+        DataManager dataManager = serverManager.getDataManager();
+        if (dataManager != null) {
+            histograms.put("database_insert_seconds", dataManager.getInsertLatency());
+            histograms.put("database_update_seconds", dataManager.getUpdateLatency());
+        }
+        histograms.put("geocoder_seconds", Metrics.getGeocoderLatency());
+        return histograms;
+    }
+
+    /**
+     * Channels of all servers, used to count channels per worker
+     */
+    private List<Channel> getChannels() {
+        List<Channel> channels = new ArrayList<Channel>();
+        for (TrackerServer server : serverManager.getServerList()) {
+            channels.addAll(server.getChannelGroup());
+        }
+        return channels;
+    }
+
+    private static String getType(String name) {
+        return name.endsWith("_total") ? "counter" : "gauge";
+    }
+
+    private static String formatSeconds(long microseconds) {
+        return String.format(Locale.US, "%.6f", microseconds / 1000000.0);
+    }
+
+    private void writePrometheus(PrintWriter writer) {
+        Map<String, Map<String, Long>> protocols = getProtocolValues();
+        if (!protocols.isEmpty()) {
+            for (String name : protocols.values().iterator().next().keySet()) {
+                writer.println("# TYPE traccar_" + name + " " + getType(name));
+                for (Map.Entry<String, Map<String, Long>> entry : protocols.entrySet()) {
+                    writer.println("traccar_" + name + "{protocol=\"" + entry.getKey() + "\"} "
+                            + entry.getValue().get(name));
+                }
+            }
+        }
+
+        for (Map.Entry<String, Number> entry : getComponentValues().entrySet()) {
+            writer.println("# TYPE traccar_" + entry.getKey() + " " + getType(entry.getKey()));
+            writer.println("traccar_" + entry.getKey() + " " + entry.getValue());
+        }
+
+        List<IoPool> pools = GlobalChannelFactory.getPools();
+        if (!pools.isEmpty()) {
+            List<Channel> channels = getChannels();
+            writer.println("# TYPE traccar_io_worker_channels gauge");
+            for (IoPool pool : pools) {
+                int[] counts = pool.getChannelCounts(channels);
+                for (int i = 0; i < counts.length; i++) {
+                    writer.println("traccar_io_worker_channels{pool=\"" + pool.getName() + "\",worker=\"" + i + "\"} "
+                            + counts[i]);
+                }
+            }
+            writer.println("# TYPE traccar_io_worker_lag_seconds gauge");
+            for (IoPool pool : pools) {
+                for (int i = 0; i < pool.getWorkerCount(); i++) {
+                    writer.println("traccar_io_worker_lag_seconds{pool=\"" + pool.getName()
+                            + "\",worker=\"" + i + "\"} " + formatSeconds(pool.getLag(i)));
+                }
+            }
+        }
+
+        for (Map.Entry<String, LatencyHistogram> entry : getHistograms().entrySet()) {
+            String name = "traccar_" + entry.getKey();
+            LatencyHistogram histogram = entry.getValue();
+            writer.println("# TYPE " + name + " summary");
+            for (double quantile : QUANTILES) {
+                writer.println(name + "{quantile=\"" + quantile + "\"} "
+                        + formatSeconds(histogram.getPercentile(quantile * 100)));
+            }
+            writer.println(name + "_sum " + formatSeconds(histogram.getSum()));
+            writer.println(name + "_count " + histogram.getCount());
+        }
+    }
+
+    private void writeJson(PrintWriter writer) {
+        writer.print("{\"protocols\":{");
+        boolean first = true;
+        for (Map.Entry<String, Map<String, Long>> protocol : getProtocolValues().entrySet()) {
+            writer.print((first ? "" : ",") + "\"" + protocol.getKey() + "\":{");
+            boolean firstValue = true;
+            for (Map.Entry<String, Long> entry : protocol.getValue().entrySet()) {
+                writer.print((firstValue ? "" : ",") + "\"" + entry.getKey() + "\":" + entry.getValue());
+                firstValue = false;
+            }
+            writer.print("}");
+            first = false;
+        }
+        writer.print("}");
+
+        for (Map.Entry<String, Number> entry : getComponentValues().entrySet()) {
+            writer.print(",\"" + entry.getKey() + "\":" + entry.getValue());
+        }
+
+        writer.print(",\"io_pools\":{");
+        List<Channel> channels = getChannels();
+        first = true;
+        for (IoPool pool : GlobalChannelFactory.getPools()) {
+            writer.print((first ? "" : ",") + "\"" + pool.getName() + "\":{\"channels\":[");
+            int[] counts = pool.getChannelCounts(channels);
+            for (int i = 0; i < counts.length; i++) {
+                writer.print((i > 0 ? "," : "") + counts[i]);
+            }
+            writer.print("],\"lag_seconds\":[");
+            for (int i = 0; i < pool.getWorkerCount(); i++) {
+                writer.print((i > 0 ? "," : "") + formatSeconds(pool.getLag(i)));
+            }
+            writer.print("]}");
+            first = false;
+        }
+        writer.print("}");
+
+        for (Map.Entry<String, LatencyHistogram> entry : getHistograms().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            writer.print(",\"" + entry.getKey() + "\":{\"count\":" + histogram.getCount()
+                    + ",\"sum\":" + formatSeconds(histogram.getSum()));
+            for (double quantile : QUANTILES) {
+                writer.print(",\"" + quantile + "\":" + formatSeconds(histogram.getPercentile(quantile * 100)));
+            }
+            writer.print("}");
+        }
+        writer.println("}");
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        if ("json".equals(req.getParameter("format"))) {
+            resp.setContentType("application/json");
+            writeJson(resp.getWriter());
+        } else {
+            resp.setContentType("text/plain; version=0.0.4");
+            writePrometheus(resp.getWriter());
+        }
+    }
+
+}
@@ -18,6 +18,8 @@ package org.traccar.http;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.net.InetSocketAddress;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Properties;
 import javax.naming.Context;
 import javax.naming.InitialContext;
@@ -35,6 +37,7 @@ import org.eclipse.jetty.server.handler.ResourceHandler;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
 import org.eclipse.jetty.webapp.WebAppContext;
+import org.traccar.ServerManager;
 import org.traccar.database.DataManager;
 import org.traccar.helper.Log;
 
@@ -45,7 +48,10 @@ public class WebServer {
 
     private Server server;
 
-    public WebServer(Properties properties, DataManager dataManager) {
+    public WebServer(ServerManager serverManager) {
+        Properties properties = serverManager.getProperties();
+        DataManager dataManager = serverManager.getDataManager();
+
         String address = properties.getProperty("http.address");
         Integer port = Integer.valueOf(properties.getProperty("http.port", "8082"));
         if (address == null) {
@@ -54,7 +60,19 @@ public class WebServer {
             server = new Server(new InetSocketAddress(address, port));
         }
 
-        if (Boolean.valueOf(properties.getProperty("http.new"))) {
+        List<Handler> handlers = new LinkedList<Handler>();
+
+        if (Boolean.valueOf(properties.getProperty("metrics.enable"))) {
+            ServletContextHandler metricsHandler = new ServletContextHandler();
+            metricsHandler.setContextPath(properties.getProperty("metrics.path", "/metrics"));
+            metricsHandler.setAllowNullPathInfo(true);
+            metricsHandler.addServlet(new ServletHolder(new MetricsServlet(serverManager)), "/*");
+            handlers.add(metricsHandler);
+        }
+
+        if (!Boolean.valueOf(properties.getProperty("http.enable"))) {
+            // Metrics only
+        } else if (Boolean.valueOf(properties.getProperty("http.new"))) {
 
             ServletContextHandler servletHandler = new ServletContextHandler(ServletContextHandler.SESSIONS);
             servletHandler.setContextPath("/api");
@@ -64,10 +82,8 @@ public class WebServer {
             resourceHandler.setResourceBase(properties.getProperty("http.path"));
             resourceHandler.setWelcomeFiles(new String[] {"index.html"});
 
-            HandlerList handlerList = new HandlerList();
-            handlerList.setHandlers(new Handler[] {servletHandler, resourceHandler});
-
-            server.setHandler(handlerList);
+            handlers.add(servletHandler);
+            handlers.add(resourceHandler);
 
         } else {
 
@@ -81,9 +97,13 @@ public class WebServer {
             WebAppContext webapp = new WebAppContext();
             webapp.setContextPath("/");
             webapp.setWar(properties.getProperty("http.application"));
-            server.setHandler(webapp);
+            handlers.add(webapp);
 
         }
+
+        HandlerList handlerList = new HandlerList();
+        handlerList.setHandlers(handlers.toArray(new Handler[handlers.size()]));
+        server.setHandler(handlerList);
     }
 
     public void start() {
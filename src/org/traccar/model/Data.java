@@ -19,59 +19,136 @@ import java.util.Date;
 
 /**
  * Data without location
+ *
+ * Numeric fields are stored as primitives, a bit in the mask marks fields that are set. Getters return null for
+ * fields that are not set, like the boxed fields they replace.
  */
 public class Data {
 
+    private static final int HAS_ID = 1;
+    private static final int HAS_DEVICE_ID = 2;
+    private static final int HAS_SERVER_TIME = 4;
+
+    private int mask;
+
     /**
      * Id
      */
-    private Long id;
+    private long id;
 
     public Long getId() {
-        return id;
+        return (mask & HAS_ID) != 0 ? id : null;
     }
 
     public void setId(Long id) {
+        if (id != null) {
+            setId(id.longValue());
+        } else {
+            mask &= ~HAS_ID;
+        }
+    }
+
+    public void setId(long id) {
         this.id = id;
+        mask |= HAS_ID;
     }
 
     /**
      * Device
      */
-    private Long deviceId;
+    private long deviceId;
 
     public Long getDeviceId() {
-        return deviceId;
+        return (mask & HAS_DEVICE_ID) != 0 ? deviceId : null;
+    }
+
+    /**
+     * Device without boxing, 0 if not set
+     */
+    public long getDeviceIdValue() {
+        return (mask & HAS_DEVICE_ID) != 0 ? deviceId : 0;
+    }
+
+    public boolean hasDeviceId() {
+        return (mask & HAS_DEVICE_ID) != 0;
     }
 
     public void setDeviceId(Long deviceId) {
+        if (deviceId != null) {
+            setDeviceId(deviceId.longValue());
+        } else {
+            mask &= ~HAS_DEVICE_ID;
+        }
+    }
+
+    public void setDeviceId(long deviceId) {
         this.deviceId = deviceId;
+        mask |= HAS_DEVICE_ID;
     }
 
     /**
      * Server time (UTC)
      */
-    private Date serverTime;
+    private long serverTime;
 
     public Date getServerTime() {
-        return serverTime;
+        return (mask & HAS_SERVER_TIME) != 0 ? new Date(serverTime) : null;
     }
 
     public void setServerTime(Date serverTime) {
-        this.serverTime = serverTime;
+        if (serverTime != null) {
+            this.serverTime = serverTime.getTime();
+            mask |= HAS_SERVER_TIME;
+        } else {
+            mask &= ~HAS_SERVER_TIME;
+        }
     }
 
     /**
-     * Extended information in XML format
+     * Extended information in XML format (rendered on demand)
      */
     private String extendedInfo;
 
     public String getExtendedInfo() {
+        if (extendedInfo == null && attributes != null) {
+            extendedInfo = attributes.toString();
+        }
         return extendedInfo;
     }
 
     public void setExtendedInfo(String extendedInfo) {
         this.extendedInfo = extendedInfo;
+        this.attributes = null;
+    }
+
+    /**
+     * Structured extended information
+     */
+    private ExtendedInfoFormatter attributes;
+
+    public void setExtendedInfo(ExtendedInfoFormatter attributes) {
+        this.attributes = attributes;
+        this.extendedInfo = null;
+    }
+
+    /**
+     * Get extended information value, falls back to plain text lookup in XML
+     */
+    public Object getAttribute(String key) {
+        if (attributes != null) {
+            return attributes.get(key);
+        } else if (extendedInfo != null) {
+            String open = "<" + key + ">";
+            int start = extendedInfo.indexOf(open);
+            if (start != -1) {
+                start += open.length();
+                int end = extendedInfo.indexOf("</" + key + ">", start);
+                if (end != -1) {
+                    return extendedInfo.substring(start, end);
+                }
+            }
+        }
+        return null;
     }
 
 }
@@ -15,49 +15,212 @@
  */
 package org.traccar.model;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
-
 /**
  * Format extended tracker status
+ *
+ * Attributes are kept in parallel arrays in insertion order, numbers and flags in a primitive slot instead of boxed
+ * map values. Keys are compared by reference first, decoders use string literals which are interned. XML is only
+ * rendered when the position is stored.
  */
 public class ExtendedInfoFormatter {
 
     private static final String rootNode = "info";
-    
-    private final Map<String, Object> data;
-    
+
+    private static final byte TYPE_OBJECT = 0;
+    private static final byte TYPE_INT = 1;
+    private static final byte TYPE_LONG = 2;
+    private static final byte TYPE_FLOAT = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_BOOLEAN = 5;
+    private static final byte TYPE_CHAR = 6;
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private long[] numbers = new long[INITIAL_CAPACITY];
+    private Object[] objects = new Object[INITIAL_CAPACITY];
+    private int size;
+
     public ExtendedInfoFormatter(String protocol) {
-        data = new LinkedHashMap<String, Object>();
-        data.put("protocol", protocol);
+        setObject("protocol", protocol);
+    }
+
+    private int indexOf(String key) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Slot for the key, existing key keeps its position
+     */
+    private int slot(String key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            if (size == keys.length) {
+                int capacity = size * 2;
+                String[] newKeys = new String[capacity];
+                System.arraycopy(keys, 0, newKeys, 0, size);
+                keys = newKeys;
+                byte[] newTypes = new byte[capacity];
+                System.arraycopy(types, 0, newTypes, 0, size);
+                types = newTypes;
+                long[] newNumbers = new long[capacity];
+                System.arraycopy(numbers, 0, newNumbers, 0, size);
+                numbers = newNumbers;
+                Object[] newObjects = new Object[capacity];
+                System.arraycopy(objects, 0, newObjects, 0, size);
+                objects = newObjects;
+            }
+            index = size++;
+            keys[index] = key;
+        } else {
+            objects[index] = null;
+        }
+        return index;
+    }
+
+    private void setNumber(String key, byte type, long value) {
+        int index = slot(key);
+        types[index] = type;
+        numbers[index] = value;
+    }
+
+    public void set(String key, int value) {
+        setNumber(key, TYPE_INT, value);
+    }
+
+    public void set(String key, long value) {
+        setNumber(key, TYPE_LONG, value);
+    }
+
+    public void set(String key, float value) {
+        setNumber(key, TYPE_FLOAT, Double.doubleToRawLongBits(value));
+    }
+
+    public void set(String key, double value) {
+        setNumber(key, TYPE_DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    public void set(String key, boolean value) {
+        setNumber(key, TYPE_BOOLEAN, value ? 1 : 0);
+    }
+
+    public void set(String key, char value) {
+        setNumber(key, TYPE_CHAR, value);
     }
 
     public void set(String key, Object value) {
-        if (value != null) {
+        if (value == null) {
+            return;
+        } else if (value instanceof String) {
             // Exclude empty strings
-            if ((value instanceof String) && ((String) value).isEmpty()) {
+            if (((String) value).isEmpty()) {
                 return;
             }
-            
-            data.put(key, value);
+        } else if (value instanceof Integer) {
+            set(key, ((Integer) value).intValue());
+            return;
+        } else if (value instanceof Long) {
+            set(key, ((Long) value).longValue());
+            return;
+        } else if (value instanceof Double) {
+            set(key, ((Double) value).doubleValue());
+            return;
+        } else if (value instanceof Float) {
+            set(key, ((Float) value).floatValue());
+            return;
+        } else if (value instanceof Boolean) {
+            set(key, ((Boolean) value).booleanValue());
+            return;
+        } else if (value instanceof Character) {
+            set(key, ((Character) value).charValue());
+            return;
+        }
+
+        setObject(key, value);
+    }
+
+    private void setObject(String key, Object value) {
+        int index = slot(key);
+        types[index] = TYPE_OBJECT;
+        objects[index] = value;
+    }
+
+    public Object get(String key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        long value = numbers[index];
+        switch (types[index]) {
+            case TYPE_INT:
+                return (int) value;
+            case TYPE_LONG:
+                return value;
+            case TYPE_FLOAT:
+                return (float) Double.longBitsToDouble(value);
+            case TYPE_DOUBLE:
+                return Double.longBitsToDouble(value);
+            case TYPE_BOOLEAN:
+                return value != 0;
+            case TYPE_CHAR:
+                return (char) value;
+            default:
+                return objects[index];
+        }
+    }
+
+    private void appendValue(StringBuilder result, int index) {
+        long value = numbers[index];
+        switch (types[index]) {
+            case TYPE_INT:
+                result.append((int) value);
+                break;
+            case TYPE_LONG:
+                result.append(value);
+                break;
+            case TYPE_FLOAT:
+                result.append((float) Double.longBitsToDouble(value));
+                break;
+            case TYPE_DOUBLE:
+                result.append(Double.longBitsToDouble(value));
+                break;
+            case TYPE_BOOLEAN:
+                result.append(value != 0);
+                break;
+            case TYPE_CHAR:
+                result.append((char) value);
+                break;
+            default:
+                result.append(objects[index]);
+                break;
         }
     }
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
-        
+        StringBuilder result = new StringBuilder(16 + size * 32);
+
         result.append("<").append(rootNode).append(">");
-        
-        for (Map.Entry<String, Object> entry : data.entrySet()) {
-         
-            result.append("<").append(entry.getKey()).append(">");
-            result.append(entry.getValue());
-            result.append("</").append(entry.getKey()).append(">");
+
+        for (int i = 0; i < size; i++) {
+            result.append("<").append(keys[i]).append(">");
+            appendValue(result, i);
+            result.append("</").append(keys[i]).append(">");
         }
 
         result.append("</").append(rootNode).append(">");
-        
+
         return result.toString();
     }
 
@@ -19,9 +19,21 @@ import java.util.Date;
 
 /**
  * Position information
+ *
+ * Fields are stored as primitives with a mask of fields that are set, see Data.
  */
 public class Position extends Data {
 
+    private static final int HAS_TIME = 1;
+    private static final int HAS_VALID = 2;
+    private static final int HAS_LATITUDE = 4;
+    private static final int HAS_LONGITUDE = 8;
+    private static final int HAS_ALTITUDE = 16;
+    private static final int HAS_SPEED = 32;
+    private static final int HAS_COURSE = 64;
+
+    private int mask;
+
     public Position() {
     }
 
@@ -49,92 +61,232 @@ public class Position extends Data {
     /**
      * Time (UTC)
      */
-    private Date time;
+    private long time;
 
     public Date getTime() {
-        return time;
+        return (mask & HAS_TIME) != 0 ? new Date(time) : null;
+    }
+
+    /**
+     * Time in milliseconds without creating a Date, 0 if not set
+     */
+    public long getTimeMillis() {
+        return (mask & HAS_TIME) != 0 ? time : 0;
+    }
+
+    public boolean hasTime() {
+        return (mask & HAS_TIME) != 0;
     }
 
     public void setTime(Date time) {
+        if (time != null) {
+            setTime(time.getTime());
+        } else {
+            mask &= ~HAS_TIME;
+        }
+    }
+
+    public void setTime(long time) {
         this.time = time;
+        mask |= HAS_TIME;
     }
 
     /**
      * Validity flag
      */
-    private Boolean valid;
+    private boolean valid;
 
     public Boolean getValid() {
-        return valid;
+        return (mask & HAS_VALID) != 0 ? valid : null;
+    }
+
+    /**
+     * Validity without boxing, false if not set
+     */
+    public boolean getValidValue() {
+        return (mask & HAS_VALID) != 0 && valid;
+    }
+
+    public boolean hasValid() {
+        return (mask & HAS_VALID) != 0;
     }
 
     public void setValid(Boolean valid) {
+        if (valid != null) {
+            setValid(valid.booleanValue());
+        } else {
+            mask &= ~HAS_VALID;
+        }
+    }
+
+    public void setValid(boolean valid) {
         this.valid = valid;
+        mask |= HAS_VALID;
     }
 
     /**
      * Latitude
      */
-    private Double latitude;
+    private double latitude;
 
     public Double getLatitude() {
-        return latitude;
+        return (mask & HAS_LATITUDE) != 0 ? latitude : null;
+    }
+
+    /**
+     * Latitude without boxing, 0 if not set
+     */
+    public double getLatitudeValue() {
+        return (mask & HAS_LATITUDE) != 0 ? latitude : 0;
+    }
+
+    public boolean hasLatitude() {
+        return (mask & HAS_LATITUDE) != 0;
     }
 
     public void setLatitude(Double latitude) {
+        if (latitude != null) {
+            setLatitude(latitude.doubleValue());
+        } else {
+            mask &= ~HAS_LATITUDE;
+        }
+    }
+
+    public void setLatitude(double latitude) {
         this.latitude = latitude;
+        mask |= HAS_LATITUDE;
     }
 
     /**
      * Longitude
      */
-    private Double longitude;
+    private double longitude;
 
     public Double getLongitude() {
-        return longitude;
+        return (mask & HAS_LONGITUDE) != 0 ? longitude : null;
+    }
+
+    /**
+     * Longitude without boxing, 0 if not set
+     */
+    public double getLongitudeValue() {
+        return (mask & HAS_LONGITUDE) != 0 ? longitude : 0;
+    }
+
+    public boolean hasLongitude() {
+        return (mask & HAS_LONGITUDE) != 0;
     }
 
     public void setLongitude(Double longitude) {
+        if (longitude != null) {
+            setLongitude(longitude.doubleValue());
+        } else {
+            mask &= ~HAS_LONGITUDE;
+        }
+    }
+
+    public void setLongitude(double longitude) {
         this.longitude = longitude;
+        mask |= HAS_LONGITUDE;
     }
 
     /**
      * Altitude
      */
-    private Double altitude;
+    private double altitude;
 
     public Double getAltitude() {
-        return altitude;
+        return (mask & HAS_ALTITUDE) != 0 ? altitude : null;
+    }
+
+    /**
+     * Altitude without boxing, 0 if not set
+     */
+    public double getAltitudeValue() {
+        return (mask & HAS_ALTITUDE) != 0 ? altitude : 0;
+    }
+
+    public boolean hasAltitude() {
+        return (mask & HAS_ALTITUDE) != 0;
     }
 
     public void setAltitude(Double altitude) {
+        if (altitude != null) {
+            setAltitude(altitude.doubleValue());
+        } else {
+            mask &= ~HAS_ALTITUDE;
+        }
+    }
+
+    public void setAltitude(double altitude) {
         this.altitude = altitude;
+        mask |= HAS_ALTITUDE;
     }
 
     /**
      * Speed (knots)
      */
-    private Double speed;
+    private double speed;
 
     public Double getSpeed() {
-        return speed;
+        return (mask & HAS_SPEED) != 0 ? speed : null;
+    }
+
+    /**
+     * Speed without boxing, 0 if not set
+     */
+    public double getSpeedValue() {
+        return (mask & HAS_SPEED) != 0 ? speed : 0;
+    }
+
+    public boolean hasSpeed() {
+        return (mask & HAS_SPEED) != 0;
     }
 
     public void setSpeed(Double speed) {
+        if (speed != null) {
+            setSpeed(speed.doubleValue());
+        } else {
+            mask &= ~HAS_SPEED;
+        }
+    }
+
+    public void setSpeed(double speed) {
         this.speed = speed;
+        mask |= HAS_SPEED;
     }
 
     /**
      * Course
      */
-    private Double course;
+    private double course;
 
     public Double getCourse() {
-        return course;
+        return (mask & HAS_COURSE) != 0 ? course : null;
+    }
+
+    /**
+     * Course without boxing, 0 if not set
+     */
+    public double getCourseValue() {
+        return (mask & HAS_COURSE) != 0 ? course : 0;
+    }
+
+    public boolean hasCourse() {
+        return (mask & HAS_COURSE) != 0;
     }
 
     public void setCourse(Double course) {
+        if (course != null) {
+            setCourse(course.doubleValue());
+        } else {
+            mask &= ~HAS_COURSE;
+        }
+    }
+
+    public void setCourse(double course) {
         this.course = course;
+        mask |= HAS_COURSE;
     }
 
     /**
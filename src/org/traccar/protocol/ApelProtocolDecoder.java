@@ -17,11 +17,10 @@ package org.traccar.protocol;
 
 import java.nio.ByteOrder;
 import java.nio.charset.Charset;
-import java.util.Calendar;
+import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Properties;
-import java.util.TimeZone;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBuffers;
@@ -94,7 +93,7 @@ public class ApelProtocolDecoder extends BaseProtocolDecoder {
     }
 
     private void sendSimpleMessage(Channel channel, short type) {
-        ChannelBuffer request = ChannelBuffers.directBuffer(ByteOrder.LITTLE_ENDIAN, 8);
+        ChannelBuffer request = ChannelBuffers.buffer(ByteOrder.LITTLE_ENDIAN, 8);
         request.writeShort(type);
         request.writeShort(0);
         request.writeInt(Crc.crc32(request.toByteBuffer(0, 4)));
@@ -105,7 +104,7 @@ public class ApelProtocolDecoder extends BaseProtocolDecoder {
         if (lastIndex == 0) {
             lastIndex = newIndex;
         } else if (newIndex > lastIndex) {
-            ChannelBuffer request = ChannelBuffers.directBuffer(ByteOrder.LITTLE_ENDIAN, 14);
+            ChannelBuffer request = ChannelBuffers.buffer(ByteOrder.LITTLE_ENDIAN, 14);
             request.writeShort(MSG_TYPE_REQUEST_LOG_RECORDS);
             request.writeShort(6);
             request.writeInt((int) lastIndex);
@@ -187,10 +186,7 @@ public class ApelProtocolDecoder extends BaseProtocolDecoder {
                 }
 
                 // Time
-                Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-                time.clear();
-                time.setTimeInMillis(buf.readUnsignedInt() * 1000);
-                position.setTime(time.getTime());
+                position.setTime(new Date(buf.readUnsignedInt() * 1000));
 
                 // Latitude
                 position.setLatitude(buf.readInt() * 180.0 / 0x7FFFFFFF);
@@ -246,7 +242,7 @@ public class ApelProtocolDecoder extends BaseProtocolDecoder {
                 }
 
                 // Extended info
-                position.setExtendedInfo(extendedInfo.toString());
+                position.setExtendedInfo(extendedInfo);
 
                 positions.add(position);
             }
@@ -16,21 +16,16 @@
 package org.traccar.protocol;
 
 import org.jboss.netty.buffer.ChannelBuffer;
-import org.jboss.netty.channel.Channel;
-import org.jboss.netty.channel.ChannelHandlerContext;
-import org.jboss.netty.handler.codec.frame.FrameDecoder;
+import org.traccar.LengthFieldFrameDecoder;
 
-public class AplicomFrameDecoder extends FrameDecoder{
+public class AplicomFrameDecoder extends LengthFieldFrameDecoder {
     
     @Override
-    protected Object decode(
-            ChannelHandlerContext ctx,
-            Channel channel,
-            ChannelBuffer buf) throws Exception {
-        
+    protected int getFrameLength(ChannelBuffer buf) {
+
         // Check minimum length
         if (buf.readableBytes() < 11) {
-            return null;
+            return 0;
         }
 
         // Read flags
@@ -46,14 +41,8 @@ public class AplicomFrameDecoder extends FrameDecoder{
         if ((version & 0x40) != 0) {
             offset += 3;
         }
-        length += offset; // add header
-
-        // Return buffer
-        if (buf.readableBytes() >= length) {
-            return buf.readBytes(length);
-        }
 
-        return null;
+        return length + offset; // add header
     }
 
 }
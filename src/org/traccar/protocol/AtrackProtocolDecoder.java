@@ -44,7 +44,7 @@ public class AtrackProtocolDecoder extends BaseProtocolDecoder {
 
     private static void sendResponse(Channel channel, SocketAddress remoteAddress, long rawId, int index) {
         if (channel != null) {
-            ChannelBuffer response = ChannelBuffers.directBuffer(12);
+            ChannelBuffer response = ChannelBuffers.buffer(12);
             response.writeShort(0xfe02);
             response.writeLong(rawId);
             response.writeShort(index);
@@ -160,7 +160,7 @@ public class AtrackProtocolDecoder extends BaseProtocolDecoder {
             // For example adding AT$FORM %FC /Fuel used you can add the line in this position:
             // extendedInfo.set("fuelused", buf.readUnsignedInt() * 0.1);
 
-            position.setExtendedInfo(extendedInfo.toString());
+            position.setExtendedInfo(extendedInfo);
             positions.add(position);
         }
 
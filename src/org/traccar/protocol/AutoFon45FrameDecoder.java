@@ -16,42 +16,29 @@
 package org.traccar.protocol;
 
 import org.jboss.netty.buffer.ChannelBuffer;
-import org.jboss.netty.channel.Channel;
-import org.jboss.netty.channel.ChannelHandlerContext;
-import org.jboss.netty.handler.codec.frame.FrameDecoder;
+import org.traccar.LengthFieldFrameDecoder;
 
-public class AutoFon45FrameDecoder extends FrameDecoder {
+public class AutoFon45FrameDecoder extends LengthFieldFrameDecoder {
 
     static final int MSG_LOGIN = 0x41;
     static final int MSG_LOCATION = 0x02;
 
     @Override
-    protected Object decode(
-            ChannelHandlerContext ctx,
-            Channel channel,
-            ChannelBuffer buf) throws Exception {
-        
+    protected int getFrameLength(ChannelBuffer buf) {
+
         // Check minimum length
         if (buf.readableBytes() < 12) {
-            return null;
+            return 0;
         }
 
-        int length = 0;
         switch (buf.getUnsignedByte(buf.readerIndex())) {
             case MSG_LOGIN:
-                length = 19;
-                break;
+                return 19;
             case MSG_LOCATION:
-                length = 34;
-                break;
-        }
-        
-        // Check length and return buffer
-        if (length != 0 && buf.readableBytes() >= length) {
-            return buf.readBytes(length);
+                return 34;
+            default:
+                return 0;
         }
-
-        return null;
     }
 
 }
@@ -16,46 +16,32 @@
 package org.traccar.protocol;
 
 import org.jboss.netty.buffer.ChannelBuffer;
-import org.jboss.netty.channel.Channel;
-import org.jboss.netty.channel.ChannelHandlerContext;
-import org.jboss.netty.handler.codec.frame.FrameDecoder;
+import org.traccar.LengthFieldFrameDecoder;
 
-public class AutoFonFrameDecoder extends FrameDecoder {
+public class AutoFonFrameDecoder extends LengthFieldFrameDecoder {
 
     private static final int MSG_LOGIN = 0x10;
     private static final int MSG_LOCATION = 0x11;
     private static final int MSG_HISTORY = 0x12;
 
     @Override
-    protected Object decode(
-            ChannelHandlerContext ctx,
-            Channel channel,
-            ChannelBuffer buf) throws Exception {
-        
+    protected int getFrameLength(ChannelBuffer buf) {
+
         // Check minimum length
         if (buf.readableBytes() < 12) {
-            return null;
+            return 0;
         }
 
-        int length = 0;
         switch (buf.getUnsignedByte(buf.readerIndex())) {
             case MSG_LOGIN:
-                length = 12;
-                break;
+                return 12;
             case MSG_LOCATION:
-                length = 78;
-                break;
+                return 78;
             case MSG_HISTORY:
-                length = 257;
-                break;
-        }
-        
-        // Check length and return buffer
-        if (length != 0 && buf.readableBytes() >= length) {
-            return buf.readBytes(length);
+                return 257;
+            default:
+                return 0;
         }
-
-        return null;
     }
 
 }
@@ -22,6 +22,7 @@ import org.jboss.netty.channel.ChannelHandlerContext;
 import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
 import org.traccar.helper.ChannelBufferTools;
+import org.traccar.helper.DateBuilder;
 import org.traccar.helper.Log;
 import org.traccar.model.ExtendedInfoFormatter;
 import org.traccar.model.Position;
@@ -86,15 +87,14 @@ public class AutoFonProtocolDecoder extends BaseProtocolDecoder {
         extendedInfo.set("satellites", valid & 0x3f);
 
         // Date and time
-        Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-        time.clear();
-        time.set(Calendar.DAY_OF_MONTH, buf.readUnsignedByte());
-        time.set(Calendar.MONTH, buf.readUnsignedByte() - 1);
-        time.set(Calendar.YEAR, 2000 + buf.readUnsignedByte());
-        time.set(Calendar.HOUR_OF_DAY, buf.readUnsignedByte());
-        time.set(Calendar.MINUTE, buf.readUnsignedByte());
-        time.set(Calendar.SECOND, buf.readUnsignedByte());
-        position.setTime(time.getTime());
+        DateBuilder time = new DateBuilder();
+        time.setDay(buf.readUnsignedByte());
+        time.setMonth(buf.readUnsignedByte());
+        time.setYear(2000 + buf.readUnsignedByte());
+        time.setHour(buf.readUnsignedByte());
+        time.setMinute(buf.readUnsignedByte());
+        time.setSecond(buf.readUnsignedByte());
+        position.setTime(time.getDate());
 
         // Location
         position.setLatitude(convertCoordinate(buf.readInt()));
@@ -108,7 +108,7 @@ public class AutoFonProtocolDecoder extends BaseProtocolDecoder {
         buf.readUnsignedShort(); // reserved
         buf.readUnsignedByte(); // checksum
 
-        position.setExtendedInfo(extendedInfo.toString());
+        position.setExtendedInfo(extendedInfo);
         return position;
     }
 
@@ -44,4 +44,9 @@ public class BceFrameDecoder extends LengthFieldBasedFrameDecoder {
         return super.decode(ctx, channel, buf);
     }
 
+    @Override
+    protected ChannelBuffer extractFrame(ChannelBuffer buffer, int index, int length) {
+        return buffer.slice(index, length); // see LengthFieldFrameDecoder
+    }
+
 }
@@ -15,9 +15,7 @@
  */
 package org.traccar.protocol;
 
-import java.util.Calendar;
 import java.util.Properties;
-import java.util.TimeZone;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBuffers;
@@ -26,6 +24,7 @@ import org.jboss.netty.channel.ChannelHandlerContext;
 
 import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
+import org.traccar.helper.DateBuilder;
 import org.traccar.helper.Log;
 import org.traccar.model.ExtendedInfoFormatter;
 import org.traccar.model.Position;
@@ -86,15 +85,14 @@ public class BceProtocolDecoder extends BaseProtocolDecoder {
             }
 
             // Date and time
-            Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-            time.clear();
-            time.set(Calendar.YEAR, 2000 + buf.readUnsignedByte());
-            time.set(Calendar.MONTH, buf.readUnsignedByte() - 1);
-            time.set(Calendar.DAY_OF_MONTH, buf.readUnsignedByte());
-            time.set(Calendar.HOUR_OF_DAY, buf.readUnsignedByte());
-            time.set(Calendar.MINUTE, buf.readUnsignedByte());
-            time.set(Calendar.SECOND, buf.readUnsignedByte());
-            position.setTime(time.getTime());
+            DateBuilder time = new DateBuilder();
+            time.setYear(2000 + buf.readUnsignedByte());
+            time.setMonth(buf.readUnsignedByte());
+            time.setDay(buf.readUnsignedByte());
+            time.setHour(buf.readUnsignedByte());
+            time.setMinute(buf.readUnsignedByte());
+            time.setSecond(buf.readUnsignedByte());
+            position.setTime(time.getDate());
 
             // Latitude
             double latitude = buf.readUnsignedInt() / (60.0 * 30000.0);
@@ -120,7 +118,7 @@ public class BceProtocolDecoder extends BaseProtocolDecoder {
             position.setLongitude(longitude);
             position.setAltitude(0.0);
 
-            position.setExtendedInfo(extendedInfo.toString());
+            position.setExtendedInfo(extendedInfo);
             return position;
         }*/
 
@@ -16,24 +16,19 @@
 package org.traccar.protocol;
 
 import org.jboss.netty.buffer.ChannelBuffer;
-import org.jboss.netty.channel.Channel;
-import org.jboss.netty.channel.ChannelHandlerContext;
-import org.jboss.netty.handler.codec.frame.FrameDecoder;
+import org.traccar.LengthFieldFrameDecoder;
 
-public class CellocatorFrameDecoder extends FrameDecoder {
+public class CellocatorFrameDecoder extends LengthFieldFrameDecoder {
 
     private static final int MESSAGE_MINIMUM_LENGTH = 15;
     
     @Override
-    protected Object decode(
-            ChannelHandlerContext ctx,
-            Channel channel,
-            ChannelBuffer buf) throws Exception {
-        
+    protected int getFrameLength(ChannelBuffer buf) {
+
         // Check minimum length
         int available = buf.readableBytes();
         if (available < MESSAGE_MINIMUM_LENGTH) {
-            return null;
+            return 0;
         }
 
         // Size depending on message type
@@ -59,12 +54,7 @@ public class CellocatorFrameDecoder extends FrameDecoder {
                 break;
         }
 
-        // Read packet
-        if (length > 0 && available >= length) {
-            return buf.readBytes(length);
-        }
-        
-        return null;
+        return length;
     }
 
 }
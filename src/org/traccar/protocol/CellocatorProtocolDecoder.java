@@ -16,9 +16,7 @@
 package org.traccar.protocol;
 
 import java.nio.ByteOrder;
-import java.util.Calendar;
 import java.util.Properties;
-import java.util.TimeZone;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBuffers;
@@ -27,6 +25,7 @@ import org.jboss.netty.channel.ChannelHandlerContext;
 
 import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
+import org.traccar.helper.DateBuilder;
 import org.traccar.helper.Log;
 import org.traccar.model.ExtendedInfoFormatter;
 import org.traccar.model.Position;
@@ -60,7 +59,7 @@ public class CellocatorProtocolDecoder extends BaseProtocolDecoder {
     private byte commandCount;
     
     private void sendReply(Channel channel, long deviceId, byte packetNumber) {
-        ChannelBuffer reply = ChannelBuffers.directBuffer(ByteOrder.LITTLE_ENDIAN, 28);
+        ChannelBuffer reply = ChannelBuffers.buffer(ByteOrder.LITTLE_ENDIAN, 28);
         reply.writeByte('M');
         reply.writeByte('C');
         reply.writeByte('G');
@@ -154,17 +153,16 @@ public class CellocatorProtocolDecoder extends BaseProtocolDecoder {
             position.setCourse(buf.readUnsignedShort() / Math.PI * 180.0 / 1000.0);
             
             // Time
-            Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-            time.clear();
-            time.set(Calendar.SECOND, buf.readUnsignedByte());
-            time.set(Calendar.MINUTE, buf.readUnsignedByte());
-            time.set(Calendar.HOUR_OF_DAY, buf.readUnsignedByte());
-            time.set(Calendar.DAY_OF_MONTH, buf.readUnsignedByte());
-            time.set(Calendar.MONTH, buf.readUnsignedByte() - 1);
-            time.set(Calendar.YEAR, buf.readUnsignedShort());
-            position.setTime(time.getTime());
-
-            position.setExtendedInfo(extendedInfo.toString());
+            DateBuilder time = new DateBuilder();
+            time.setSecond(buf.readUnsignedByte());
+            time.setMinute(buf.readUnsignedByte());
+            time.setHour(buf.readUnsignedByte());
+            time.setDay(buf.readUnsignedByte());
+            time.setMonth(buf.readUnsignedByte());
+            time.setYear(buf.readUnsignedShort());
+            position.setTime(time.getDate());
+
+            position.setExtendedInfo(extendedInfo);
             return position;
         }
 
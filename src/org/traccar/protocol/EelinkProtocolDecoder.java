@@ -15,10 +15,8 @@
  */
 package org.traccar.protocol;
 
-import java.util.Calendar;
 import java.util.Date;
 import java.util.Properties;
-import java.util.TimeZone;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBuffers;
@@ -29,6 +27,7 @@ import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
 import org.traccar.helper.ChannelBufferTools;
 import org.traccar.helper.Crc;
+import org.traccar.helper.DateBuilder;
 import org.traccar.helper.Log;
 import org.traccar.model.ExtendedInfoFormatter;
 import org.traccar.model.Position;
@@ -134,7 +133,7 @@ public class EelinkProtocolDecoder extends BaseProtocolDecoder {
                 extendedInfo.set("status", buf.readUnsignedByte());
             }
             
-            position.setExtendedInfo(extendedInfo.toString());
+            position.setExtendedInfo(extendedInfo);
             return position;
         }
 
@@ -161,15 +160,14 @@ public class EelinkProtocolDecoder extends BaseProtocolDecoder {
             }
 
             // Date and time
-            Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-            time.clear();
-            time.set(Calendar.YEAR, 2000 + buf.readUnsignedByte());
-            time.set(Calendar.MONTH, buf.readUnsignedByte() - 1);
-            time.set(Calendar.DAY_OF_MONTH, buf.readUnsignedByte());
-            time.set(Calendar.HOUR_OF_DAY, buf.readUnsignedByte());
-            time.set(Calendar.MINUTE, buf.readUnsignedByte());
-            time.set(Calendar.SECOND, buf.readUnsignedByte());
-            position.setTime(time.getTime());
+            DateBuilder time = new DateBuilder();
+            time.setYear(2000 + buf.readUnsignedByte());
+            time.setMonth(buf.readUnsignedByte());
+            time.setDay(buf.readUnsignedByte());
+            time.setHour(buf.readUnsignedByte());
+            time.setMinute(buf.readUnsignedByte());
+            time.setSecond(buf.readUnsignedByte());
+            position.setTime(time.getDate());
 
             // Latitude
             double latitude = buf.readUnsignedInt() / (60.0 * 30000.0);
@@ -195,7 +193,7 @@ public class EelinkProtocolDecoder extends BaseProtocolDecoder {
             position.setLongitude(longitude);
             position.setAltitude(0.0);
 
-            position.setExtendedInfo(extendedInfo.toString());
+            position.setExtendedInfo(extendedInfo);
             return position;
         }*/
 
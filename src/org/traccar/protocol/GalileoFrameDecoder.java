@@ -16,32 +16,21 @@
 package org.traccar.protocol;
 
 import org.jboss.netty.buffer.ChannelBuffer;
-import org.jboss.netty.channel.Channel;
-import org.jboss.netty.channel.ChannelHandlerContext;
-import org.jboss.netty.handler.codec.frame.FrameDecoder;
+import org.traccar.LengthFieldFrameDecoder;
 
-public class GalileoFrameDecoder extends FrameDecoder {
+public class GalileoFrameDecoder extends LengthFieldFrameDecoder {
 
     private static final int MESSAGE_MINIMUM_LENGTH = 5;
     
     @Override
-    protected Object decode(
-            ChannelHandlerContext ctx,
-            Channel channel,
-            ChannelBuffer buf) throws Exception {
-        
+    protected int getFrameLength(ChannelBuffer buf) {
+
         // Check minimum length
         if (buf.readableBytes() < MESSAGE_MINIMUM_LENGTH) {
-            return null;
+            return 0;
         }
 
-        // Read packet
-        int length = buf.getUnsignedShort(buf.readerIndex() + 1) & 0x7fff;
-        if (buf.readableBytes() >= (length + MESSAGE_MINIMUM_LENGTH)) {
-            return buf.readBytes(length + MESSAGE_MINIMUM_LENGTH);
-        }
-        
-        return null;
+        return (buf.getUnsignedShort(buf.readerIndex() + 1) & 0x7fff) + MESSAGE_MINIMUM_LENGTH;
     }
 
 }
@@ -20,13 +20,13 @@ import java.nio.charset.Charset;
 import java.util.*;
 
 import org.jboss.netty.buffer.ChannelBuffer;
-import org.jboss.netty.buffer.ChannelBuffers;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelHandlerContext;
 
 import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
 import org.traccar.helper.Log;
+import org.traccar.helper.ResponseTemplate;
 import org.traccar.model.ExtendedInfoFormatter;
 import org.traccar.model.Position;
 
@@ -69,11 +69,12 @@ public class GalileoProtocolDecoder extends BaseProtocolDecoder {
         return tagLengthMap.get(tag);
     }
 
+    private static final ResponseTemplate REPLY = new ResponseTemplate(ByteOrder.LITTLE_ENDIAN, 0x02, 0x00, 0x00);
+
     private void sendReply(Channel channel, int checksum) {
-        ChannelBuffer reply = ChannelBuffers.directBuffer(ByteOrder.LITTLE_ENDIAN, 3);
-        reply.writeByte(0x02);
-        reply.writeShort((short) checksum);
         if (channel != null) {
+            ChannelBuffer reply = REPLY.create();
+            reply.setShort(1, checksum);
             channel.write(reply);
         }
     }
@@ -100,7 +101,7 @@ public class GalileoProtocolDecoder extends BaseProtocolDecoder {
             // Check if new message started
             int tag = buf.readUnsignedByte();
             if (tags.contains(tag)) {
-                position.setExtendedInfo(extendedInfo.toString());
+                position.setExtendedInfo(extendedInfo);
                 positions.add(position);
                 tags.clear();
                 position = new Position();
@@ -162,7 +163,7 @@ public class GalileoProtocolDecoder extends BaseProtocolDecoder {
             }
         }
 
-        position.setExtendedInfo(extendedInfo.toString());
+        position.setExtendedInfo(extendedInfo);
         positions.add(position);
         
         if (deviceId == null) {
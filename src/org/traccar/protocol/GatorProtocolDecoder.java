@@ -15,9 +15,7 @@
  */
 package org.traccar.protocol;
 
-import java.util.Calendar;
 import java.util.Properties;
-import java.util.TimeZone;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.channel.Channel;
@@ -26,6 +24,7 @@ import org.jboss.netty.channel.ChannelHandlerContext;
 import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
 import org.traccar.helper.ChannelBufferTools;
+import org.traccar.helper.DateBuilder;
 import org.traccar.helper.Log;
 import org.traccar.model.ExtendedInfoFormatter;
 import org.traccar.model.Position;
@@ -82,15 +81,14 @@ public class GatorProtocolDecoder extends BaseProtocolDecoder {
             }
             
             // Date and time
-            Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-            time.clear();
-            time.set(Calendar.YEAR, 2000 + ChannelBufferTools.readHexInteger(buf, 2));
-            time.set(Calendar.MONTH, ChannelBufferTools.readHexInteger(buf, 2) - 1);
-            time.set(Calendar.DAY_OF_MONTH, ChannelBufferTools.readHexInteger(buf, 2));
-            time.set(Calendar.HOUR_OF_DAY, ChannelBufferTools.readHexInteger(buf, 2));
-            time.set(Calendar.MINUTE, ChannelBufferTools.readHexInteger(buf, 2));
-            time.set(Calendar.SECOND, ChannelBufferTools.readHexInteger(buf, 2));
-            position.setTime(time.getTime());
+            DateBuilder time = new DateBuilder();
+            time.setYear(2000 + ChannelBufferTools.readHexInteger(buf, 2));
+            time.setMonth(ChannelBufferTools.readHexInteger(buf, 2));
+            time.setDay(ChannelBufferTools.readHexInteger(buf, 2));
+            time.setHour(ChannelBufferTools.readHexInteger(buf, 2));
+            time.setMinute(ChannelBufferTools.readHexInteger(buf, 2));
+            time.setSecond(ChannelBufferTools.readHexInteger(buf, 2));
+            position.setTime(time.getDate());
 
             // Location
             position.setLatitude(ChannelBufferTools.readCoordinate(buf));
@@ -119,7 +117,7 @@ public class GatorProtocolDecoder extends BaseProtocolDecoder {
             // Milage
             extendedInfo.set("milage", buf.readUnsignedInt());
 
-            position.setExtendedInfo(extendedInfo.toString());
+            position.setExtendedInfo(extendedInfo);
             return position;
         }
 
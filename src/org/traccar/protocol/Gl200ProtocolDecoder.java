@@ -15,18 +15,17 @@
  */
 package org.traccar.protocol;
 
-import java.util.Calendar;
 import java.util.Properties;
-import java.util.TimeZone;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelHandlerContext;
 
 import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
+import org.traccar.helper.DateBuilder;
 import org.traccar.helper.Log;
+import org.traccar.helper.SentenceParser;
 import org.traccar.model.ExtendedInfoFormatter;
 import org.traccar.model.Position;
 
@@ -36,46 +35,130 @@ public class Gl200ProtocolDecoder extends BaseProtocolDecoder {
         super(dataManager, protocol, properties);
     }
 
-    private static final Pattern pattern = Pattern.compile(
-            "\\+(?:RESP|BUFF):GT...," +
-            "[0-9a-fA-F]{6}," +                 // Protocol version
-            "(\\d{15}),.*," +                   // IMEI
-            "(\\d*)," +                         // GPS accuracy
-            "(\\d+.\\d)?," +                    // Speed
-            "(\\d+)?," +                        // Course
-            "(-?\\d+\\.\\d)?," +                // Altitude
-            "(-?\\d+\\.\\d+)," +                // Longitude
-            "(-?\\d+\\.\\d+)," +                // Latitude
-            "(\\d{4})(\\d{2})(\\d{2})" +        // Date (YYYYMMDD)
-            "(\\d{2})(\\d{2})(\\d{2})," +       // Time (HHMMSS)
-            "(\\d{4})?," +                      // MCC
-            "(\\d{4})?," +                      // MNC
-            "(\\p{XDigit}{4})?," +              // LAC
-            "(\\p{XDigit}{4})?," +              // Cell
-            "(?:.*,(\\d{1,3}),\\d{14},)?" +     // Battery
-            ".*");
+    /*
+     * +RESP:GTxxx,VERSION,IMEI,...,ACCURACY,SPEED,COURSE,ALTITUDE,LONGITUDE,LATITUDE,YYYYMMDDhhmmss,
+     * MCC,MNC,LAC,CELL,...[,BATTERY,YYYYMMDDhhmmss],...
+     *
+     * Number of fields before location depends on message type, so the last location block is used.
+     */
+
+    private static final int LOCATION_FIELDS = 12;
+
+    private static boolean decodeLocation(
+            SentenceParser parser, Position position, ExtendedInfoFormatter extendedInfo) {
+
+        int accuracy = parser.readInt();
+        parser.expect(',');
+        double speed = parser.isEmptyField() ? 0.0 : parser.readDouble();
+        parser.expect(',');
+        int course = parser.isEmptyField() ? 0 : parser.readInt();
+        parser.expect(',');
+        double altitude = parser.isEmptyField() ? 0.0 : parser.readDouble();
+        parser.expect(',');
+        double longitude = parser.readDouble();
+        parser.expect(',');
+        double latitude = parser.readDouble();
+        parser.expect(',');
+
+        int year = parser.readDigits(4);
+        int month = parser.readDigits(2);
+        int day = parser.readDigits(2);
+        int hour = parser.readDigits(2);
+        int minute = parser.readDigits(2);
+        int second = parser.readDigits(2);
+        parser.expect(',');
+
+        String mcc = parser.readHexField(4);
+        parser.expect(',');
+        String mnc = parser.readHexField(4);
+        parser.expect(',');
+        String lac = parser.readHexField(4);
+        parser.expect(',');
+        String cell = parser.readHexField(4);
+        parser.expect(',');
+
+        if (parser.hasError()) {
+            return false;
+        }
+
+        position.setValid(accuracy < 20);
+        position.setSpeed(speed);
+        position.setCourse((double) course);
+        position.setAltitude(altitude);
+        position.setLongitude(longitude);
+        position.setLatitude(latitude);
+
+        DateBuilder time = new DateBuilder();
+        time.setYear(year);
+        time.setMonth(month);
+        time.setDay(day);
+        time.setHour(hour);
+        time.setMinute(minute);
+        time.setSecond(second);
+        position.setTime(time.getDate());
+
+        // Cell information
+        extendedInfo.set("mcc", mcc);
+        extendedInfo.set("mnc", mnc);
+        extendedInfo.set("lac", lac);
+        extendedInfo.set("cell", cell);
+        return true;
+    }
+
+    private static boolean isBattery(SentenceParser parser, int[] fields, int index) {
+        parser.setIndex(fields[index]);
+        int digits = parser.countDigits();
+        if (digits < 1 || digits > 3 || parser.peek(digits) != ',') {
+            return false;
+        }
+        parser.setIndex(fields[index + 1]);
+        return parser.countDigits() == 14 && parser.peek(14) == ',';
+    }
 
     @Override
     protected Object decode(
             ChannelHandlerContext ctx, Channel channel, Object msg)
             throws Exception {
 
-        String sentence = (String) msg;
+        ChannelBuffer buf = (ChannelBuffer) msg;
+        SentenceParser parser = new SentenceParser(buf);
 
-        // Parse message
-        Matcher parser = pattern.matcher(sentence);
-        if (!parser.matches()) {
+        // Parse header
+        if (!parser.skip("+RESP:GT") && !parser.skip("+BUFF:GT")) {
+            return null;
+        }
+        parser.readChar();
+        parser.readChar();
+        parser.readChar();
+        parser.expect(',');
+        if (parser.hasError() || !parser.hasHexDigits(6) || parser.peek(6) != ',') {
             return null;
         }
+        parser.skipField(); // protocol version
+        if (!parser.hasDigits(15) || parser.peek(15) != ',') {
+            return null;
+        }
+        String imei = parser.readField();
 
         // Create new position
         Position position = new Position();
         ExtendedInfoFormatter extendedInfo = new ExtendedInfoFormatter(getProtocol());
 
-        Integer index = 1;
+        // Find last complete location, at least one field after IMEI
+        int[] fields = parser.getFieldIndexes();
+        int location = fields.length - LOCATION_FIELDS;
+        for (; location >= 1; location--) {
+            parser.setIndex(fields[location]);
+            parser.clearError();
+            if (decodeLocation(parser, position, extendedInfo)) {
+                break;
+            }
+        }
+        if (location < 1) {
+            return null;
+        }
 
         // Get device by IMEI
-        String imei = parser.group(index++);
         try {
             position.setDeviceId(getDataManager().getDeviceByImei(imei).getId());
         } catch(Exception error) {
@@ -83,63 +166,16 @@ public class Gl200ProtocolDecoder extends BaseProtocolDecoder {
             return null;
         }
 
-        // Validity
-        position.setValid(Integer.valueOf(parser.group(index++)) < 20);
-
-        // Speed
-        String speed = parser.group(index++);
-        if (speed != null) {
-            position.setSpeed(Double.valueOf(speed));
-        } else {
-            position.setSpeed(0.0);
-        }
-
-        // Course
-        String course = parser.group(index++);
-        if (speed != null) {
-            position.setCourse(Double.valueOf(course));
-        } else {
-            position.setCourse(0.0);
-        }
-
-        // Altitude
-        String altitude = parser.group(index++);
-        if (speed != null) {
-            position.setAltitude(Double.valueOf(altitude));
-        } else {
-            position.setAltitude(0.0);
-        }
-
-        // Coordinates
-        position.setLongitude(Double.valueOf(parser.group(index++)));
-        position.setLatitude(Double.valueOf(parser.group(index++)));
-
-        // Date
-        Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-        time.clear();
-        time.set(Calendar.YEAR, Integer.valueOf(parser.group(index++)));
-        time.set(Calendar.MONTH, Integer.valueOf(parser.group(index++)) - 1);
-        time.set(Calendar.DAY_OF_MONTH, Integer.valueOf(parser.group(index++)));
-
-        // Time
-        time.set(Calendar.HOUR_OF_DAY, Integer.valueOf(parser.group(index++)));
-        time.set(Calendar.MINUTE, Integer.valueOf(parser.group(index++)));
-        time.set(Calendar.SECOND, Integer.valueOf(parser.group(index++)));
-        position.setTime(time.getTime());
-
-        // Cell information
-        extendedInfo.set("mcc", parser.group(index++));
-        extendedInfo.set("mnc", parser.group(index++));
-        extendedInfo.set("lac", parser.group(index++));
-        extendedInfo.set("cell", parser.group(index++));
-
         // Battery
-        String battery = parser.group(index++);
-        if (battery != null) {
-            extendedInfo.set("battery", Integer.valueOf(battery));
+        for (int i = fields.length - 3; i >= location + LOCATION_FIELDS; i--) {
+            if (isBattery(parser, fields, i)) {
+                parser.setIndex(fields[i]);
+                extendedInfo.set("battery", parser.readInt());
+                break;
+            }
         }
 
-        position.setExtendedInfo(extendedInfo.toString());
+        position.setExtendedInfo(extendedInfo);
         return position;
     }
 
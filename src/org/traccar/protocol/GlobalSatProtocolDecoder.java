@@ -15,9 +15,7 @@
  */
 package org.traccar.protocol;
 
-import java.util.Calendar;
 import java.util.Properties;
-import java.util.TimeZone;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -26,6 +24,7 @@ import org.jboss.netty.channel.ChannelHandlerContext;
 
 import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
+import org.traccar.helper.DateBuilder;
 import org.traccar.helper.Log;
 import org.traccar.model.ExtendedInfoFormatter;
 import org.traccar.model.Position;
@@ -104,16 +103,15 @@ public class GlobalSatProtocolDecoder extends BaseProtocolDecoder {
                     }
                     break;
                 case 'B':
-                    Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-                    time.clear();
-                    time.set(Calendar.DAY_OF_MONTH, Integer.valueOf(value.substring(0, 2)));
-                    time.set(Calendar.MONTH, Integer.valueOf(value.substring(2, 4)) - 1);
-                    time.set(Calendar.YEAR, 2000 + Integer.valueOf(value.substring(4)));
+                    DateBuilder time = new DateBuilder();
+                    time.setDay(Integer.valueOf(value.substring(0, 2)));
+                    time.setMonth(Integer.valueOf(value.substring(2, 4)));
+                    time.setYear(2000 + Integer.valueOf(value.substring(4)));
                     value = values[++valueIndex];
-                    time.set(Calendar.HOUR_OF_DAY, Integer.valueOf(value.substring(0, 2)));
-                    time.set(Calendar.MINUTE, Integer.valueOf(value.substring(2, 4)));
-                    time.set(Calendar.SECOND, Integer.valueOf(value.substring(4)));
-                    position.setTime(time.getTime());
+                    time.setHour(Integer.valueOf(value.substring(0, 2)));
+                    time.setMinute(Integer.valueOf(value.substring(2, 4)));
+                    time.setSecond(Integer.valueOf(value.substring(4)));
+                    position.setTime(time.getDate());
                     break;
                 case 'C':
                     valueIndex += 1;
@@ -172,7 +170,7 @@ public class GlobalSatProtocolDecoder extends BaseProtocolDecoder {
             valueIndex += 1;
         }
 
-        position.setExtendedInfo(extendedInfo.toString());
+        position.setExtendedInfo(extendedInfo);
         return position;
     }
     
@@ -219,15 +217,14 @@ public class GlobalSatProtocolDecoder extends BaseProtocolDecoder {
         position.setValid(parser.group(index++).compareTo("1") != 0);
         
         // Time
-        Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-        time.clear();
-        time.set(Calendar.DAY_OF_MONTH, Integer.valueOf(parser.group(index++)));
-        time.set(Calendar.MONTH, Integer.valueOf(parser.group(index++)) - 1);
-        time.set(Calendar.YEAR, 2000 + Integer.valueOf(parser.group(index++)));
-        time.set(Calendar.HOUR_OF_DAY, Integer.valueOf(parser.group(index++)));
-        time.set(Calendar.MINUTE, Integer.valueOf(parser.group(index++)));
-        time.set(Calendar.SECOND, Integer.valueOf(parser.group(index++)));
-        position.setTime(time.getTime());
+        DateBuilder time = new DateBuilder();
+        time.setDay(Integer.valueOf(parser.group(index++)));
+        time.setMonth(Integer.valueOf(parser.group(index++)));
+        time.setYear(2000 + Integer.valueOf(parser.group(index++)));
+        time.setHour(Integer.valueOf(parser.group(index++)));
+        time.setMinute(Integer.valueOf(parser.group(index++)));
+        time.setSecond(Integer.valueOf(parser.group(index++)));
+        position.setTime(time.getDate());
 
         // Longitude
         String hemisphere = parser.group(index++);
@@ -258,7 +255,7 @@ public class GlobalSatProtocolDecoder extends BaseProtocolDecoder {
         // HDOP
         extendedInfo.set("hdop", parser.group(index++));
 
-        position.setExtendedInfo(extendedInfo.toString());
+        position.setExtendedInfo(extendedInfo);
         return position;
     }
 
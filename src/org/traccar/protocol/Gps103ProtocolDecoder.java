@@ -16,18 +16,17 @@
 package org.traccar.protocol;
 
 import java.net.SocketAddress;
-import java.util.Calendar;
 import java.util.Properties;
-import java.util.TimeZone;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelHandlerContext;
 
 import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
+import org.traccar.helper.DateBuilder;
 import org.traccar.helper.Log;
+import org.traccar.helper.SentenceParser;
 import org.traccar.model.ExtendedInfoFormatter;
 import org.traccar.model.Position;
 
@@ -37,38 +36,21 @@ public class Gps103ProtocolDecoder extends BaseProtocolDecoder {
         super(dataManager, protocol, properties);
     }
 
-    private static final Pattern pattern = Pattern.compile(
-            "imei:" +
-            "(\\d+)," +                         // IMEI
-            "([^,]+)," +                        // Alarm
-            "(\\d{2})/?(\\d{2})/?(\\d{2})\\s?" + // Local Date
-            "(\\d{2}):?(\\d{2})(?:\\d{2})?," +  // Local Time
-            "[^,]*," +
-            "[FL]," +                           // F - full / L - low
-            "(\\d{2})(\\d{2})(\\d{2})\\.(\\d+)," + // Time UTC (HHMMSS.SSS)
-            "([AV])," +                         // Validity
-            "(\\d+)(\\d{2}\\.\\d+)," +          // Latitude (DDMM.MMMM)
-            "([NS])," +
-            "(\\d+)(\\d{2}\\.\\d+)," +          // Longitude (DDDMM.MMMM)
-            "([EW])?," +
-            "(\\d+\\.?\\d*)," +                 // Speed
-            "(\\d+\\.?\\d*)?,?" +               // Course
-            "(\\d+\\.?\\d*)?,?" +               // Altitude
-            "([^,]+)?,?" +
-            "([^,]+)?,?" +
-            "([^,]+)?,?" +
-            "([^,]+)?,?" +
-            ".*");
+    /*
+     * imei:IMEI,ALARM,YYMMDDhhmm[ss] or YY/MM/DD hh:mm,PHONE,F/L,
+     * hhmmss.sss (UTC),A/V,DDMM.MMMM,N/S,DDDMM.MMMM,E/W,SPEED,COURSE,ALTITUDE,IO1,IO2,IO3,IO4,...
+     */
 
     @Override
     protected Object decode(
             ChannelHandlerContext ctx, Channel channel, SocketAddress remoteAddress, Object msg)
             throws Exception {
 
-        String sentence = (String) msg;
+        ChannelBuffer buf = (ChannelBuffer) msg;
+        SentenceParser parser = new SentenceParser(buf);
 
         // Send response #1
-        if (sentence.contains("##")) {
+        if (parser.indexOf("##") != -1) {
             if (channel != null) {
                 channel.write("LOAD", remoteAddress);
             }
@@ -76,7 +58,7 @@ public class Gps103ProtocolDecoder extends BaseProtocolDecoder {
         }
 
         // Send response #2
-        if (sentence.length() == 15 && Character.isDigit(sentence.charAt(0))) {
+        if (parser.length() == 15 && Character.isDigit(parser.peek())) {
             if (channel != null) {
                 channel.write("ON", remoteAddress);
             }
@@ -84,48 +66,57 @@ public class Gps103ProtocolDecoder extends BaseProtocolDecoder {
         }
 
         // Parse message
-        Matcher parser = pattern.matcher(sentence);
-        if (!parser.matches()) {
+        if (!parser.skip("imei:") || parser.countDigits() == 0 || parser.peek(parser.countDigits()) != ',') {
             return null;
         }
+        String imei = parser.readField();
 
         // Create new position
         Position position = new Position();
         ExtendedInfoFormatter extendedInfo = new ExtendedInfoFormatter(getProtocol());
 
-        Integer index = 1;
-
-        // Get device by IMEI
-        String imei = parser.group(index++);
-        try {
-            position.setDeviceId(getDataManager().getDeviceByImei(imei).getId());
-        } catch(Exception error) {
-            Log.warning("Unknown device - " + imei);
+        // Alarm message
+        if (parser.isEmptyField()) {
             return null;
         }
+        extendedInfo.set("alarm", parser.readField());
 
-        // Alarm message
-        extendedInfo.set("alarm", parser.group(index++));
-        
         // Date
-        Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-        time.clear();
-        time.set(Calendar.YEAR, 2000 + Integer.valueOf(parser.group(index++)));
-        time.set(Calendar.MONTH, Integer.valueOf(parser.group(index++)) - 1);
-        time.set(Calendar.DAY_OF_MONTH, Integer.valueOf(parser.group(index++)));
-        
-        int localHours = Integer.valueOf(parser.group(index++));
-        int localMinutes = Integer.valueOf(parser.group(index++));
-        
-        int utcHours = Integer.valueOf(parser.group(index++));
-        int utcMinutes = Integer.valueOf(parser.group(index++));
+        DateBuilder time = new DateBuilder();
+        time.setYear(2000 + parser.readDigits(2));
+        parser.skip('/');
+        time.setMonth(parser.readDigits(2));
+        parser.skip('/');
+        time.setDay(parser.readDigits(2));
+        parser.skip(' ');
+
+        int localHours = parser.readDigits(2);
+        parser.skip(':');
+        int localMinutes = parser.readDigits(2);
+        if (parser.hasDigits(2)) {
+            parser.readDigits(2); // local seconds
+        }
+        parser.expect(',');
+        parser.skipField(); // phone
+
+        // Full or low GPS signal
+        char signal = parser.readChar();
+        if (signal != 'F' && signal != 'L') {
+            return null;
+        }
+        parser.expect(',');
+
+        int utcHours = parser.readDigits(2);
+        int utcMinutes = parser.readDigits(2);
 
         // Time
-        time.set(Calendar.HOUR_OF_DAY, localHours);
-        time.set(Calendar.MINUTE, localMinutes);
-        time.set(Calendar.SECOND, Integer.valueOf(parser.group(index++)));
-        time.set(Calendar.MILLISECOND, Integer.valueOf(parser.group(index++)));
-        
+        time.setHour(localHours);
+        time.setMinute(localMinutes);
+        time.setSecond(parser.readDigits(2));
+        parser.expect('.');
+        time.setMillisecond(parser.readInt());
+        parser.expect(',');
+
         // Timezone calculation
         int deltaMinutes = (localHours - utcHours) * 60 + localMinutes - utcMinutes;
         if (deltaMinutes <= -12 * 60) {
@@ -133,54 +124,71 @@ public class Gps103ProtocolDecoder extends BaseProtocolDecoder {
         } else if (deltaMinutes > 12 * 60) {
             deltaMinutes -= 24 * 60;
         }
-        time.add(Calendar.MINUTE, -deltaMinutes);
-        position.setTime(time.getTime());
+        time.addMinute(-deltaMinutes);
+        position.setTime(time.getDate());
 
         // Validity
-        position.setValid(parser.group(index++).compareTo("A") == 0);
+        char validity = parser.readChar();
+        if (validity != 'A' && validity != 'V') {
+            return null;
+        }
+        position.setValid(validity == 'A');
+        parser.expect(',');
 
         // Latitude
-        Double latitude = Double.valueOf(parser.group(index++));
-        latitude += Double.valueOf(parser.group(index++)) / 60;
-        if (parser.group(index++).compareTo("S") == 0) latitude = -latitude;
-        position.setLatitude(latitude);
+        double latitude = parser.readCoordinate();
+        parser.expect(',');
+        position.setLatitude(latitude * parser.readHemisphere());
+        parser.expect(',');
 
         // Longitude
-        Double longitude = Double.valueOf(parser.group(index++));
-        longitude += Double.valueOf(parser.group(index++)) / 60;
-        String hemisphere = parser.group(index++);
-        if (hemisphere != null) {
-            if (hemisphere.compareTo("W") == 0) longitude = -longitude;
+        double longitude = parser.readCoordinate();
+        parser.expect(',');
+        if (!parser.isEmptyField() && parser.readHemisphere() < 0) {
+            longitude = -longitude;
         }
         position.setLongitude(longitude);
+        parser.expect(',');
 
         // Speed
-        position.setSpeed(Double.valueOf(parser.group(index++)));
+        position.setSpeed(parser.readDouble());
+        parser.expect(',');
 
         // Course
-        String course = parser.group(index++);
-        if (course != null) {
-            position.setCourse(Double.valueOf(course));
+        if (parser.countDigits() > 0) {
+            position.setCourse(parser.readDouble());
         } else {
             position.setCourse(0.0);
         }
+        parser.skip(',');
 
         // Altitude
-        String altitude = parser.group(index++);
-        if (altitude != null) {
-            position.setAltitude(Double.valueOf(altitude));
+        if (parser.countDigits() > 0) {
+            position.setAltitude(parser.readDouble());
         } else {
             position.setAltitude(0.0);
         }
+        parser.skip(',');
+
+        if (parser.hasError()) {
+            return null;
+        }
 
         // Additional data
-        extendedInfo.set("io1", parser.group(index++));
-        extendedInfo.set("io2", parser.group(index++));
-        extendedInfo.set("io3", parser.group(index++));
-        extendedInfo.set("io4", parser.group(index++));
+        for (int i = 1; i <= 4 && parser.hasNext(); i++) {
+            extendedInfo.set("io" + i, parser.readField());
+        }
+
+        // Get device by IMEI
+        try {
+            position.setDeviceId(getDataManager().getDeviceByImei(imei).getId());
+        } catch(Exception error) {
+            Log.warning("Unknown device - " + imei);
+            return null;
+        }
 
         // Extended info
-        position.setExtendedInfo(extendedInfo.toString());
+        position.setExtendedInfo(extendedInfo);
 
         return position;
     }
@@ -16,21 +16,16 @@
 package org.traccar.protocol;
 
 import org.jboss.netty.buffer.ChannelBuffer;
-import org.jboss.netty.channel.Channel;
-import org.jboss.netty.channel.ChannelHandlerContext;
-import org.jboss.netty.handler.codec.frame.FrameDecoder;
+import org.traccar.LengthFieldFrameDecoder;
 
-public class Gt06FrameDecoder extends FrameDecoder {
+public class Gt06FrameDecoder extends LengthFieldFrameDecoder {
 
     @Override
-    protected Object decode(
-            ChannelHandlerContext ctx,
-            Channel channel,
-            ChannelBuffer buf) throws Exception {
-        
+    protected int getFrameLength(ChannelBuffer buf) {
+
         // Check minimum length
         if (buf.readableBytes() < 5) {
-            return null;
+            return 0;
         }
         
         int length = 2 + 2; // head and tail
@@ -40,13 +35,8 @@ public class Gt06FrameDecoder extends FrameDecoder {
         } else {
             length += 2 + buf.getUnsignedShort(buf.readerIndex() + 2);
         }
-        
-        // Check length and return buffer
-        if (buf.readableBytes() >= length) {
-            return buf.readBytes(length);
-        }
 
-        return null;
+        return length;
     }
 
 }
@@ -23,17 +23,17 @@ import org.jboss.netty.channel.ChannelHandlerContext;
 import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
 import org.traccar.helper.Crc;
+import org.traccar.helper.DateBuilder;
 import org.traccar.helper.Log;
+import org.traccar.helper.ResponseTemplate;
 import org.traccar.model.*;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.Calendar;
 import java.util.List;
 import java.util.Properties;
-import java.util.TimeZone;
 
 public class Gt06ProtocolDecoderCopy extends BaseProtocolDecoder {
 
@@ -55,15 +55,14 @@ public class Gt06ProtocolDecoderCopy extends BaseProtocolDecoder {
 
 
 
-    private final TimeZone timeZone = TimeZone.getTimeZone("UTC");
+    private long timeZoneOffset;
 
     public Gt06ProtocolDecoderCopy(DataManager dataManager, String protocol, Properties properties) {
         super(dataManager, protocol, properties);
 
         if (properties != null) {
             if (properties.containsKey(protocol + ".timezone")) {
-                timeZone.setRawOffset(
-                        Integer.valueOf(properties.getProperty(protocol + ".timezone")) * 1000);
+                timeZoneOffset = Integer.valueOf(properties.getProperty(protocol + ".timezone")) * 1000L;
             }
         }
     }
@@ -101,17 +100,20 @@ public class Gt06ProtocolDecoderCopy extends BaseProtocolDecoder {
     private static final int MSG_COMMAND_2 = 0x82;
     private static final int MSG_COMMAND_RES = 0x79;
 
+    private static final ResponseTemplate RESPONSE = new ResponseTemplate(
+            0x78, 0x78, // header
+            0x05, // size
+            0x00, // type
+            0x00, 0x00, // index
+            0x00, 0x00, // crc
+            0x0D, 0x0A); // ending
+
     private static void sendResponse(Channel channel, int type, int index) {
         if (channel != null) {
-            ChannelBuffer response = ChannelBuffers.directBuffer(10);
-            response.writeByte(0x78);
-            response.writeByte(0x78); // header
-            response.writeByte(0x05); // size
-            response.writeByte(type);
-            response.writeShort(index);
-            response.writeShort(Crc.crc16Ccitt(response.toByteBuffer(2, 4)));
-            response.writeByte(0x0D);
-            response.writeByte(0x0A); // ending
+            ChannelBuffer response = RESPONSE.create();
+            response.setByte(3, type);
+            response.setShort(4, index);
+            response.setShort(6, Crc.crc16Ccitt(response.toByteBuffer(2, 4)));
             channel.write(response);
         }
     }
@@ -182,7 +184,7 @@ public class Gt06ProtocolDecoderCopy extends BaseProtocolDecoder {
                 if ((extensionBits & 0x8) != 0) {
                     offset = -offset;
                 }
-                timeZone.setRawOffset(offset);
+                timeZoneOffset = offset;
             }
 
             try {
@@ -219,15 +221,14 @@ public class Gt06ProtocolDecoderCopy extends BaseProtocolDecoder {
             ExtendedInfoFormatter extendedInfo = new ExtendedInfoFormatter(getProtocol());
 
             // Date and time
-            Calendar time = Calendar.getInstance(timeZone);
-            time.clear();
-            time.set(Calendar.YEAR, 2000 + buf.readUnsignedByte());
-            time.set(Calendar.MONTH, buf.readUnsignedByte() - 1);
-            time.set(Calendar.DAY_OF_MONTH, buf.readUnsignedByte());
-            time.set(Calendar.HOUR_OF_DAY, buf.readUnsignedByte());
-            time.set(Calendar.MINUTE, buf.readUnsignedByte());
-            time.set(Calendar.SECOND, buf.readUnsignedByte());
-            position.setTime(time.getTime());
+            DateBuilder time = new DateBuilder(timeZoneOffset);
+            time.setYear(2000 + buf.readUnsignedByte());
+            time.setMonth(buf.readUnsignedByte());
+            time.setDay(buf.readUnsignedByte());
+            time.setHour(buf.readUnsignedByte());
+            time.setMinute(buf.readUnsignedByte());
+            time.setSecond(buf.readUnsignedByte());
+            position.setTime(time.getDate());
 
             // GPS length and Satellites count
             int gpsLength = buf.readUnsignedByte();
@@ -300,7 +301,7 @@ public class Gt06ProtocolDecoderCopy extends BaseProtocolDecoder {
             int index = buf.readUnsignedShort();
             extendedInfo.set("index", index);
             sendResponse(channel, type, index);
-            position.setExtendedInfo(extendedInfo.toString());
+            position.setExtendedInfo(extendedInfo);
 
             return position;
         } else {
@@ -345,7 +346,7 @@ public class Gt06ProtocolDecoderCopy extends BaseProtocolDecoder {
 
     private void sendSettingPacket(Channel channel, int index, InputStream data,int dataLength) throws IOException {
 
-        ChannelBuffer response = ChannelBuffers.directBuffer(DEFAULT_PACKET_LENGTH+dataLength);
+        ChannelBuffer response = ChannelBuffers.buffer(DEFAULT_PACKET_LENGTH+dataLength);
         response.writeByte(0x78);
         response.writeByte(0x78);
         response.writeByte(DEFAULT_DATA_SIZE+dataLength);
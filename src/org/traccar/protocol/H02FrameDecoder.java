@@ -20,12 +20,14 @@ import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelHandlerContext;
 import org.jboss.netty.handler.codec.frame.FrameDecoder;
-import org.traccar.helper.ChannelBufferTools;
+import org.traccar.helper.DelimiterScanner;
 
 public class H02FrameDecoder extends FrameDecoder {
     
     private static final int MESSAGE_LENGTH = 32;
 
+    private final DelimiterScanner scanner = new DelimiterScanner("#");
+
     @Override
     protected Object decode(
             ChannelHandlerContext ctx,
@@ -36,6 +38,7 @@ public class H02FrameDecoder extends FrameDecoder {
 
         while (!marker.equals("*") && !marker.equals("$") && buf.readableBytes() > 0) {
             buf.skipBytes(1);
+            scanner.reset();
             if (buf.readableBytes() > 0) {
                 marker = buf.toString(buf.readerIndex(), 1, Charset.defaultCharset());
             }
@@ -44,8 +47,8 @@ public class H02FrameDecoder extends FrameDecoder {
         if (marker.equals("*")) {
 
             // Return text message
-            Integer index = ChannelBufferTools.find(buf, buf.readerIndex(), buf.readableBytes(), "#");
-            if (index != null) {
+            int index = scanner.find(buf, buf == cumulation);
+            if (index >= 0) {
                 return buf.readBytes(index + 1 - buf.readerIndex());
             }
             
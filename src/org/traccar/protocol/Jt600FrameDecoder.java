@@ -20,10 +20,12 @@ import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelHandlerContext;
 import org.jboss.netty.handler.codec.frame.FrameDecoder;
-import org.traccar.helper.ChannelBufferTools;
+import org.traccar.helper.DelimiterScanner;
 
 public class Jt600FrameDecoder extends FrameDecoder {
 
+    private final DelimiterScanner scanner = new DelimiterScanner(")");
+
     @Override
     protected Object decode(
             ChannelHandlerContext ctx,
@@ -47,9 +49,9 @@ public class Jt600FrameDecoder extends FrameDecoder {
             }
         } else if (first == '(') {
             // Find ending
-            Integer endIndex = ChannelBufferTools.find(buf, buf.readerIndex(), available, ")");
-            if (endIndex != null) {
-                return buf.readBytes(endIndex + 1);
+            int endIndex = scanner.find(buf, buf == cumulation);
+            if (endIndex >= 0) {
+                return buf.readBytes(endIndex + 1 - buf.readerIndex());
             }
         } else {
             // Unknown message
@@ -15,9 +15,7 @@
  */
 package org.traccar.protocol;
 
-import java.util.Calendar;
 import java.util.Properties;
-import java.util.TimeZone;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBuffers;
@@ -28,6 +26,7 @@ import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
 import org.traccar.helper.ChannelBufferTools;
 import org.traccar.helper.Crc;
+import org.traccar.helper.DateBuilder;
 import org.traccar.helper.Log;
 import org.traccar.model.ExtendedInfoFormatter;
 import org.traccar.model.Position;
@@ -87,15 +86,14 @@ public class KhdProtocolDecoder extends BaseProtocolDecoder {
             }
             
             // Date and time
-            Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-            time.clear();
-            time.set(Calendar.YEAR, 2000 + ChannelBufferTools.readHexInteger(buf, 2));
-            time.set(Calendar.MONTH, ChannelBufferTools.readHexInteger(buf, 2) - 1);
-            time.set(Calendar.DAY_OF_MONTH, ChannelBufferTools.readHexInteger(buf, 2));
-            time.set(Calendar.HOUR_OF_DAY, ChannelBufferTools.readHexInteger(buf, 2));
-            time.set(Calendar.MINUTE, ChannelBufferTools.readHexInteger(buf, 2));
-            time.set(Calendar.SECOND, ChannelBufferTools.readHexInteger(buf, 2));
-            position.setTime(time.getTime());
+            DateBuilder time = new DateBuilder();
+            time.setYear(2000 + ChannelBufferTools.readHexInteger(buf, 2));
+            time.setMonth(ChannelBufferTools.readHexInteger(buf, 2));
+            time.setDay(ChannelBufferTools.readHexInteger(buf, 2));
+            time.setHour(ChannelBufferTools.readHexInteger(buf, 2));
+            time.setMinute(ChannelBufferTools.readHexInteger(buf, 2));
+            time.setSecond(ChannelBufferTools.readHexInteger(buf, 2));
+            position.setTime(time.getDate());
 
             // Location
             position.setLatitude(ChannelBufferTools.readCoordinate(buf));
@@ -127,7 +125,7 @@ public class KhdProtocolDecoder extends BaseProtocolDecoder {
             
             // TODO: parse extra data
 
-            position.setExtendedInfo(extendedInfo.toString());
+            position.setExtendedInfo(extendedInfo);
             return position;
         }
 
@@ -136,7 +134,7 @@ public class KhdProtocolDecoder extends BaseProtocolDecoder {
             buf.skipBytes(4); // serial number
             buf.readByte(); // reserved
             
-            ChannelBuffer response = ChannelBuffers.directBuffer(10);
+            ChannelBuffer response = ChannelBuffers.buffer(10);
             response.writeByte(0x29); response.writeByte(0x29); // header
             response.writeByte(MSG_CONFIRMATION);
             response.writeShort(5); // size
@@ -15,9 +15,7 @@
  */
 package org.traccar.protocol;
 
-import java.util.Calendar;
 import java.util.Properties;
-import java.util.TimeZone;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.channel.Channel;
@@ -25,6 +23,7 @@ import org.jboss.netty.channel.ChannelHandlerContext;
 
 import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
+import org.traccar.helper.DateBuilder;
 import org.traccar.helper.Log;
 import org.traccar.model.ExtendedInfoFormatter;
 import org.traccar.model.Position;
@@ -82,15 +81,14 @@ public class M2mProtocolDecoder extends BaseProtocolDecoder {
             position.setDeviceId(deviceId);
 
             // Date and time
-            Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-            time.clear();
-            time.set(Calendar.DAY_OF_MONTH, buf.readUnsignedByte() & 0x3f);
-            time.set(Calendar.MONTH, (buf.readUnsignedByte() & 0x3f) - 1);
-            time.set(Calendar.YEAR, 2000 + buf.readUnsignedByte());
-            time.set(Calendar.HOUR_OF_DAY, buf.readUnsignedByte() & 0x3f);
-            time.set(Calendar.MINUTE, buf.readUnsignedByte() & 0x7f);
-            time.set(Calendar.SECOND, buf.readUnsignedByte() & 0x7f);
-            position.setTime(time.getTime());
+            DateBuilder time = new DateBuilder();
+            time.setDay(buf.readUnsignedByte() & 0x3f);
+            time.setMonth(buf.readUnsignedByte() & 0x3f);
+            time.setYear(2000 + buf.readUnsignedByte());
+            time.setHour(buf.readUnsignedByte() & 0x3f);
+            time.setMinute(buf.readUnsignedByte() & 0x7f);
+            time.setSecond(buf.readUnsignedByte() & 0x7f);
+            position.setTime(time.getDate());
             
             // Location
             int degrees = buf.readUnsignedByte();
@@ -132,7 +130,7 @@ public class M2mProtocolDecoder extends BaseProtocolDecoder {
 
             // TODO decode everything else
 
-            position.setExtendedInfo(extendedInfo.toString());
+            position.setExtendedInfo(extendedInfo);
             return position;
 
         }
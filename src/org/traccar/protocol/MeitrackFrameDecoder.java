@@ -17,33 +17,25 @@ package org.traccar.protocol;
 
 import java.nio.charset.Charset;
 import org.jboss.netty.buffer.ChannelBuffer;
-import org.jboss.netty.channel.Channel;
-import org.jboss.netty.channel.ChannelHandlerContext;
-import org.jboss.netty.handler.codec.frame.FrameDecoder;
+import org.traccar.LengthFieldFrameDecoder;
 import org.traccar.helper.ChannelBufferTools;
 
-public class MeitrackFrameDecoder extends FrameDecoder {
+public class MeitrackFrameDecoder extends LengthFieldFrameDecoder {
     
     @Override
-    protected Object decode(
-            ChannelHandlerContext ctx,
-            Channel channel,
-            ChannelBuffer buf) throws Exception {
+    protected int getFrameLength(ChannelBuffer buf) {
 
         if (buf.readableBytes() < 10) {
-            return null;
+            return 0;
         }
         
         Integer index = ChannelBufferTools.find(buf, 0, buf.readableBytes(), ",");
         if (index != null)
         {
-            int length = index + Integer.valueOf(buf.toString(3, index - 3, Charset.defaultCharset()));
-            if (buf.readableBytes() >= length) {
-                return buf.readBytes(length);
-            }
+            return index + Integer.valueOf(buf.toString(3, index - 3, Charset.defaultCharset()));
         }
 
-        return null;
+        return 0;
     }
 
 }
@@ -16,12 +16,10 @@
 package org.traccar.protocol;
 
 import java.nio.charset.Charset;
-import java.util.Calendar;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Properties;
-import java.util.TimeZone;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBuffers;
@@ -36,6 +34,7 @@ import org.jboss.netty.handler.codec.http.HttpVersion;
 import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
 import org.traccar.helper.ChannelBufferTools;
+import org.traccar.helper.DateBuilder;
 import org.traccar.helper.Log;
 import org.traccar.model.ExtendedInfoFormatter;
 import org.traccar.model.Position;
@@ -60,7 +59,7 @@ public class Mta6ProtocolDecoder extends BaseProtocolDecoder {
                 HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
 
         ChannelBuffer begin = ChannelBuffers.copiedBuffer("#ACK#", Charset.defaultCharset());
-        ChannelBuffer end = ChannelBuffers.directBuffer(3);
+        ChannelBuffer end = ChannelBuffers.buffer(3);
         end.writeByte(packetId);
         end.writeByte(packetCount);
         end.writeByte(0);
@@ -109,12 +108,7 @@ public class Mta6ProtocolDecoder extends BaseProtocolDecoder {
                 weekNumber = buf.readUnsignedShort();
             }
 
-            Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-            time.clear();
-            time.set(Calendar.YEAR, 1980);
-            time.set(Calendar.MONTH, 0);
-            time.set(Calendar.DAY_OF_MONTH, 6);
-            long offset = time.getTimeInMillis();
+            long offset = DateBuilder.toMillis(1980, 1, 6, 0, 0, 0);
 
             return new Date(offset + weekNumber * 7 * 24 * 60 * 60 * 1000 + weekTime);
         }
@@ -202,7 +196,7 @@ public class Mta6ProtocolDecoder extends BaseProtocolDecoder {
                     extendedInfo.set("satellites", satellites);
                 }
 
-                position.setExtendedInfo(extendedInfo.toString());
+                position.setExtendedInfo(extendedInfo);
                 positions.add(position);
             }
         } catch (IndexOutOfBoundsException error) {
@@ -284,7 +278,7 @@ public class Mta6ProtocolDecoder extends BaseProtocolDecoder {
         
         // TODO: process other data
 
-        position.setExtendedInfo(extendedInfo.toString());
+        position.setExtendedInfo(extendedInfo);
         
         return position;
     }
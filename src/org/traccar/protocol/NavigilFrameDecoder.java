@@ -16,43 +16,29 @@
 package org.traccar.protocol;
 
 import org.jboss.netty.buffer.ChannelBuffer;
-import org.jboss.netty.channel.Channel;
-import org.jboss.netty.channel.ChannelHandlerContext;
-import org.jboss.netty.handler.codec.frame.FrameDecoder;
+import org.traccar.LengthFieldFrameDecoder;
 
-public class NavigilFrameDecoder extends FrameDecoder {
+public class NavigilFrameDecoder extends LengthFieldFrameDecoder {
 
     private static final int MESSAGE_HEADER = 20;
     private static final long PREAMBLE = 0x2477F5F6;
     
     @Override
-    protected Object decode(
-            ChannelHandlerContext ctx,
-            Channel channel,
-            ChannelBuffer buf) throws Exception {
-        
+    protected int getFrameLength(ChannelBuffer buf) {
+
         // Check minimum length
         if (buf.readableBytes() < MESSAGE_HEADER) {
-            return null;
-        }
-        
-        // Check for preamble
-        boolean hasPreamble = false;
-        if (buf.getUnsignedInt(buf.readerIndex()) == PREAMBLE) {
-            hasPreamble = true;
+            return 0;
         }
-        
-        // Check length and return buffer
+
+        // Preamble is skipped only when the whole frame is available
         int length = buf.getUnsignedShort(buf.readerIndex() + 6);
-        if (buf.readableBytes() >= length) {
-            if (hasPreamble) {
-                buf.readUnsignedInt();
-                length -= 4;
-            }
-            return buf.readBytes(length);
+        if (buf.readableBytes() >= length && buf.getUnsignedInt(buf.readerIndex()) == PREAMBLE) {
+            buf.skipBytes(4);
+            length -= 4;
         }
 
-        return null;
+        return length;
     }
 
 }
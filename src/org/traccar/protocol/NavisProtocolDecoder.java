@@ -17,11 +17,9 @@ package org.traccar.protocol;
 
 import java.nio.ByteOrder;
 import java.nio.charset.Charset;
-import java.util.Calendar;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Properties;
-import java.util.TimeZone;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBuffers;
@@ -30,6 +28,7 @@ import org.jboss.netty.channel.ChannelHandlerContext;
 
 import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
+import org.traccar.helper.DateBuilder;
 import org.traccar.helper.Log;
 import org.traccar.model.ExtendedInfoFormatter;
 import org.traccar.model.Position;
@@ -107,15 +106,14 @@ public class NavisProtocolDecoder extends BaseProtocolDecoder {
         extendedInfo.set("event", buf.readUnsignedShort());
 
         // Event time
-        Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-        time.clear();
-        time.set(Calendar.HOUR_OF_DAY, buf.readUnsignedByte());
-        time.set(Calendar.MINUTE, buf.readUnsignedByte());
-        time.set(Calendar.SECOND, buf.readUnsignedByte());
-        time.set(Calendar.DAY_OF_MONTH, buf.readUnsignedByte());
-        time.set(Calendar.MONTH, buf.readUnsignedByte());
-        time.set(Calendar.YEAR, 2000 + buf.readUnsignedByte());
-        extendedInfo.set("time", time.getTimeInMillis());
+        DateBuilder time = new DateBuilder();
+        time.setHour(buf.readUnsignedByte());
+        time.setMinute(buf.readUnsignedByte());
+        time.setSecond(buf.readUnsignedByte());
+        time.setDay(buf.readUnsignedByte());
+        time.setMonth(buf.readUnsignedByte() + 1);
+        time.setYear(2000 + buf.readUnsignedByte());
+        extendedInfo.set("time", time.getMillis());
 
         // Alarm status
         extendedInfo.set("alarm", buf.readUnsignedByte());
@@ -167,14 +165,13 @@ public class NavisProtocolDecoder extends BaseProtocolDecoder {
             position.setValid((locationStatus & 0x02) == 0x02);
 
             // Location time
-            time.clear();
-            time.set(Calendar.HOUR_OF_DAY, buf.readUnsignedByte());
-            time.set(Calendar.MINUTE, buf.readUnsignedByte());
-            time.set(Calendar.SECOND, buf.readUnsignedByte());
-            time.set(Calendar.DAY_OF_MONTH, buf.readUnsignedByte());
-            time.set(Calendar.MONTH, buf.readUnsignedByte());
-            time.set(Calendar.YEAR, 2000 + buf.readUnsignedByte());
-            position.setTime(time.getTime());
+            time.setHour(buf.readUnsignedByte());
+            time.setMinute(buf.readUnsignedByte());
+            time.setSecond(buf.readUnsignedByte());
+            time.setDay(buf.readUnsignedByte());
+            time.setMonth(buf.readUnsignedByte() + 1);
+            time.setYear(2000 + buf.readUnsignedByte());
+            position.setTime(time.getDate());
 
             // Location data
             position.setLatitude(buf.readFloat() / Math.PI * 180);
@@ -215,7 +212,7 @@ public class NavisProtocolDecoder extends BaseProtocolDecoder {
         }
 
         // Extended info
-        position.setExtendedInfo(extendedInfo.toString());
+        position.setExtendedInfo(extendedInfo);
 
         return new ParseResult(index, position);
     }
@@ -281,7 +278,7 @@ public class NavisProtocolDecoder extends BaseProtocolDecoder {
     }
 
     private void sendReply(Channel channel, ChannelBuffer data) {
-        ChannelBuffer header = ChannelBuffers.directBuffer(ByteOrder.LITTLE_ENDIAN, 16);
+        ChannelBuffer header = ChannelBuffers.buffer(ByteOrder.LITTLE_ENDIAN, 16);
         header.writeBytes(ChannelBuffers.copiedBuffer(ByteOrder.LITTLE_ENDIAN, prefix, charset));
         header.writeInt((int) deviceId);
         header.writeInt((int) serverId);
@@ -18,9 +18,7 @@ package org.traccar.protocol;
 import java.net.SocketAddress;
 import java.nio.ByteOrder;
 import java.nio.charset.Charset;
-import java.util.Calendar;
 import java.util.Properties;
-import java.util.TimeZone;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBuffers;
@@ -29,6 +27,7 @@ import org.jboss.netty.channel.ChannelHandlerContext;
 
 import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
+import org.traccar.helper.DateBuilder;
 import org.traccar.helper.Log;
 import org.traccar.model.ExtendedInfoFormatter;
 import org.traccar.model.Position;
@@ -99,15 +98,14 @@ public class NoranProtocolDecoder extends BaseProtocolDecoder {
 
             // Time
             long timeValue = buf.readUnsignedInt();
-            Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-            time.clear();
-            time.set(Calendar.YEAR, 2000 + (int) (timeValue >> 26));
-            time.set(Calendar.MONTH, (int) (timeValue >> 22 & 0x0f) - 1);
-            time.set(Calendar.DAY_OF_MONTH, (int) (timeValue >> 17 & 0x1f));
-            time.set(Calendar.HOUR_OF_DAY, (int) (timeValue >> 12 & 0x1f));
-            time.set(Calendar.MINUTE, (int) (timeValue >> 6 & 0x3f));
-            time.set(Calendar.SECOND, (int) (timeValue & 0x3f));
-            position.setTime(time.getTime());
+            DateBuilder time = new DateBuilder();
+            time.setYear(2000 + (int) (timeValue >> 26));
+            time.setMonth((int) (timeValue >> 22 & 0x0f));
+            time.setDay((int) (timeValue >> 17 & 0x1f));
+            time.setHour((int) (timeValue >> 12 & 0x1f));
+            time.setMinute((int) (timeValue >> 6 & 0x3f));
+            time.setSecond((int) (timeValue & 0x3f));
+            position.setTime(time.getDate());
 
             // Identification
             String id = buf.readBytes(11).toString(Charset.defaultCharset()).replaceAll("[^\\p{Print}]", "");
@@ -124,7 +122,7 @@ public class NoranProtocolDecoder extends BaseProtocolDecoder {
             // Fuel
             extendedInfo.set("fuel", buf.readUnsignedByte());
             
-            position.setExtendedInfo(extendedInfo.toString());
+            position.setExtendedInfo(extendedInfo);
             return position;
         }
 
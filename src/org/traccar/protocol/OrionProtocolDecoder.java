@@ -15,11 +15,9 @@
  */
 package org.traccar.protocol;
 
-import java.util.Calendar;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Properties;
-import java.util.TimeZone;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBuffers;
@@ -28,6 +26,7 @@ import org.jboss.netty.channel.ChannelHandlerContext;
 
 import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
+import org.traccar.helper.DateBuilder;
 import org.traccar.helper.Log;
 import org.traccar.model.ExtendedInfoFormatter;
 import org.traccar.model.Position;
@@ -43,7 +42,7 @@ public class OrionProtocolDecoder extends BaseProtocolDecoder {
 
     private static void sendResponse(Channel channel, ChannelBuffer buf) {
         if (channel != null) {
-            ChannelBuffer response = ChannelBuffers.directBuffer(4);
+            ChannelBuffer response = ChannelBuffers.buffer(4);
             response.writeByte('*');
             response.writeShort(buf.getUnsignedShort(buf.writerIndex() - 2));
             response.writeByte(buf.getUnsignedByte(buf.writerIndex() - 3));
@@ -106,22 +105,21 @@ public class OrionProtocolDecoder extends BaseProtocolDecoder {
                 position.setSpeed(buf.readUnsignedShort() * 0.0539957);
                 
                 // Date and time
-                Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-                time.clear();
-                time.set(Calendar.YEAR, 2000 + buf.readUnsignedByte());
-                time.set(Calendar.MONTH, buf.readUnsignedByte() - 1);
-                time.set(Calendar.DAY_OF_MONTH, buf.readUnsignedByte());
-                time.set(Calendar.HOUR_OF_DAY, buf.readUnsignedByte());
-                time.set(Calendar.MINUTE, buf.readUnsignedByte());
-                time.set(Calendar.SECOND, buf.readUnsignedByte());
-                position.setTime(time.getTime());
+                DateBuilder time = new DateBuilder();
+                time.setYear(2000 + buf.readUnsignedByte());
+                time.setMonth(buf.readUnsignedByte());
+                time.setDay(buf.readUnsignedByte());
+                time.setHour(buf.readUnsignedByte());
+                time.setMinute(buf.readUnsignedByte());
+                time.setSecond(buf.readUnsignedByte());
+                position.setTime(time.getDate());
                 
                 // Accuracy
                 int satellites = buf.readUnsignedByte();
                 extendedInfo.set("satellites", satellites);
                 position.setValid(satellites >= 3);
                 
-                position.setExtendedInfo(extendedInfo.toString());
+                position.setExtendedInfo(extendedInfo);
                 positions.add(position);
             }
             
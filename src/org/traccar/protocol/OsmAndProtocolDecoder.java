@@ -121,7 +121,7 @@ public class OsmAndProtocolDecoder extends BaseProtocolDecoder {
             extendedInfo.set("description", params.get("desc").get(0));
         }
 
-        position.setExtendedInfo(extendedInfo.toString());
+        position.setExtendedInfo(extendedInfo);
         
         // Send response
         if (channel != null) {
@@ -17,11 +17,9 @@ package org.traccar.protocol;
 
 import java.nio.ByteOrder;
 import java.nio.charset.Charset;
-import java.util.Calendar;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Properties;
-import java.util.TimeZone;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBuffers;
@@ -36,6 +34,7 @@ import org.jboss.netty.handler.codec.http.QueryStringDecoder;
 
 import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
+import org.traccar.helper.DateBuilder;
 import org.traccar.helper.Log;
 import org.traccar.model.ExtendedInfoFormatter;
 import org.traccar.model.Position;
@@ -111,15 +110,14 @@ public class PiligrimProtocolDecoder extends BaseProtocolDecoder {
                     position.setDeviceId(deviceId);
                     
                     // Time
-                    Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-                    time.clear();
-                    time.set(Calendar.DAY_OF_MONTH, buf.readUnsignedByte());
-                    time.set(Calendar.MONTH, (buf.getByte(buf.readerIndex()) & 0x0f) - 1);
-                    time.set(Calendar.YEAR, 2010 + (buf.readUnsignedByte() >> 4));
-                    time.set(Calendar.HOUR_OF_DAY, buf.readUnsignedByte());
-                    time.set(Calendar.MINUTE, buf.readUnsignedByte());
-                    time.set(Calendar.SECOND, buf.readUnsignedByte());
-                    position.setTime(time.getTime());
+                    DateBuilder time = new DateBuilder();
+                    time.setDay(buf.readUnsignedByte());
+                    time.setMonth(buf.getByte(buf.readerIndex()) & 0x0f);
+                    time.setYear(2010 + (buf.readUnsignedByte() >> 4));
+                    time.setHour(buf.readUnsignedByte());
+                    time.setMinute(buf.readUnsignedByte());
+                    time.setSecond(buf.readUnsignedByte());
+                    position.setTime(time.getDate());
                     
                     // Latitude
                     double latitude = buf.readUnsignedByte();
@@ -172,7 +170,7 @@ public class PiligrimProtocolDecoder extends BaseProtocolDecoder {
                         
                     }
                     
-                    position.setExtendedInfo(extendedInfo.toString());
+                    position.setExtendedInfo(extendedInfo);
                     positions.add(position);
                     
                 } else if (type == MSG_EVENTS) {
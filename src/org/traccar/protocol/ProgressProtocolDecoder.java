@@ -17,11 +17,10 @@ package org.traccar.protocol;
 
 import java.nio.ByteOrder;
 import java.nio.charset.Charset;
-import java.util.Calendar;
+import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Properties;
-import java.util.TimeZone;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBuffers;
@@ -87,7 +86,7 @@ public class ProgressProtocolDecoder extends BaseProtocolDecoder {
         if (lastIndex == 0) {
             lastIndex = newIndex;
         } else if (newIndex > lastIndex) {
-            ChannelBuffer request = ChannelBuffers.directBuffer(ByteOrder.LITTLE_ENDIAN, 12);
+            ChannelBuffer request = ChannelBuffers.buffer(ByteOrder.LITTLE_ENDIAN, 12);
             request.writeShort(MSG_LOG_SYNC);
             request.writeShort(4);
             request.writeInt((int) lastIndex);
@@ -152,10 +151,7 @@ public class ProgressProtocolDecoder extends BaseProtocolDecoder {
                 }
 
                 // Time
-                Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-                time.clear();
-                time.setTimeInMillis(buf.readUnsignedInt() * 1000);
-                position.setTime(time.getTime());
+                position.setTime(new Date(buf.readUnsignedInt() * 1000));
 
                 // Latitude
                 position.setLatitude(((double) buf.readInt()) / 0x7FFFFFFF * 180.0);
@@ -232,7 +228,7 @@ public class ProgressProtocolDecoder extends BaseProtocolDecoder {
                 buf.readUnsignedInt();
 
                 // Extended info
-                position.setExtendedInfo(extendedInfo.toString());
+                position.setExtendedInfo(extendedInfo);
 
                 positions.add(position);
             }
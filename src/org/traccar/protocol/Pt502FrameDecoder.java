@@ -19,11 +19,13 @@ import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelHandlerContext;
 import org.jboss.netty.handler.codec.frame.FrameDecoder;
-import org.traccar.helper.ChannelBufferTools;
+import org.traccar.helper.DelimiterScanner;
 
 public class Pt502FrameDecoder extends FrameDecoder {
     
     private static final int BINARY_HEADER = 5;
+
+    private final DelimiterScanner scanner = new DelimiterScanner("\n");
     
     @Override
     protected Object decode(
@@ -47,9 +49,9 @@ public class Pt502FrameDecoder extends FrameDecoder {
             
         } else {
             
-            Integer index = ChannelBufferTools.find(buf, 0, buf.readableBytes(), "\n");
-            if (index != null) {
-                ChannelBuffer result = buf.readBytes(index - 1);
+            int index = scanner.find(buf, buf == cumulation);
+            if (index >= 0) {
+                ChannelBuffer result = buf.readBytes(index - 1 - buf.readerIndex());
                 buf.skipBytes(2);
                 return result;
             }
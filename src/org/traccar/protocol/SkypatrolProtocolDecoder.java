@@ -16,9 +16,7 @@
 package org.traccar.protocol;
 
 import java.nio.charset.Charset;
-import java.util.Calendar;
 import java.util.Properties;
-import java.util.TimeZone;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.channel.Channel;
@@ -26,6 +24,7 @@ import org.jboss.netty.channel.ChannelHandlerContext;
 
 import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
+import org.traccar.helper.DateBuilder;
 import org.traccar.helper.Log;
 import org.traccar.model.ExtendedInfoFormatter;
 import org.traccar.model.Position;
@@ -125,14 +124,13 @@ public class SkypatrolProtocolDecoder extends BaseProtocolDecoder {
                 buf.readUnsignedByte();
             }
 
-            Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-            time.clear();
+            DateBuilder time = new DateBuilder();
 
             // Date
             if (checkBit(mask, 8)) {
-                time.set(Calendar.DAY_OF_MONTH, buf.readUnsignedByte());
-                time.set(Calendar.MONTH, buf.readUnsignedByte() - 1);
-                time.set(Calendar.YEAR, 2000 + buf.readUnsignedByte());
+                time.setDay(buf.readUnsignedByte());
+                time.setMonth(buf.readUnsignedByte());
+                time.setYear(2000 + buf.readUnsignedByte());
             }
 
             // GPS status
@@ -162,12 +160,12 @@ public class SkypatrolProtocolDecoder extends BaseProtocolDecoder {
 
             // Time
             if (checkBit(mask, 14)) {
-                time.set(Calendar.HOUR_OF_DAY, buf.readUnsignedByte());
-                time.set(Calendar.MINUTE, buf.readUnsignedByte());
-                time.set(Calendar.SECOND, buf.readUnsignedByte());
+                time.setHour(buf.readUnsignedByte());
+                time.setMinute(buf.readUnsignedByte());
+                time.setSecond(buf.readUnsignedByte());
             }
 
-            position.setTime(time.getTime());
+            position.setTime(time.getDate());
 
             // Altitude
             if (checkBit(mask, 15)) {
@@ -220,7 +218,7 @@ public class SkypatrolProtocolDecoder extends BaseProtocolDecoder {
             }
 
             // Extended info
-            position.setExtendedInfo(extendedInfo.toString());
+            position.setExtendedInfo(extendedInfo);
 
             return position;
         }
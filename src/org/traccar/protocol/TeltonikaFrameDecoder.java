@@ -16,39 +16,26 @@
 package org.traccar.protocol;
 
 import org.jboss.netty.buffer.ChannelBuffer;
-import org.jboss.netty.channel.Channel;
-import org.jboss.netty.channel.ChannelHandlerContext;
-import org.jboss.netty.handler.codec.frame.FrameDecoder;
+import org.traccar.LengthFieldFrameDecoder;
 
-public class TeltonikaFrameDecoder extends FrameDecoder {
+public class TeltonikaFrameDecoder extends LengthFieldFrameDecoder {
 
     private static final int MESSAGE_MINIMUM_LENGTH = 12;
     
     @Override
-    protected Object decode(
-            ChannelHandlerContext ctx,
-            Channel channel,
-            ChannelBuffer buf) throws Exception {
-        
+    protected int getFrameLength(ChannelBuffer buf) {
+
         // Check minimum length
         if (buf.readableBytes() < MESSAGE_MINIMUM_LENGTH) {
-            return null;
+            return 0;
         }
 
-        // Read packet
         int length = buf.getUnsignedShort(buf.readerIndex());
         if (length > 0) {
-            if (buf.readableBytes() >= (length + 2)) {
-                return buf.readBytes(length + 2);
-            }
+            return length + 2;
         } else {
-            int dataLength = buf.getInt(buf.readerIndex() + 4);
-            if (buf.readableBytes() >= (dataLength + 12)) {
-                return buf.readBytes(dataLength + 12);
-            }
+            return buf.getInt(buf.readerIndex() + 4) + 12;
         }
-        
-        return null;
     }
 
 }
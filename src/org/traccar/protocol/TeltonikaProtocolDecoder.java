@@ -22,13 +22,13 @@ import java.util.List;
 import java.util.Properties;
 
 import org.jboss.netty.buffer.ChannelBuffer;
-import org.jboss.netty.buffer.ChannelBuffers;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelHandlerContext;
 
 import org.traccar.BaseProtocolDecoder;
 import org.traccar.database.DataManager;
 import org.traccar.helper.Log;
+import org.traccar.helper.ResponseTemplate;
 import org.traccar.model.ExtendedInfoFormatter;
 import org.traccar.model.Position;
 
@@ -40,6 +40,10 @@ public class TeltonikaProtocolDecoder extends BaseProtocolDecoder {
         super(dataManager, protocol, properties);
     }
 
+    private static final ResponseTemplate IDENTIFICATION_ACCEPTED = new ResponseTemplate(0x01);
+    private static final ResponseTemplate IDENTIFICATION_REJECTED = new ResponseTemplate(0x00);
+    private static final ResponseTemplate DATA_RESPONSE = new ResponseTemplate(0x00, 0x00, 0x00, 0x00);
+
     private void parseIdentification(Channel channel, ChannelBuffer buf) {
         boolean result = false;
 
@@ -53,9 +57,7 @@ public class TeltonikaProtocolDecoder extends BaseProtocolDecoder {
         }
         
         if (channel != null) {
-            ChannelBuffer response = ChannelBuffers.directBuffer(1);
-            response.writeByte(result ? 1 : 0);
-            channel.write(response);
+            channel.write(result ? IDENTIFICATION_ACCEPTED.get() : IDENTIFICATION_REJECTED.get());
         }
     }
 
@@ -201,13 +203,13 @@ public class TeltonikaProtocolDecoder extends BaseProtocolDecoder {
                 }
             }
         
-            position.setExtendedInfo(extendedInfo.toString());
+            position.setExtendedInfo(extendedInfo);
             positions.add(position);
         }
         
         if (channel != null) {
-            ChannelBuffer response = ChannelBuffers.directBuffer(4);
-            response.writeInt(count);
+            ChannelBuffer response = DATA_RESPONSE.create();
+            response.setInt(0, count);
             channel.write(response);
         }
         
@@ -17,21 +17,16 @@ package org.traccar.protocol;
 
 import java.nio.charset.Charset;
 import org.jboss.netty.buffer.ChannelBuffer;
-import org.jboss.netty.channel.Channel;
-import org.jboss.netty.channel.ChannelHandlerContext;
-import org.jboss.netty.handler.codec.frame.FrameDecoder;
+import org.traccar.LengthFieldFrameDecoder;
 
-public class TotemFrameDecoder extends FrameDecoder {
+public class TotemFrameDecoder extends LengthFieldFrameDecoder {
 
     @Override
-    protected Object decode(
-            ChannelHandlerContext ctx,
-            Channel channel,
-            ChannelBuffer buf) throws Exception {
-        
+    protected int getFrameLength(ChannelBuffer buf) {
+
         // Check minimum length
         if (buf.readableBytes() < 10) {
-            return null;
+            return 0;
         }
         
         // Trim end line
@@ -39,13 +34,7 @@ public class TotemFrameDecoder extends FrameDecoder {
             buf.skipBytes(2);
         }
 
-        // Read message
-        int length = Integer.parseInt(buf.toString(buf.readerIndex() + 2, 2, Charset.defaultCharset()), 16);
-        if (length <= buf.readableBytes()) {
-            return buf.readBytes(length);
-        }
-
-        return null;
+        return Integer.parseInt(buf.toString(buf.readerIndex() + 2, 2, Charset.defaultCharset()), 16);
     }
 
 }
@@ -19,12 +19,14 @@ import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelHandlerContext;
 import org.jboss.netty.handler.codec.frame.FrameDecoder;
-import org.traccar.helper.ChannelBufferTools;
+import org.traccar.helper.DelimiterScanner;
 
 public class WondexFrameDecoder extends FrameDecoder {
     
     private static final int KEEP_ALIVE_LENGTH = 8;
 
+    private final DelimiterScanner scanner = new DelimiterScanner("\r\n");
+
     @Override
     protected Object decode(
             ChannelHandlerContext ctx,
@@ -39,14 +41,15 @@ public class WondexFrameDecoder extends FrameDecoder {
 
             // Send response
             ChannelBuffer frame = buf.readBytes(KEEP_ALIVE_LENGTH);
+            scanner.reset();
             if (channel != null) {
                 channel.write(frame);
             }
 
         } else {
 
-            Integer index = ChannelBufferTools.find(buf, buf.readerIndex(), buf.writerIndex(), "\r\n");
-            if (index != null) {
+            int index = scanner.find(buf, buf == cumulation);
+            if (index >= 0) {
                 ChannelBuffer frame = buf.readBytes(index - buf.readerIndex());
                 buf.skipBytes(2);
                 return frame;
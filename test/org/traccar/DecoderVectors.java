@@ -0,0 +1,189 @@
+package org.traccar;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.traccar.helper.ChannelBufferTools;
+import org.traccar.helper.DecoderVerifier;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Sample messages of protocol decoders, stored in test/vectors/<decoder>.txt
+ *
+ * Decoder tests check the messages, benchmarks decode the same messages. One message per line: expected result,
+ * message type and value separated by spaces. Results are "verify" for positions accepted by DecoderVerifier, "null"
+ * for nothing decoded and "notNull" for any decoded object. Types are "string" for a string message, "text" for a
+ * buffer with the string in default charset, "hex" for a big endian buffer and "hexle" for a little endian buffer.
+ * Strings use backslash escapes \r, \n, \t, \\ and \\uXXXX. Empty lines and lines starting with "#" (comments and
+ * disabled messages) are ignored.
+ */
+public final class DecoderVectors {
+
+    private static final String RESOURCE_DIRECTORY = "/vectors/";
+
+    public static final String VERIFY = "verify";
+    public static final String NULL = "null";
+    public static final String NOT_NULL = "notNull";
+
+    /**
+     * Message with expected decoding result
+     */
+    public static class Vector {
+
+        private final String result;
+        private final Object message;
+        private final int line;
+
+        public Vector(String result, Object message, int line) {
+            this.result = result;
+            this.message = message;
+            this.line = line;
+        }
+
+        public String getResult() {
+            return result;
+        }
+
+        public Object getMessage() {
+            return message;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+    }
+
+    private DecoderVectors() {
+    }
+
+    /**
+     * Load vectors of given decoder (e.g. "Gt06" for vectors/Gt06.txt) in file order
+     */
+    public static List<Vector> loadVectors(String decoder) throws IOException {
+        InputStream input = DecoderVectors.class.getResourceAsStream(RESOURCE_DIRECTORY + decoder + ".txt");
+        if (input == null) {
+            throw new IOException("No vectors for " + decoder);
+        }
+
+        List<Vector> result = new ArrayList<Vector>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, Charset.forName("UTF-8")));
+        try {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(" ", 3);
+                if (fields.length != 3
+                        || !(fields[0].equals(VERIFY) || fields[0].equals(NULL) || fields[0].equals(NOT_NULL))) {
+                    throw new IOException("Invalid vector at " + decoder + ".txt:" + number);
+                }
+                result.add(new Vector(fields[0], parseMessage(fields[1], fields[2], decoder, number), number));
+            }
+        } finally {
+            reader.close();
+        }
+        return result;
+    }
+
+    /**
+     * Load messages of given decoder in file order
+     */
+    public static List<Object> load(String decoder) throws IOException {
+        List<Object> result = new ArrayList<Object>();
+        for (Vector vector : loadVectors(decoder)) {
+            result.add(vector.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * Fresh copy of the message for one decode call
+     */
+    public static Object copy(Object message) {
+        if (message instanceof ChannelBuffer) {
+            return ((ChannelBuffer) message).duplicate();
+        }
+        return message;
+    }
+
+    /**
+     * Decode all vectors of given decoder in file order and check the results
+     */
+    public static void verify(BaseProtocolDecoder decoder, String name) throws Exception {
+        for (Vector vector : loadVectors(name)) {
+            Object decoded = decoder.decode(null, null, null, copy(vector.getMessage()));
+            try {
+                if (vector.getResult().equals(VERIFY)) {
+                    DecoderVerifier.verify(decoded);
+                } else if (vector.getResult().equals(NULL)) {
+                    assertNull(decoded);
+                } else {
+                    assertNotNull(decoded);
+                }
+            } catch (AssertionError error) {
+                AssertionError located = new AssertionError(
+                        name + ".txt:" + vector.getLine() + " " + error.getMessage());
+                located.initCause(error);
+                throw located;
+            }
+        }
+    }
+
+    private static Object parseMessage(String type, String value, String decoder, int number) throws IOException {
+        if (type.equals("string")) {
+            return unescape(value);
+        } else if (type.equals("text")) {
+            return ChannelBuffers.copiedBuffer(unescape(value), Charset.defaultCharset());
+        } else if (type.equals("hex")) {
+            return ChannelBuffers.wrappedBuffer(ChannelBufferTools.convertHexString(value));
+        } else if (type.equals("hexle")) {
+            return ChannelBuffers.wrappedBuffer(ByteOrder.LITTLE_ENDIAN, ChannelBufferTools.convertHexString(value));
+        }
+        throw new IOException("Unknown vector type " + type + " at " + decoder + ".txt:" + number);
+    }
+
+    private static String unescape(String value) {
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\') {
+                char next = value.charAt(++i);
+                switch (next) {
+                    case 'r':
+                        result.append('\r');
+                        break;
+                    case 'n':
+                        result.append('\n');
+                        break;
+                    case 't':
+                        result.append('\t');
+                        break;
+                    case 'u':
+                        result.append((char) Integer.parseInt(value.substring(i + 1, i + 5), 16));
+                        i += 4;
+                        break;
+                    default:
+                        result.append(next);
+                        break;
+                }
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+}
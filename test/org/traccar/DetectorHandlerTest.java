@@ -3,37 +3,143 @@ package org.traccar;
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBuffers;
 import org.jboss.netty.channel.ChannelPipeline;
+import org.jboss.netty.channel.ChannelPipelineFactory;
 import org.jboss.netty.channel.Channels;
 import org.jboss.netty.handler.codec.string.StringDecoder;
 import org.jboss.netty.handler.codec.string.StringEncoder;
-import org.jboss.netty.handler.timeout.IdleStateHandler;
-import org.junit.After;
-import org.junit.Before;
 import org.junit.Test;
+import org.traccar.helper.ChannelBufferTools;
 import org.traccar.helper.TestDataManager;
-import org.traccar.model.Position;
 import org.traccar.protocol.Gps103ProtocolDecoder;
+import org.traccar.protocol.Gt06FrameDecoder;
+import org.traccar.protocol.Gt06ProtocolDecoder;
+import org.traccar.protocol.Tk103ProtocolDecoder;
 
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
-import java.util.Date;
 import java.util.List;
 
-import static org.junit.Assert.assertNotNull;
-import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class DetectorHandlerTest {
 
+    private static ProtocolDetector createDetector() {
+        ProtocolDetector detector = new ProtocolDetector();
+
+        detector.addProtocol("gps103", new ChannelPipelineFactory() {
+            @Override
+            public ChannelPipeline getPipeline() throws Exception {
+                ChannelPipeline pipeline = Channels.pipeline();
+                pipeline.addLast("frameDecoder", new CharacterDelimiterFrameDecoder(1024, "\r\n", "\n", ";"));
+                pipeline.addLast("stringEncoder", new StringEncoder());
+                pipeline.addLast("objectDecoder", new Gps103ProtocolDecoder(new TestDataManager(), null, null));
+                return pipeline;
+            }
+        }, ByteOrder.BIG_ENDIAN);
+
+        detector.addProtocol("tk103", new ChannelPipelineFactory() {
+            @Override
+            public ChannelPipeline getPipeline() throws Exception {
+                ChannelPipeline pipeline = Channels.pipeline();
+                pipeline.addLast("frameDecoder", new CharacterDelimiterFrameDecoder(1024, ')'));
+                pipeline.addLast("stringDecoder", new StringDecoder());
+                pipeline.addLast("stringEncoder", new StringEncoder());
+                pipeline.addLast("objectDecoder", new Tk103ProtocolDecoder(new TestDataManager(), null, null));
+                return pipeline;
+            }
+        }, ByteOrder.BIG_ENDIAN);
+
+        return detector;
+    }
+
+    private static ProtocolDetector.Result find(List<ProtocolDetector.Result> results, String protocol) {
+        for (ProtocolDetector.Result result : results) {
+            if (result.getProtocol().equals(protocol)) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private static ChannelBuffer binary(String message) {
+        return ChannelBuffers.wrappedBuffer(ChannelBufferTools.convertHexString(message));
+    }
+
+    private static ChannelBuffer text(String message) {
+        return ChannelBuffers.copiedBuffer(message, Charset.defaultCharset());
+    }
+
     @Test
-    public void testCheckPipeline() throws Exception {
+    public void testDetect() throws Exception {
+
+        ProtocolDetector detector = createDetector();
+
+        List<ProtocolDetector.Result> results = detector.detect(text(
+                "imei:869039001186913,tracker,1308282156,0,F,215630.000,A,5602.11015,N,9246.30767,E,1.4,,175.9,;"));
+        assertEquals(1, results.size());
+        assertEquals("gps103", results.get(0).getProtocol());
+        assertEquals(3, results.get(0).getScore());
+
+        ChannelBuffer buf = text(
+                "(035988863964BP05000035988863964110524A4241.7977N02318.7561E000.0123536356.5100000000L000946BB)");
+        results = detector.detect(buf);
+        assertEquals(1, results.size());
+        assertEquals("tk103", results.get(0).getProtocol());
+        assertEquals(0, buf.readerIndex());
+
+        results = detector.detect(ChannelBuffers.wrappedBuffer(ChannelBufferTools.convertHexString(
+                "78780d010123456789012345000109b90d0a")));
+        assertTrue(results.isEmpty());
+
+    }
+
+    @Test
+    public void testDecoderState() throws Exception {
+
+        final int[] pipelines = {0};
+        ProtocolDetector detector = createDetector();
+        detector.addProtocol("gt06", new ChannelPipelineFactory() {
+            @Override
+            public ChannelPipeline getPipeline() throws Exception {
+                pipelines[0]++;
+                ChannelPipeline pipeline = Channels.pipeline();
+                pipeline.addLast("frameDecoder", new Gt06FrameDecoder());
+                pipeline.addLast("objectDecoder", new Gt06ProtocolDecoder(new TestDataManager(), null, null));
+                return pipeline;
+            }
+        }, ByteOrder.BIG_ENDIAN);
+
+        // Login is answered, but the device id must not stay with the decoder for the next connection
+        assertEquals(1, find(detector.detect(binary("78780d010123456789012345000109b90d0a")), "gt06").getScore());
+
+        ProtocolDetector.Result result = find(detector.detect(binary(
+                "787819100B031A0B1B31CC027AC7FD0C4657BF0115210001001CC6070D0A")), "gt06");
+        assertTrue(result == null || result.getScore() < 2);
+
+        // One pipeline to check support and one probe chain for this thread
+        assertEquals(2, pipelines[0]);
+
+    }
+
+    @Test
+    public void testSignature() throws Exception {
+
+        ProtocolDetector.Signature signature = ProtocolDetector.createSignature("gt06", new Gt06FrameDecoder());
+        assertTrue(signature.matches(binary("78780d010123456789012345000109b90d0a")));
+        assertFalse(signature.matches(binary("78780d010123456789012345")));
+        assertFalse(signature.matches(binary("68680d010123456789012345000109b90d0a")));
+
+        signature = ProtocolDetector.createSignature("tk103", new CharacterDelimiterFrameDecoder(1024, ')'));
+        assertTrue(signature.matches(text("(035988863964BP05)")));
+        assertFalse(signature.matches(text("(035988863964BP05")));
 
-        /*ChannelPipeline pipeline = Channels.pipeline();
-        pipeline.addLast("frameDecoder", new CharacterDelimiterFrameDecoder(1024, "\r\n", "\n", ";"));
-        pipeline.addLast("stringDecoder", new StringDecoder());
-        pipeline.addLast("stringEncoder", new StringEncoder());
-        pipeline.addLast("objectDecoder", new Gps103ProtocolDecoder(new TestDataManager(), null, null));
+        signature = ProtocolDetector.createSignature(
+                "gps103", new CharacterDelimiterFrameDecoder(1024, "\r\n", "\n", ";"));
+        assertTrue(signature.matches(text("imei:869039001186913,tracker;")));
+        assertFalse(signature.matches(text("imei:869039001186913,tracker\r")));
 
-        DetectorHandler.checkPipeline("gps103", pipeline, ChannelBuffers.copiedBuffer(
-                "imei:869039001186913,tracker,1308282156,0,F,215630.000,A,5602.11015,N,9246.30767,E,1.4,,175.9,;", Charset.defaultCharset()));*/
     }
 
 }
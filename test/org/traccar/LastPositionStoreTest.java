@@ -0,0 +1,64 @@
+package org.traccar;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LastPositionStoreTest {
+
+    @Test
+    public void testStore() {
+
+        LastPositionStore store = new LastPositionStore(0);
+        LastPositionStore.Entry entry = new LastPositionStore.Entry();
+
+        assertFalse(store.get(1, entry));
+
+        for (long i = 0; i < 10000; i++) {
+            store.put(i, i * 1000, i, -i);
+        }
+        store.put(5, 1, 2, 3);
+
+        assertEquals(10000, store.getSize());
+        assertTrue(store.getMemoryUsage() > 10000 * 41);
+
+        assertTrue(store.get(5, entry));
+        assertEquals(1, entry.getTime());
+        assertEquals(2.0, entry.getLatitude(), 0.0);
+        assertEquals(3.0, entry.getLongitude(), 0.0);
+
+        for (long i = 6; i < 10000; i++) {
+            assertTrue(store.get(i, entry));
+            assertEquals(i * 1000, entry.getTime());
+            assertEquals(-i, entry.getLongitude(), 0.0);
+        }
+        assertFalse(store.get(10000, entry));
+    }
+
+    @Test
+    public void testExpiration() throws Exception {
+
+        final long[] now = {0};
+        LastPositionStore store = new LastPositionStore(1000, new LastPositionStore.Clock() {
+            @Override
+            public long currentTimeMillis() {
+                return now[0];
+            }
+        });
+        for (long i = 0; i < 100; i++) {
+            store.put(i, 0, 0, 0);
+        }
+        now[0] = 2000;
+        for (long i = 100; i < 200; i++) {
+            store.put(i, 0, 0, 0);
+        }
+
+        // Stripes written after the timeout drop their idle devices
+        assertTrue(store.getSize() < 200);
+        assertTrue(store.getSize() >= 100);
+        assertTrue(store.get(199, new LastPositionStore.Entry()));
+    }
+
+}
@@ -0,0 +1,33 @@
+package org.traccar;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.junit.Test;
+import org.traccar.helper.ChannelBufferTools;
+import org.traccar.protocol.Gt06FrameDecoder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LengthFieldFrameDecoderTest {
+
+    @Test
+    public void testDecode() throws Exception {
+
+        Gt06FrameDecoder decoder = new Gt06FrameDecoder();
+
+        ChannelBuffer buf = ChannelBuffers.wrappedBuffer(ChannelBufferTools.convertHexString(
+                "78780D01086471700328358100093F040D0A78780D010864717003"));
+
+        ChannelBuffer frame = (ChannelBuffer) decoder.decode(null, null, buf);
+        assertEquals(ChannelBuffers.wrappedBuffer(ChannelBufferTools.convertHexString(
+                "78780D01086471700328358100093F040D0A")), frame);
+        assertEquals(0, frame.readerIndex());
+        assertEquals(18, frame.capacity());
+
+        assertNull(decoder.decode(null, null, buf));
+        assertEquals(18, buf.readerIndex());
+
+    }
+
+}
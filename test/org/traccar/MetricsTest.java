@@ -0,0 +1,53 @@
+package org.traccar;
+
+import java.util.Arrays;
+import java.util.Date;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.handler.codec.embedder.CodecEmbedderException;
+import org.jboss.netty.handler.codec.embedder.DecoderEmbedder;
+import org.junit.Test;
+import org.traccar.model.Position;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class MetricsTest {
+
+    @Test
+    public void testDecoderMetrics() {
+
+        BaseProtocolDecoder decoder = new BaseProtocolDecoder(null, "metricstest", null) {
+            @Override
+            protected Object decode(ChannelHandlerContext ctx, Channel channel, Object msg) {
+                if (msg.equals("single")) {
+                    return new Position(1, new Date(), true, 10, 10, 10, 10, 10);
+                } else if (msg.equals("list")) {
+                    return Arrays.asList(
+                            new Position(1, new Date(), true, 10, 10, 10, 10, 10),
+                            new Position(1, new Date(), true, 10, 10, 10, 10, 10));
+                } else if (msg.equals("error")) {
+                    throw new IllegalArgumentException();
+                }
+                return null;
+            }
+        };
+
+        DecoderEmbedder<Object> embedder = new DecoderEmbedder<Object>(decoder);
+        embedder.offer("single");
+        embedder.offer("list");
+        embedder.offer("other");
+        try {
+            embedder.offer("error");
+            fail();
+        } catch (CodecEmbedderException error) {
+            // Expected decode failure
+        }
+
+        ProtocolMetrics metrics = Metrics.getProtocolMetrics("metricstest");
+        assertEquals(4, metrics.getFramesReceived());
+        assertEquals(1, metrics.getDecodeFailures());
+        assertEquals(3, metrics.getPositionsDecoded());
+    }
+
+}
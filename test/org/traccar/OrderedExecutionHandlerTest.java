@@ -0,0 +1,58 @@
+package org.traccar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.MessageEvent;
+import org.jboss.netty.channel.SimpleChannelUpstreamHandler;
+import org.jboss.netty.handler.codec.embedder.DecoderEmbedder;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OrderedExecutionHandlerTest {
+
+    @Test
+    public void testOrder() throws Exception {
+
+        final int count = 100;
+        final CountDownLatch latch = new CountDownLatch(count);
+        final List<Integer> messages = Collections.synchronizedList(new ArrayList<Integer>());
+        final List<String> threads = Collections.synchronizedList(new ArrayList<String>());
+
+        Properties properties = new Properties();
+        properties.setProperty("execution.threads", "4");
+        OrderedExecutionHandler executionHandler = new OrderedExecutionHandler(properties);
+
+        DecoderEmbedder<Object> embedder = new DecoderEmbedder<Object>(executionHandler, new SimpleChannelUpstreamHandler() {
+            @Override
+            public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) {
+                messages.add((Integer) e.getMessage());
+                threads.add(Thread.currentThread().getName());
+                latch.countDown();
+            }
+        });
+
+        String caller = Thread.currentThread().getName();
+        for (int i = 0; i < count; i++) {
+            embedder.offer(i);
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        executionHandler.stop();
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(Integer.valueOf(i), messages.get(i));
+        }
+        assertFalse(threads.contains(caller));
+        assertEquals(0, executionHandler.getQueueSize());
+        assertTrue(executionHandler.getEventCount() >= count);
+    }
+
+}
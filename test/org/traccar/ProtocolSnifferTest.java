@@ -0,0 +1,253 @@
+package org.traccar;
+
+import org.jboss.netty.bootstrap.Bootstrap;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.AbstractChannel;
+import org.jboss.netty.channel.AbstractChannelSink;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelConfig;
+import org.jboss.netty.channel.ChannelEvent;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.ChannelPipeline;
+import org.jboss.netty.channel.ChannelPipelineFactory;
+import org.jboss.netty.channel.Channels;
+import org.jboss.netty.channel.DefaultChannelConfig;
+import org.jboss.netty.channel.MessageEvent;
+import org.jboss.netty.channel.SimpleChannelUpstreamHandler;
+import org.jboss.netty.handler.codec.string.StringEncoder;
+import org.junit.Test;
+import org.traccar.database.DataManager;
+import org.traccar.helper.ChannelBufferTools;
+import org.traccar.helper.TestDataManager;
+import org.traccar.model.Position;
+import org.traccar.protocol.Gps103ProtocolDecoder;
+import org.traccar.protocol.Gt06FrameDecoder;
+import org.traccar.protocol.Gt06ProtocolDecoder;
+
+import java.net.SocketAddress;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ProtocolSnifferTest {
+
+    private static final String GPS103 =
+            "imei:869039001186913,tracker,1308282156,0,F,215630.000,A,5602.11015,N,9246.30767,E,1.4,,175.9,;";
+
+    private static final String GT06_LOGIN = "78780d010123456789012345000109b90d0a";
+
+    private static final String GT06_POSITION = "787819100B031A0B1B31CC027AC7FD0C4657BF0115210001001CC6070D0A";
+
+    /**
+     * Connected channel dropping written messages
+     */
+    private static class TestChannel extends AbstractChannel {
+
+        private final ChannelConfig config = new DefaultChannelConfig();
+
+        public TestChannel(ChannelPipeline pipeline) {
+            super(null, null, pipeline, new AbstractChannelSink() {
+                @Override
+                public void eventSunk(ChannelPipeline pipeline, ChannelEvent e) {
+                    e.getFuture().setSuccess();
+                }
+            });
+        }
+
+        @Override
+        public ChannelConfig getConfig() {
+            return config;
+        }
+
+        @Override
+        public boolean isBound() {
+            return true;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public SocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public SocketAddress getRemoteAddress() {
+            return null;
+        }
+
+    }
+
+    /**
+     * Counts buffers entering the protocol pipeline and collects decoded positions
+     */
+    private static class Recorder {
+
+        private int buffers;
+        private final List<Position> positions = new ArrayList<Position>();
+
+        public SimpleChannelUpstreamHandler input() {
+            return new SimpleChannelUpstreamHandler() {
+                @Override
+                public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) throws Exception {
+                    buffers++;
+                    super.messageReceived(ctx, e);
+                }
+            };
+        }
+
+        public SimpleChannelUpstreamHandler output() {
+            return new SimpleChannelUpstreamHandler() {
+                @Override
+                public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) {
+                    if (e.getMessage() instanceof Position) {
+                        positions.add((Position) e.getMessage());
+                    }
+                }
+            };
+        }
+
+    }
+
+    private final Properties properties = new Properties();
+    private final Map<String, Recorder> recorders = new HashMap<String, Recorder>();
+    private final Map<String, TrackerServer> servers = new HashMap<String, TrackerServer>();
+    private final ProtocolDetector detector = new ProtocolDetector();
+
+    private final ServerManager serverManager = new ServerManager() {
+
+        private final DataManager dataManager = new TestDataManager();
+
+        @Override
+        public Properties getProperties() {
+            return properties;
+        }
+
+        @Override
+        public DataManager getDataManager() {
+            return dataManager;
+        }
+
+    };
+
+    public ProtocolSnifferTest() throws Exception {
+        addServer("gps103", new ChannelPipelineFactory() {
+            @Override
+            public ChannelPipeline getPipeline() throws Exception {
+                Recorder recorder = recorders.get("gps103");
+                ChannelPipeline pipeline = Channels.pipeline();
+                pipeline.addLast("input", recorder.input());
+                pipeline.addLast("frameDecoder", new CharacterDelimiterFrameDecoder(1024, "\r\n", "\n", ";"));
+                pipeline.addLast("stringEncoder", new StringEncoder());
+                pipeline.addLast("objectDecoder", new Gps103ProtocolDecoder(new TestDataManager(), null, null));
+                pipeline.addLast("handler", recorder.output());
+                return pipeline;
+            }
+        });
+        addServer("gt06", new ChannelPipelineFactory() {
+            @Override
+            public ChannelPipeline getPipeline() throws Exception {
+                Recorder recorder = recorders.get("gt06");
+                ChannelPipeline pipeline = Channels.pipeline();
+                pipeline.addLast("input", recorder.input());
+                pipeline.addLast("frameDecoder", new Gt06FrameDecoder());
+                pipeline.addLast("objectDecoder", new Gt06ProtocolDecoder(new TestDataManager(), null, null));
+                pipeline.addLast("handler", recorder.output());
+                return pipeline;
+            }
+        });
+    }
+
+    private void addServer(String protocol, ChannelPipelineFactory factory) {
+        properties.setProperty(protocol + ".port", "0");
+        recorders.put(protocol, new Recorder());
+        TrackerServer server = new TrackerServer(serverManager, new Bootstrap() { }, protocol) {
+            @Override
+            protected void addSpecificHandlers(ChannelPipeline pipeline) {
+            }
+        };
+        server.setPipelineFactory(factory);
+        servers.put(protocol, server);
+        detector.addProtocol(protocol, factory, ByteOrder.BIG_ENDIAN);
+    }
+
+    private void sniff(ChannelBuffer... packets) {
+        ChannelPipeline pipeline = Channels.pipeline();
+        pipeline.addLast("sniffer", new ProtocolSniffer(detector, servers, 1024));
+        Channel channel = new TestChannel(pipeline);
+        for (ChannelBuffer packet : packets) {
+            Channels.fireMessageReceived(channel, packet);
+        }
+        assertNull(pipeline.get("sniffer"));
+    }
+
+    private static ChannelBuffer text(String message) {
+        return ChannelBuffers.copiedBuffer(message, Charset.defaultCharset());
+    }
+
+    private static ChannelBuffer binary(String message) {
+        return ChannelBuffers.wrappedBuffer(ChannelBufferTools.convertHexString(message));
+    }
+
+    @Test
+    public void testTextSplit() throws Exception {
+
+        sniff(text(GPS103.substring(0, 20)), text(GPS103.substring(20)), text(GPS103));
+
+        Recorder recorder = recorders.get("gps103");
+        assertEquals(2, recorder.buffers); // replay and the following packet
+        assertEquals(2, recorder.positions.size());
+        assertEquals(56.03517, recorder.positions.get(0).getLatitude(), 0.00001);
+        assertEquals(0, recorders.get("gt06").buffers);
+
+    }
+
+    @Test
+    public void testTextCombined() throws Exception {
+
+        sniff(text(GPS103 + GPS103));
+
+        Recorder recorder = recorders.get("gps103");
+        assertEquals(1, recorder.buffers);
+        assertEquals(2, recorder.positions.size());
+        assertEquals(92.77179, recorder.positions.get(1).getLongitude(), 0.00001);
+
+    }
+
+    @Test
+    public void testBinarySplit() throws Exception {
+
+        sniff(binary(GT06_LOGIN.substring(0, 10)), binary(GT06_LOGIN.substring(10)), binary(GT06_POSITION));
+
+        Recorder recorder = recorders.get("gt06");
+        assertEquals(2, recorder.buffers);
+        assertEquals(1, recorder.positions.size());
+        assertEquals(Long.valueOf(1), recorder.positions.get(0).getDeviceId());
+        assertEquals(0, recorders.get("gps103").buffers);
+
+    }
+
+    @Test
+    public void testBinaryCombined() throws Exception {
+
+        sniff(binary(GT06_LOGIN + GT06_POSITION));
+
+        Recorder recorder = recorders.get("gt06");
+        assertEquals(1, recorder.buffers);
+        assertEquals(1, recorder.positions.size());
+        assertEquals(Long.valueOf(1), recorder.positions.get(0).getDeviceId());
+
+    }
+
+}
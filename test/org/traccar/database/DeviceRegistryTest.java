@@ -0,0 +1,108 @@
+package org.traccar.database;
+
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import org.junit.Test;
+import org.traccar.helper.TestDatabase;
+import org.traccar.model.Device;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.traccar.helper.TestDatabase.execute;
+
+public class DeviceRegistryTest {
+
+    private static class CountingDataManager extends DataManager {
+
+        private int fullLoads;
+        private int updateLoads;
+        private int imeiLoads;
+
+        public CountingDataManager(Properties properties) throws Exception {
+            super(properties);
+        }
+
+        @Override
+        public List<Device> getDevices() throws SQLException {
+            fullLoads++;
+            return super.getDevices();
+        }
+
+        @Override
+        public List<Device> getDevicesByImei(String imei) throws SQLException {
+            imeiLoads++;
+            return super.getDevicesByImei(imei);
+        }
+
+        @Override
+        public List<Device> getDevicesUpdated(long id, Date time) throws SQLException {
+            updateLoads++;
+            return super.getDevicesUpdated(id, time);
+        }
+
+    }
+
+    private static Properties createProperties(String name) {
+        Properties properties = TestDatabase.createProperties(name);
+        properties.setProperty("database.selectDevice", "SELECT id, imei FROM devices;");
+        properties.setProperty("database.selectDeviceUpdates", "SELECT id, imei FROM devices WHERE id > :id;");
+        return properties;
+    }
+
+    @Test
+    public void testRegistry() throws Exception {
+
+        CountingDataManager dataManager = new CountingDataManager(createProperties("registry"));
+        execute(dataManager, "CREATE TABLE devices (id BIGINT PRIMARY KEY, imei VARCHAR(128));");
+        execute(dataManager, "INSERT INTO devices VALUES (1, '111'), (2, '222');");
+
+        assertEquals(Long.valueOf(1), dataManager.getDeviceByImei("111").getId());
+        assertEquals(Long.valueOf(2), dataManager.getDeviceByImei("222").getId());
+        assertEquals("222", dataManager.getDeviceRegistry().getDeviceById(2).getImei());
+        assertEquals(1, dataManager.fullLoads);
+        assertEquals(0, dataManager.updateLoads);
+
+        // Unknown device is queried once
+        for (int i = 0; i < 10; i++) {
+            assertNull(dataManager.getDeviceByImei("333"));
+        }
+        assertEquals(1, dataManager.fullLoads);
+        assertEquals(1, dataManager.updateLoads);
+        assertEquals(1, dataManager.getDeviceRegistry().getUnknownSize());
+
+        // New device is loaded incrementally
+        execute(dataManager, "INSERT INTO devices VALUES (3, '444');");
+        assertNotNull(dataManager.getDeviceByImei("444"));
+        assertEquals(1, dataManager.fullLoads);
+        assertEquals(2, dataManager.updateLoads);
+        assertEquals(3, dataManager.getDeviceRegistry().getSize());
+    }
+
+    @Test
+    public void testUnknownByImei() throws Exception {
+
+        Properties properties = createProperties("registryImei");
+        properties.setProperty("database.selectDeviceByImei", "SELECT id, imei FROM devices WHERE imei = :imei;");
+        properties.setProperty("database.unknownDeviceLimit", "2");
+        CountingDataManager dataManager = new CountingDataManager(properties);
+        execute(dataManager, "CREATE TABLE devices (id BIGINT PRIMARY KEY, imei VARCHAR(128));");
+        execute(dataManager, "INSERT INTO devices VALUES (1, '111');");
+
+        // Unknown device costs one query by IMEI and no refresh
+        for (int i = 0; i < 10; i++) {
+            assertNull(dataManager.getDeviceByImei("333"));
+        }
+        assertEquals(1, dataManager.imeiLoads);
+        assertEquals(1, dataManager.fullLoads);
+        assertEquals(0, dataManager.updateLoads);
+
+        // Negative cache is bounded
+        assertNull(dataManager.getDeviceByImei("444"));
+        assertNull(dataManager.getDeviceByImei("555"));
+        assertEquals(2, dataManager.getDeviceRegistry().getUnknownSize());
+    }
+
+}
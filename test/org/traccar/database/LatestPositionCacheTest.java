@@ -0,0 +1,80 @@
+package org.traccar.database;
+
+import java.util.Date;
+import java.util.Properties;
+import org.junit.Test;
+import org.traccar.helper.TestDatabase;
+import org.traccar.model.Position;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.traccar.helper.TestDatabase.execute;
+import static org.traccar.helper.TestDatabase.queryLong;
+
+public class LatestPositionCacheTest {
+
+    private static Properties createProperties(String name) {
+        Properties properties = TestDatabase.createProperties(name);
+        properties.setProperty("database.updateLatestPosition",
+                "UPDATE devices SET latestPosition_id = :id WHERE id = :device_id;");
+        return properties;
+    }
+
+    private static Position createPosition(long id, long deviceId) {
+        Position position = new Position(deviceId, new Date(id * 1000), true, 10, 10, 0, 0, 0);
+        position.setId(id);
+        return position;
+    }
+
+    @Test
+    public void testFlush() throws Exception {
+
+        DataManager dataManager = new DataManager(createProperties("latest"));
+        execute(dataManager, "CREATE TABLE devices (id BIGINT PRIMARY KEY, latestPosition_id BIGINT);");
+        execute(dataManager, "INSERT INTO devices (id) VALUES (1), (2);");
+
+        LatestPositionCache cache = new LatestPositionCache(dataManager, 60000);
+        cache.start();
+
+        for (long id = 1; id <= 100; id++) {
+            cache.update(createPosition(id, 1 + id % 2));
+        }
+
+        assertEquals(2, cache.getPendingCount());
+        assertEquals(Long.valueOf(100), cache.getLatestPositionId(1));
+        assertEquals(Long.valueOf(99), cache.getLatestPositionId(2));
+        assertNull(cache.getLatestPositionId(3));
+        assertEquals(0, queryLong(dataManager, "SELECT COUNT(latestPosition_id) FROM devices;"));
+
+        // Shutdown writes pending updates
+        cache.stop();
+
+        assertEquals(0, cache.getPendingCount());
+        assertEquals(100, queryLong(dataManager, "SELECT latestPosition_id FROM devices WHERE id = 1;"));
+        assertEquals(99, queryLong(dataManager, "SELECT latestPosition_id FROM devices WHERE id = 2;"));
+
+    }
+
+    @Test
+    public void testOlderPosition() throws Exception {
+
+        DataManager dataManager = new DataManager(createProperties("older"));
+        execute(dataManager, "CREATE TABLE devices (id BIGINT PRIMARY KEY, latestPosition_id BIGINT);");
+        execute(dataManager, "INSERT INTO devices (id) VALUES (1);");
+
+        LatestPositionCache cache = new LatestPositionCache(dataManager, 60000);
+
+        // Position with a lower id and an earlier time arrives late, e.g. from another writer thread
+        cache.update(createPosition(20, 1));
+        cache.update(createPosition(10, 1));
+        assertEquals(Long.valueOf(20), cache.getLatestPositionId(1));
+
+        cache.flush();
+        assertEquals(20, queryLong(dataManager, "SELECT latestPosition_id FROM devices WHERE id = 1;"));
+
+        cache.update(createPosition(15, 1));
+        assertEquals(0, cache.getPendingCount());
+
+    }
+
+}
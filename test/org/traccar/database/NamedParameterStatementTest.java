@@ -0,0 +1,223 @@
+package org.traccar.database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TimeZone;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Test;
+import org.traccar.helper.TestDatabase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NamedParameterStatementTest {
+
+    @Test
+    public void testStatementCache() throws Exception {
+
+        Properties properties = TestDatabase.createProperties("cache");
+        properties.setProperty("database.initialPoolSize", "1");
+        properties.setProperty("database.minPoolSize", "1");
+        properties.setProperty("database.maxPoolSize", "1");
+        properties.setProperty("database.selectDevice", "SELECT id, imei FROM devices;");
+
+        DataManager dataManager = new DataManager(properties);
+
+        TestDatabase.execute(dataManager, "CREATE TABLE devices (id BIGINT PRIMARY KEY, imei VARCHAR(128));");
+        TestDatabase.execute(dataManager, "INSERT INTO devices VALUES (1, '123456789012345');");
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(1, dataManager.getDevices().size());
+        }
+
+        // One pooled connection, the query is prepared once
+        assertEquals(1, dataManager.getStatementCacheSize());
+        assertEquals(1, dataManager.getStatementCacheMisses());
+        assertEquals(4, dataManager.getStatementCacheHits());
+    }
+
+    @Test
+    public void testParse() {
+
+        Map<String, List<Integer>> indexMap = new HashMap<String, List<Integer>>();
+        assertEquals("SELECT * FROM t WHERE a = ? AND b = ? AND c = ':a'",
+                NamedParameterStatement.parse("SELECT * FROM t WHERE a = :a AND b = :b AND c = ':a'", indexMap));
+        assertEquals(2, indexMap.size());
+        assertEquals(Integer.valueOf(1), indexMap.get("a").get(0));
+        assertEquals(Integer.valueOf(2), indexMap.get("b").get(0));
+    }
+
+    @Test
+    public void testBind() throws Exception {
+
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:bind;DB_CLOSE_DELAY=-1");
+
+        Connection connection = dataSource.getConnection();
+        try {
+            connection.createStatement().execute("CREATE TABLE t (a BIGINT, b DOUBLE, c BOOLEAN, d VARCHAR(16), e TIMESTAMP, f INT, g BIGINT);");
+        } finally {
+            connection.close();
+        }
+
+        new NamedParameterStatement(
+                "INSERT INTO t VALUES (:a, :b, :c, :d, :e, :f, :a);", dataSource).prepare()
+                .setLong("a", 5L)
+                .setDouble("b", 1.5)
+                .setBoolean("c", true)
+                .setString("d", null)
+                .setTimestamp("e", new Date(1000))
+                .setInt("f", 7)
+                .setLong("unknown", 1L)
+                .executeUpdate();
+
+        List<Boolean> result = new NamedParameterStatement("SELECT * FROM t;", dataSource).prepare()
+                .executeQuery(new NamedParameterStatement.ResultSetProcessor<Boolean>() {
+            @Override
+            public Boolean processNextRow(ResultSet rs) throws SQLException {
+                assertEquals(5, rs.getLong("a"));
+                assertEquals(1.5, rs.getDouble("b"), 0.0);
+                assertTrue(rs.getBoolean("c"));
+                assertNull(rs.getString("d"));
+                assertEquals(1000, rs.getTimestamp("e").getTime());
+                assertEquals(7, rs.getInt("f"));
+                assertEquals(5, rs.getLong("g"));
+                return true;
+            }
+        });
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    public void testMultiRow() throws Exception {
+
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:multirow;DB_CLOSE_DELAY=-1");
+
+        Connection connection = dataSource.getConnection();
+        try {
+            connection.createStatement().execute("CREATE TABLE t (id BIGINT AUTO_INCREMENT PRIMARY KEY, a BIGINT, b VARCHAR(16));");
+        } finally {
+            connection.close();
+        }
+
+        NamedParameterStatement statement = new NamedParameterStatement(
+                "INSERT INTO t (a, b) VALUES (:a, :b);", dataSource, Statement.RETURN_GENERATED_KEYS);
+        assertTrue(statement.supportsMultiRow());
+        assertFalse(new NamedParameterStatement("SELECT * FROM t WHERE a = :a;", dataSource).supportsMultiRow());
+
+        // Chunks of 4, 2 and 1 rows
+        List<NamedParameterStatement.Params> batch = new ArrayList<NamedParameterStatement.Params>();
+        for (int i = 0; i < 7; i++) {
+            batch.add(statement.prepare().setLong("a", i).setString("b", "row" + i));
+        }
+        NamedParameterStatement.ResultSetProcessor<Long> keys = new NamedParameterStatement.ResultSetProcessor<Long>() {
+            @Override
+            public Long processNextRow(ResultSet rs) throws SQLException {
+                return rs.getLong(1);
+            }
+        };
+        List<Long> ids = statement.executeMultiRow(batch, 4, keys);
+        assertEquals(7, ids.size());
+
+        // H2 only returns the last key of a multi-row insert, rows are inserted again without losing ids
+        for (Long id : ids) {
+            assertNotNull(id);
+        }
+        ids = statement.executeMultiRow(batch.subList(0, 2), 4, keys);
+        assertEquals(ids.get(0) + 1, (long) ids.get(1));
+
+        List<String> rows = new NamedParameterStatement("SELECT * FROM t ORDER BY a;", dataSource).prepare()
+                .executeQuery(new NamedParameterStatement.ResultSetProcessor<String>() {
+            @Override
+            public String processNextRow(ResultSet rs) throws SQLException {
+                return rs.getLong("a") + ":" + rs.getString("b");
+            }
+        });
+        assertEquals(9, rows.size());
+        assertEquals("0:row0", rows.get(0));
+        assertEquals("6:row6", rows.get(8));
+    }
+
+    @Test
+    public void testSplitValues() {
+
+        String[] values = NamedParameterStatement.splitValues(
+                "INSERT INTO t (a, b) VALUES (?, COALESCE(?, 'x)')) ON DUPLICATE KEY UPDATE b = VALUES(b);");
+        assertEquals("INSERT INTO t (a, b) VALUES ", values[0]);
+        assertEquals("(?, COALESCE(?, 'x)'))", values[1]);
+        assertEquals(" ON DUPLICATE KEY UPDATE b = VALUES(b)", values[2]);
+
+        assertNull(NamedParameterStatement.splitValues("INSERT INTO t (a) VALUES (?), (?);"));
+        assertNull(NamedParameterStatement.splitValues("INSERT INTO t (a) SELECT a FROM s;"));
+    }
+
+    @Test
+    public void testCopy() {
+
+        NamedParameterStatement statement = new NamedParameterStatement(
+                "INSERT INTO t (a, b, c, d, e) VALUES (:a, :b, :c, :d, :e);", null);
+        assertTrue(statement.supportsCopy());
+        assertFalse(new NamedParameterStatement("INSERT INTO t (a, b) VALUES (:a, NOW());", null).supportsCopy());
+
+        NamedParameterStatement.Params params = statement.prepare()
+                .setLong("a", 5L)
+                .setDouble("b", 1.5)
+                .setBoolean("c", true)
+                .setString("d", "x\"y,z");
+
+        StringBuilder data = new StringBuilder();
+        statement.appendCopyRow(data, params);
+        assertEquals("5,1.5,t,\"x\"\"y,z\",\n", data.toString());
+    }
+
+    @Test
+    public void testCopyTimestamp() {
+
+        NamedParameterStatement statement = new NamedParameterStatement(
+                "INSERT INTO t (a) VALUES (:a);", null);
+
+        TimeZone defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("America/Los_Angeles"));
+        try {
+            StringBuilder data = new StringBuilder();
+            statement.appendCopyRow(data, statement.prepare().setTimestamp("a", new Date(1000)));
+            assertEquals("1970-01-01 00:00:01.000+00\n", data.toString());
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    @Test
+    public void testReuse() {
+
+        NamedParameterStatement statement = new NamedParameterStatement(
+                "INSERT INTO t (a, b) VALUES (:a, :b);", null);
+
+        NamedParameterStatement.Params params = statement.prepareReusable().setLong("a", 5L).setString("b", "x");
+        assertSame(params, statement.prepareReusable());
+
+        // Values of the previous row are cleared
+        StringBuilder data = new StringBuilder();
+        statement.appendCopyRow(data, statement.prepareReusable().setLong("a", 6L));
+        assertEquals("6,\n", data.toString());
+
+        List<NamedParameterStatement.Params> batch = statement.prepareBatch(3);
+        assertEquals(3, batch.size());
+        assertSame(params, batch.get(0));
+        assertSame(batch.get(2), statement.prepareBatch(3).get(2));
+    }
+
+}
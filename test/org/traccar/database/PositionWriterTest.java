@@ -0,0 +1,105 @@
+package org.traccar.database;
+
+import java.util.Date;
+import java.util.Properties;
+import org.junit.Test;
+import org.traccar.ProtocolMetrics;
+import org.traccar.helper.TestDatabase;
+import org.traccar.model.Position;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.traccar.helper.TestDatabase.execute;
+import static org.traccar.helper.TestDatabase.queryLong;
+
+public class PositionWriterTest {
+
+    private static Properties createProperties(String name) {
+        Properties properties = TestDatabase.createProperties(name);
+        properties.setProperty("database.insertPosition",
+                "INSERT INTO positions (device_id, time, valid, latitude, longitude, altitude, speed, course, power, other) " +
+                "VALUES (:device_id, :time, :valid, :latitude, :longitude, :altitude, :speed, :course, :power, :extended_info);");
+        properties.setProperty("database.updateLatestPosition",
+                "UPDATE devices SET latestPosition_id = :id WHERE id = :device_id;");
+        properties.setProperty("database.batchSize", "16");
+        properties.setProperty("database.batchDelay", "50");
+        properties.setProperty("database.writerThreads", "2");
+        return properties;
+    }
+
+    @Test
+    public void testWrite() throws Exception {
+
+        DataManager dataManager = new DataManager(createProperties("writer"));
+        execute(dataManager, "CREATE TABLE devices (id BIGINT PRIMARY KEY, latestPosition_id BIGINT);");
+        execute(dataManager, "CREATE TABLE positions (id BIGINT AUTO_INCREMENT PRIMARY KEY, device_id BIGINT, " +
+                "time TIMESTAMP, valid BOOLEAN, latitude DOUBLE, longitude DOUBLE, altitude DOUBLE, " +
+                "speed DOUBLE, course DOUBLE, power DOUBLE, other VARCHAR(4096));");
+        execute(dataManager, "INSERT INTO devices (id) VALUES (1), (2), (3);");
+
+        PositionWriter writer = new PositionWriter(createProperties("writer"), dataManager);
+        writer.start();
+
+        for (int i = 0; i < 250; i++) {
+            Position position = new Position(1 + i % 3, new Date(), true, 10, 10, 0, 0, 0);
+            position.setExtendedInfo("<info><protocol>test</protocol><index>" + i + "</index></info>");
+            writer.write(position);
+        }
+
+        writer.stop();
+
+        assertEquals(250, queryLong(dataManager, "SELECT COUNT(*) FROM positions;"));
+        for (int device = 1; device <= 3; device++) {
+            long latest = queryLong(dataManager, "SELECT latestPosition_id FROM devices WHERE id = " + device + ";");
+            assertTrue(latest > 0);
+            assertEquals(device, queryLong(dataManager, "SELECT device_id FROM positions WHERE id = " + latest + ";"));
+        }
+    }
+
+    @Test
+    public void testFailedBatch() throws Exception {
+
+        DataManager dataManager = new DataManager(createProperties("writerFailed"));
+        execute(dataManager, "CREATE TABLE devices (id BIGINT PRIMARY KEY, latestPosition_id BIGINT);");
+        execute(dataManager, "CREATE TABLE positions (id BIGINT AUTO_INCREMENT PRIMARY KEY, device_id BIGINT, " +
+                "time TIMESTAMP, valid BOOLEAN, latitude DOUBLE, longitude DOUBLE, altitude DOUBLE, " +
+                "speed DOUBLE, course DOUBLE, power DOUBLE, other VARCHAR(4096) NOT NULL);");
+        execute(dataManager, "INSERT INTO devices (id) VALUES (1), (2), (3);");
+
+        ProtocolMetrics metrics = new ProtocolMetrics();
+        PositionWriter writer = new PositionWriter(createProperties("writerFailed"), dataManager);
+
+        // Queued positions are not counted before they are written
+        for (int i = 0; i < 10; i++) {
+            Position position = new Position(1 + i % 3, new Date(), true, 10, 10, 0, 0, 0);
+            if (i != 5) {
+                position.setExtendedInfo("<info><protocol>test</protocol></info>");
+            }
+            assertTrue(writer.write(position, metrics));
+        }
+        assertEquals(0, metrics.getPositionsStored());
+
+        writer.stop();
+
+        // Batch fails on one row, other rows are inserted one by one
+        assertEquals(9, queryLong(dataManager, "SELECT COUNT(*) FROM positions;"));
+        assertEquals(9, metrics.getPositionsStored());
+    }
+
+    @Test
+    public void testQueueFull() throws Exception {
+
+        Properties properties = createProperties("writerFull");
+        properties.setProperty("database.queueSize", "2");
+        properties.setProperty("database.writerThreads", "1");
+        PositionWriter writer = new PositionWriter(properties, new DataManager(null));
+
+        assertTrue(writer.write(new Position(1, new Date(), true, 10, 10, 0, 0, 0)));
+        assertTrue(writer.write(new Position(1, new Date(), true, 10, 10, 0, 0, 0)));
+        assertFalse(writer.write(new Position(1, new Date(), true, 10, 10, 0, 0, 0)));
+        assertEquals(2, writer.getQueueSize());
+        assertEquals(1, writer.getDropped());
+    }
+
+}
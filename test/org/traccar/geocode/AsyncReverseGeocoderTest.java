@@ -0,0 +1,123 @@
+package org.traccar.geocode;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AsyncReverseGeocoderTest {
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile long delay;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/reverse", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                requests.incrementAndGet();
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException error) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] response = "<reversegeocode><result>Test Street, 1</result></reversegeocode>"
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "text/xml");
+                exchange.sendResponseHeaders(200, response.length);
+                OutputStream output = exchange.getResponseBody();
+                output.write(response);
+                output.close();
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private ReverseGeocoder createNominatim() {
+        return new NominatimReverseGeocoder("http://127.0.0.1:" + server.getAddress().getPort() + "/reverse");
+    }
+
+    @Test
+    public void testGetAddress() {
+
+        AsyncReverseGeocoder geocoder = new AsyncReverseGeocoder(createNominatim(), 20, 2, 10, 5000, 0);
+        try {
+            assertEquals("Test Street, 1", geocoder.getAddress(60.0, 30.0));
+            assertEquals(1, requests.get());
+        } finally {
+            geocoder.stop();
+        }
+    }
+
+    @Test
+    public void testCoalescing() {
+
+        delay = 200;
+        AsyncReverseGeocoder geocoder = new AsyncReverseGeocoder(createNominatim(), 20, 4, 10, 5000, 0);
+        try {
+            List<Future<String>> futures = new ArrayList<Future<String>>();
+            for (int i = 0; i < 5; i++) {
+                futures.add(geocoder.getAddressAsync(60.0, 30.0));
+            }
+            long deadline = System.nanoTime() + 5000000000L;
+            for (Future<String> future : futures) {
+                assertEquals("Test Street, 1", geocoder.getAddress(future, deadline));
+            }
+            assertEquals(1, requests.get());
+            assertEquals(4, geocoder.getCoalesced());
+        } finally {
+            geocoder.stop();
+        }
+    }
+
+    @Test
+    public void testTimeout() {
+
+        delay = 500;
+        AsyncReverseGeocoder geocoder = new AsyncReverseGeocoder(createNominatim(), 20, 1, 10, 50, 0);
+        try {
+            assertNull(geocoder.getAddress(60.0, 30.0));
+            assertEquals(1, geocoder.getTimeouts());
+        } finally {
+            geocoder.stop();
+        }
+    }
+
+    @Test
+    public void testRateLimit() {
+
+        AsyncReverseGeocoder geocoder = new AsyncReverseGeocoder(createNominatim(), 20, 2, 10, 5000, 10);
+        try {
+            long start = System.nanoTime();
+            geocoder.getAddress(60.0, 30.0);
+            geocoder.getAddress(61.0, 30.0);
+            geocoder.getAddress(62.0, 30.0);
+            assertTrue(System.nanoTime() - start >= 200000000L);
+            assertEquals(3, requests.get());
+        } finally {
+            geocoder.stop();
+        }
+    }
+
+}
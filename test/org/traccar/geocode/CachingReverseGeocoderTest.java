@@ -0,0 +1,81 @@
+package org.traccar.geocode;
+
+import java.io.File;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class CachingReverseGeocoderTest {
+
+    private static class CountingReverseGeocoder implements ReverseGeocoder {
+
+        private int count;
+
+        @Override
+        public String getAddress(double latitude, double longitude) {
+            count++;
+            return "address " + count;
+        }
+    }
+
+    @Test
+    public void testCache() {
+
+        CountingReverseGeocoder geocoder = new CountingReverseGeocoder();
+        CachingReverseGeocoder cache = new CachingReverseGeocoder(geocoder, 20, 2, 60000, null);
+
+        assertEquals("address 1", cache.getAddress(60.0, 30.0));
+        assertEquals("address 1", cache.getAddress(60.00001, 30.00001));
+        assertEquals("address 2", cache.getAddress(60.01, 30.0));
+        assertEquals(2, geocoder.count);
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+
+        cache.getAddress(-33.9, 151.2);
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    public void testKey() {
+
+        CachingReverseGeocoder cache = new CachingReverseGeocoder(null, 20, 1, 0, null);
+
+        assertNotEquals(cache.getKey(0.0, 0.0), cache.getKey(0.0003, 0.0));
+        assertNotEquals(cache.getKey(0.0, 0.0), cache.getKey(0.0, 0.0003));
+        assertNotEquals(cache.getKey(0.0, 179.9999), cache.getKey(0.0, -179.9999));
+        assertNotEquals(cache.getKey(-89.9999, 0.0), cache.getKey(89.9999, 0.0));
+    }
+
+    @Test
+    public void testExpiration() {
+
+        CountingReverseGeocoder geocoder = new CountingReverseGeocoder();
+        CachingReverseGeocoder cache = new CachingReverseGeocoder(geocoder, 20, 10, 0, null);
+
+        cache.getAddress(60.0, 30.0);
+        cache.getAddress(60.0, 30.0);
+        assertEquals(2, geocoder.count);
+        assertEquals(1, cache.getExpirations());
+    }
+
+    @Test
+    public void testFile() throws Exception {
+
+        File file = File.createTempFile("geocoder", ".cache");
+        try {
+            CachingReverseGeocoder cache = new CachingReverseGeocoder(new CountingReverseGeocoder(), 20, 10, 60000, file);
+            cache.getAddress(60.0, 30.0);
+            cache.save();
+
+            CountingReverseGeocoder geocoder = new CountingReverseGeocoder();
+            cache = new CachingReverseGeocoder(geocoder, 20, 10, 60000, file);
+            assertEquals("address 1", cache.getAddress(60.0, 30.0));
+            assertEquals(0, geocoder.count);
+        } finally {
+            file.delete();
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+package org.traccar.helper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class AsyncLogAppenderTest {
+
+    private static class BlockingAppender extends AppenderSkeleton {
+
+        private final List<String> messages = new ArrayList<String>();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected void append(LoggingEvent event) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(event.getRenderedMessage());
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean requiresLayout() {
+            return false;
+        }
+
+    }
+
+    private static class RecordingAppender extends AppenderSkeleton {
+
+        private final List<String> messages = Collections.synchronizedList(new ArrayList<String>());
+
+        @Override
+        protected void append(LoggingEvent event) {
+            messages.add(event.getRenderedMessage());
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean requiresLayout() {
+            return false;
+        }
+
+    }
+
+    private static LoggingEvent event(Level level, String message) {
+        return new LoggingEvent(AsyncLogAppenderTest.class.getName(), Logger.getLogger("test"), level, message, null);
+    }
+
+    @Test
+    public void testDrop() throws Exception {
+
+        BlockingAppender target = new BlockingAppender();
+        AsyncLogAppender appender = new AsyncLogAppender(target, 1, Level.INFO);
+
+        appender.doAppend(event(Level.INFO, "first"));
+        target.started.await();
+
+        appender.doAppend(event(Level.INFO, "second"));
+        appender.doAppend(event(Level.DEBUG, "third"));
+        appender.doAppend(event(Level.INFO, "fourth"));
+        assertEquals(2, appender.getDropped());
+
+        target.release.countDown();
+        appender.close();
+
+        assertEquals(3, target.messages.size());
+        assertEquals("first", target.messages.get(0));
+        assertEquals("Logger queue full, 2 events dropped", target.messages.get(1));
+        assertEquals("second", target.messages.get(2));
+
+    }
+
+    @Test
+    public void testConcurrentClose() throws Exception {
+
+        final int threadCount = 4;
+        final int eventCount = 2000;
+
+        RecordingAppender target = new RecordingAppender();
+        final AsyncLogAppender appender = new AsyncLogAppender(target, 64, Level.TRACE);
+        final CountDownLatch started = new CountDownLatch(threadCount);
+
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            final int index = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    started.countDown();
+                    for (int i = 0; i < eventCount; i++) {
+                        appender.doAppend(event(Level.WARN, index + ":" + i));
+                    }
+                }
+            });
+            threads[t].start();
+        }
+
+        started.await();
+        appender.close();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Nothing lost and each thread's events in order, whether queued or written after close
+        assertEquals(threadCount * eventCount, target.messages.size());
+        int[] next = new int[threadCount];
+        for (String message : target.messages) {
+            String[] parts = message.split(":");
+            int index = Integer.parseInt(parts[0]);
+            assertEquals(next[index]++, Integer.parseInt(parts[1]));
+        }
+
+    }
+
+}
@@ -1,6 +1,9 @@
 package org.traccar.helper;
 
+import java.nio.charset.Charset;
+import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBufferFactory;
+import org.jboss.netty.buffer.ChannelBuffers;
 import org.jboss.netty.buffer.HeapChannelBufferFactory;
 import static org.junit.Assert.*;
 import org.junit.Test;
@@ -11,6 +14,12 @@ public class ChannelBufferToolsTest {
     
     @Test
     public void testFind() {
+        ChannelBuffer buf = ChannelBuffers.copiedBuffer("abcdabce", Charset.defaultCharset());
+        assertEquals(4, ChannelBufferTools.find(buf, 0, buf.writerIndex(), "abce").intValue());
+        assertEquals(2, ChannelBufferTools.find(buf, 0, buf.writerIndex(), "c").intValue());
+        assertEquals(6, ChannelBufferTools.find(buf, 3, buf.writerIndex(), "c").intValue());
+        assertNull(ChannelBufferTools.find(buf, 0, 4, "abce"));
+        assertNull(ChannelBufferTools.find(buf, 0, buf.writerIndex(), "x"));
     }
 
     @Test
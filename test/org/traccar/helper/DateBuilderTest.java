@@ -0,0 +1,70 @@
+package org.traccar.helper;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DateBuilderTest {
+
+    private static long calendar(int year, int month, int day, int hour, int minute, int second) {
+        Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        time.clear();
+        time.set(year, month - 1, day, hour, minute, second);
+        return time.getTimeInMillis();
+    }
+
+    @Test
+    public void testDate() {
+
+        assertEquals(0, new DateBuilder().getMillis());
+
+        for (int year = 1980; year <= 2100; year++) {
+            for (int month = 1; month <= 12; month++) {
+                assertEquals(calendar(year, month, 1, 0, 0, 0),
+                        new DateBuilder().setDate(year, month, 1).getMillis());
+            }
+        }
+
+        assertEquals(calendar(2012, 2, 29, 23, 59, 59),
+                new DateBuilder().setDate(2012, 2, 29).setTime(23, 59, 59).getMillis());
+
+    }
+
+    @Test
+    public void testOverflow() {
+
+        assertEquals(calendar(2015, 1, 1, 0, 0, 0),
+                new DateBuilder().setDate(2014, 12, 31).setTime(24, 0, 0).getMillis());
+
+        assertEquals(calendar(2015, 2, 1, 0, 0, 0),
+                new DateBuilder().setDate(2014, 14, 1).getMillis());
+
+        assertEquals(calendar(2014, 12, 31, 23, 30, 0),
+                new DateBuilder().setDate(2015, 1, 1).addMinute(-30).getMillis());
+
+        assertEquals(calendar(2015, 3, 1, 0, 0, 0),
+                new DateBuilder().setDate(2015, 2, 29).getMillis());
+
+    }
+
+    @Test
+    public void testOffset() {
+
+        DateBuilder time = new DateBuilder(3 * 60 * 60 * 1000).setDate(2015, 1, 1).setTime(3, 0, 0);
+        assertEquals(calendar(2015, 1, 1, 0, 0, 0), time.getMillis());
+
+    }
+
+    @Test
+    public void testCurrentDate() {
+
+        Calendar now = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        long millis = new DateBuilder().setCurrentDate().getMillis();
+        assertEquals(calendar(
+                now.get(Calendar.YEAR), now.get(Calendar.MONTH) + 1, now.get(Calendar.DAY_OF_MONTH), 0, 0, 0), millis);
+
+    }
+
+}
@@ -0,0 +1,88 @@
+package org.traccar.helper;
+
+import java.nio.charset.Charset;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DelimiterScannerTest {
+
+    private static ChannelBuffer buffer(ChannelBuffer buf, String data) {
+        buf.writeBytes(data.getBytes(Charset.forName("US-ASCII")));
+        return buf;
+    }
+
+    @Test
+    public void testFragmented() {
+
+        DelimiterScanner scanner = new DelimiterScanner("\r\n");
+        ChannelBuffer buf = ChannelBuffers.dynamicBuffer();
+
+        buf.writeByte('#');
+        buf.readByte();
+
+        assertEquals(-1, scanner.find(buffer(buf, "abc")));
+        assertEquals(-1, scanner.find(buffer(buf, "def\r")));
+        assertEquals(7, scanner.find(buffer(buf, "\nghi\r\n")));
+
+        buf.readerIndex(10);
+        assertEquals(12, scanner.find(buf));
+
+    }
+
+    @Test
+    public void testNewCumulation() {
+
+        DelimiterScanner scanner = new DelimiterScanner("\r\n");
+        ChannelBuffer buf = buffer(ChannelBuffers.dynamicBuffer(), "xxabc\r");
+        buf.skipBytes(2);
+
+        assertEquals(-1, scanner.find(buf));
+
+        buf = buffer(ChannelBuffers.copiedBuffer(buf), "\n");
+        assertEquals(3, scanner.find(buf));
+
+    }
+
+    @Test
+    public void testDirect() {
+
+        DelimiterScanner scanner = new DelimiterScanner("END");
+        ChannelBuffer buf = ChannelBuffers.directBuffer(32);
+
+        assertEquals(-1, scanner.find(buffer(buf, "ENEN")));
+        assertEquals(2, scanner.find(buffer(buf, "DE")));
+        assertEquals(-1, scanner.indexOf(buf, 3, buf.writerIndex()));
+
+    }
+
+    @Test
+    public void testSingleByte() {
+
+        DelimiterScanner scanner = new DelimiterScanner("#");
+        ChannelBuffer buf = ChannelBuffers.dynamicBuffer();
+
+        assertEquals(-1, scanner.find(buf));
+        assertEquals(-1, scanner.find(buffer(buf, "*HQ,123")));
+        assertEquals(10, scanner.find(buffer(buf, ",V1#")));
+
+    }
+
+    @Test
+    public void testUnrelatedBuffer() {
+
+        DelimiterScanner scanner = new DelimiterScanner("\r\n");
+
+        assertEquals(-1, scanner.find(buffer(ChannelBuffers.dynamicBuffer(), "junk without delimiter")));
+        assertEquals(2, scanner.find(buffer(ChannelBuffers.dynamicBuffer(), "ok\r\n")));
+
+        ChannelBuffer buf = buffer(ChannelBuffers.dynamicBuffer(), "junk without delimiter");
+        assertEquals(-1, scanner.find(buf));
+        buf.readerIndex(buf.writerIndex());
+        assertEquals(buf.writerIndex() + 2, scanner.find(buffer(buf, "ok\r\n")));
+
+    }
+
+}
@@ -0,0 +1,30 @@
+package org.traccar.helper;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentiles() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(50));
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500500, histogram.getSum());
+
+        long median = histogram.getPercentile(50);
+        assertTrue(median >= 500 && median <= 500 * 1.07);
+        long tail = histogram.getPercentile(99);
+        assertTrue(tail >= 990 && tail <= 990 * 1.07);
+        assertEquals(10, histogram.getPercentile(1));
+    }
+
+}
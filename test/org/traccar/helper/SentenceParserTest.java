@@ -0,0 +1,94 @@
+package org.traccar.helper;
+
+import java.nio.charset.Charset;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SentenceParserTest {
+
+    private static SentenceParser parser(String sentence) {
+        return new SentenceParser(ChannelBuffers.copiedBuffer(sentence, Charset.defaultCharset()));
+    }
+
+    @Test
+    public void testNumbers() {
+
+        SentenceParser parser = parser("140527,-12,0.066,+3.5,7.,abc");
+
+        assertEquals(14, parser.readDigits(2));
+        assertEquals(527, parser.readDigits(4));
+        parser.expect(',');
+        assertEquals(-12, parser.readInt());
+        parser.expect(',');
+        assertEquals(0.066, parser.readDouble(), 0.0);
+        parser.expect(',');
+        assertEquals(3.5, parser.readDouble(), 0.0);
+        parser.expect(',');
+        assertEquals(7.0, parser.readDouble(), 0.0);
+        parser.expect(',');
+        assertFalse(parser.hasError());
+
+        assertEquals(0.0, parser.readDouble(), 0.0);
+        assertTrue(parser.hasError());
+        assertEquals("abc", parser.readField());
+        assertFalse(parser.hasNext());
+
+    }
+
+    @Test
+    public void testCoordinates() {
+
+        SentenceParser parser = parser("2234.4669,S,11354.3287,E,123,X");
+
+        assertEquals(22 + 34.4669 / 60, parser.readCoordinate(), 0.0);
+        parser.expect(',');
+        assertEquals(-1, parser.readHemisphere());
+        parser.expect(',');
+        assertEquals(113 + 54.3287 / 60, parser.readCoordinate(), 0.0);
+        parser.expect(',');
+        assertEquals(1, parser.readHemisphere());
+        parser.expect(',');
+        assertFalse(parser.hasError());
+
+        parser.readCoordinate();
+        assertTrue(parser.hasError());
+
+    }
+
+    @Test
+    public void testFields() {
+
+        SentenceParser parser = parser("+RESP:GTFRI,,18d8,,6141x,end");
+
+        assertEquals(6, parser.indexOf("GT"));
+        assertTrue(parser.skip("+RESP:"));
+        assertTrue(parser.startsWith("GTFRI"));
+
+        int[] fields = parser.getFieldIndexes();
+        assertEquals(6, fields.length);
+        assertEquals(12, fields[1]);
+
+        parser.setIndex(fields[1]);
+        assertTrue(parser.isEmptyField());
+        assertNull(parser.readHexField(4));
+        parser.expect(',');
+        assertEquals("18d8", parser.readHexField(4));
+        parser.expect(',');
+        assertFalse(parser.hasError());
+
+        parser.setIndex(fields[4]);
+        assertNull(parser.readHexField(4));
+        assertTrue(parser.hasError());
+
+        parser.setIndex(fields[4]);
+        parser.skipField();
+        assertEquals("end", parser.readField());
+
+    }
+
+}
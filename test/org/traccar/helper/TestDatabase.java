@@ -0,0 +1,52 @@
+package org.traccar.helper;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+import org.traccar.database.DataManager;
+
+/**
+ * In-memory H2 database for data manager tests
+ */
+public final class TestDatabase {
+
+    private TestDatabase() {
+    }
+
+    /**
+     * Connection properties of a named database kept until the JVM exits, queries are added by the test
+     */
+    public static Properties createProperties(String name) {
+        Properties properties = new Properties();
+        properties.setProperty("database.driver", "org.h2.Driver");
+        properties.setProperty("database.url", "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        properties.setProperty("database.user", "sa");
+        properties.setProperty("database.password", "");
+        return properties;
+    }
+
+    public static void execute(DataManager dataManager, String sql) throws SQLException {
+        Connection connection = dataManager.getDataSource().getConnection();
+        try {
+            connection.createStatement().execute(sql);
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * First column of the first row
+     */
+    public static long queryLong(DataManager dataManager, String sql) throws SQLException {
+        Connection connection = dataManager.getDataSource().getConnection();
+        try {
+            ResultSet resultSet = connection.createStatement().executeQuery(sql);
+            resultSet.next();
+            return resultSet.getLong(1);
+        } finally {
+            connection.close();
+        }
+    }
+
+}
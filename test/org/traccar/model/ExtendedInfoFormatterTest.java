@@ -1,6 +1,7 @@
 package org.traccar.model;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import org.junit.Test;
 
 public class ExtendedInfoFormatterTest {
@@ -17,4 +18,63 @@ public class ExtendedInfoFormatterTest {
         
     }
 
+    @Test
+    public void testAttributes() throws Exception {
+
+        ExtendedInfoFormatter extendedInfo = new ExtendedInfoFormatter("test");
+        extendedInfo.set("index", 5);
+
+        Position position = new Position();
+        position.setExtendedInfo(extendedInfo);
+        assertEquals(5, position.getAttribute("index"));
+        assertNull(position.getAttribute("power"));
+        assertEquals("<info><protocol>test</protocol><index>5</index></info>", position.getExtendedInfo());
+
+        position.setExtendedInfo("<info><protocol>test</protocol><power>12.5</power></info>");
+        assertEquals("12.5", position.getAttribute("power"));
+        assertNull(position.getAttribute("index"));
+
+    }
+
+    @Test
+    public void testTypes() throws Exception {
+
+        ExtendedInfoFormatter extendedInfo = new ExtendedInfoFormatter("test");
+        extendedInfo.set("int", -5);
+        extendedInfo.set("long", 1L << 40);
+        extendedInfo.set("float", 0.1f);
+        extendedInfo.set("double", 0.1);
+        extendedInfo.set("boolean", true);
+        extendedInfo.set("char", 'A');
+        extendedInfo.set("string", "");
+
+        assertEquals("<info><protocol>test</protocol><int>-5</int><long>1099511627776</long><float>0.1</float>"
+                + "<double>0.1</double><boolean>true</boolean><char>A</char></info>", extendedInfo.toString());
+        assertEquals(0.1f, extendedInfo.get("float"));
+        assertEquals('A', extendedInfo.get("char"));
+
+        extendedInfo.set("int", "x");
+        extendedInfo.set("char", (Object) 7);
+        assertEquals("x", extendedInfo.get("int"));
+        assertEquals(7, extendedInfo.get("char"));
+
+    }
+
+    @Test
+    public void testGrow() throws Exception {
+
+        ExtendedInfoFormatter extendedInfo = new ExtendedInfoFormatter("test");
+        StringBuilder expected = new StringBuilder("<info><protocol>test</protocol>");
+        for (int i = 0; i < 20; i++) {
+            extendedInfo.set(new String("k" + i), i % 2 == 0 ? (Object) i : "v" + i);
+            expected.append("<k").append(i).append(">").append(i % 2 == 0 ? "" : "v").append(i);
+            expected.append("</k").append(i).append(">");
+        }
+        extendedInfo.set("k3", 3);
+        expected.append("</info>");
+
+        assertEquals(expected.toString().replace("<k3>v3</k3>", "<k3>3</k3>"), extendedInfo.toString());
+
+    }
+
 }
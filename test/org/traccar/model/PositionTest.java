@@ -0,0 +1,147 @@
+package org.traccar.model;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PositionTest {
+
+    /**
+     * Layout of Position with boxed fields, for the footprint comparison
+     */
+    @SuppressWarnings("unused")
+    private static class BoxedPosition {
+        private Long id = 1000L;
+        private Long deviceId = 1000L;
+        private Date serverTime;
+        private String extendedInfo;
+        private ExtendedInfoFormatter attributes;
+        private Date time = new Date();
+        private Boolean valid = Boolean.TRUE;
+        private Double latitude = 60.0;
+        private Double longitude = 30.0;
+        private Double altitude = 10.0;
+        private Double speed = 20.0;
+        private Double course = 90.0;
+        private String address;
+    }
+
+    private static int fieldSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return 4; // compressed reference
+    }
+
+    /**
+     * Shallow size for 64-bit HotSpot with compressed references (12 byte header, 8 byte alignment)
+     */
+    private static long shallowSize(Class<?> type) {
+        long size = 12;
+        boolean wide = false;
+        boolean narrow = false;
+        for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    int fieldSize = fieldSize(field.getType());
+                    size += fieldSize;
+                    wide |= fieldSize == 8;
+                    narrow |= fieldSize < 8;
+                }
+            }
+        }
+        if (wide && !narrow) {
+            size += 4; // first long field is aligned
+        }
+        return (size + 7) / 8 * 8;
+    }
+
+    /**
+     * Size of the object and objects it references, shared constants (Boolean) are excluded
+     */
+    private static long retainedSize(Object object, Map<Object, Object> visited) throws Exception {
+        if (object == null || object instanceof Boolean || visited.containsKey(object)) {
+            return 0;
+        }
+        visited.put(object, object);
+        long size = shallowSize(object.getClass());
+        for (Class<?> c = object.getClass(); c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+                    field.setAccessible(true);
+                    size += retainedSize(field.get(object), visited);
+                }
+            }
+        }
+        return size;
+    }
+
+    private static long retainedSize(Object object) throws Exception {
+        return retainedSize(object, new IdentityHashMap<Object, Object>());
+    }
+
+    @Test
+    public void testFields() {
+
+        Position position = new Position();
+        assertNull(position.getTime());
+        assertNull(position.getAltitude());
+        assertFalse(position.hasCourse());
+
+        position.setAltitude(0.0);
+        position.setCourse((Double) null);
+        position.setTime(new Date(1000));
+        assertEquals(0.0, position.getAltitude(), 0.0);
+        assertTrue(position.hasAltitude());
+        assertNull(position.getCourse());
+        assertEquals(1000, position.getTime().getTime());
+        assertEquals(1000, position.getTimeMillis());
+
+        position.setAltitude((Double) null);
+        assertFalse(position.hasAltitude());
+
+        position.setDeviceId(5L);
+        assertEquals(Long.valueOf(5), position.getDeviceId());
+        assertNull(position.getId());
+
+        assertEquals(5, position.getDeviceIdValue());
+        assertEquals(0.0, position.getCourseValue(), 0.0);
+        assertFalse(position.getValidValue());
+        position.setValid(true);
+        position.setCourse(90.0);
+        assertTrue(position.getValidValue());
+        assertEquals(90.0, position.getCourseValue(), 0.0);
+
+    }
+
+    @Test
+    public void testFootprint() throws Exception {
+
+        Position position = new Position(1000, new Date(), true, 60.0, 30.0, 10.0, 20.0, 90.0);
+        position.setId(1000L);
+
+        long before = retainedSize(new BoxedPosition());
+        long after = retainedSize(position);
+
+        // Boxed values are objects of their own, primitives are inlined into the position
+        assertEquals(256, before);
+        assertEquals(112, after);
+        assertTrue(after < before);
+
+    }
+
+}
@@ -1,9 +1,8 @@
 package org.traccar.protocol;
 
-import org.traccar.helper.TestDataManager;
-import static org.traccar.helper.DecoderVerifier.verify;
-import static org.junit.Assert.assertNull;
 import org.junit.Test;
+import org.traccar.DecoderVectors;
+import org.traccar.helper.TestDataManager;
 
 public class Ev603ProtocolDecoderTest {
 
@@ -12,15 +11,7 @@ public class Ev603ProtocolDecoderTest {
 
         Ev603ProtocolDecoder decoder = new Ev603ProtocolDecoder(new TestDataManager(), null, null);
 
-        assertNull(decoder.decode(null, null, "!1,123456789012345"));
-
-        assertNull(decoder.decode(null, null, "!5,17,V"));
-
-        verify(decoder.decode(null, null,
-                "!A,26/10/12,00:28:41,7.770385,-72.215706,0.0,25101,0"));
-
-        verify(decoder.decode(null, null,
-                "!A,01/12/10,13:25:35,22.641724,114.023666,000.1,281.6,0"));
+        DecoderVectors.verify(decoder, "Ev603");
 
     }
 
@@ -1,9 +1,8 @@
 package org.traccar.protocol;
 
-import org.traccar.helper.TestDataManager;
-import static org.traccar.helper.DecoderVerifier.verify;
-import static org.junit.Assert.assertNull;
 import org.junit.Test;
+import org.traccar.DecoderVectors;
+import org.traccar.helper.TestDataManager;
 
 public class FreedomProtocolDecoderTest {
 
@@ -12,9 +11,8 @@ public class FreedomProtocolDecoderTest {
 
         FreedomProtocolDecoder decoder = new FreedomProtocolDecoder(new TestDataManager(), null, null);
 
-        verify(decoder.decode(null, null,
-                "IMEI,353358011714362,2014/05/22, 20:49:32, N, Lat:4725.9624, E, Lon:01912.5483, Spd:5.05"));
-        
+        DecoderVectors.verify(decoder, "Freedom");
+
     }
 
 }
@@ -1,10 +1,8 @@
 package org.traccar.protocol;
 
-import org.traccar.helper.TestDataManager;
-import org.jboss.netty.buffer.ChannelBuffers;
-import static org.traccar.helper.DecoderVerifier.verify;
 import org.junit.Test;
-import org.traccar.helper.ChannelBufferTools;
+import org.traccar.DecoderVectors;
+import org.traccar.helper.TestDataManager;
 
 public class GatorProtocolDecoderTest {
 
@@ -12,19 +10,9 @@ public class GatorProtocolDecoderTest {
     public void testDecode() throws Exception {
 
         GatorProtocolDecoder decoder = new GatorProtocolDecoder(new TestDataManager(), null, null);
-        
-        verify(decoder.decode(null, null, ChannelBuffers.wrappedBuffer(ChannelBufferTools.convertHexString(
-                "24248000260009632d141121072702059226180104367500000000c04700079c0c34000ad80b00ff000a0d"))));
-
-        verify(decoder.decode(null, null, ChannelBuffers.wrappedBuffer(ChannelBufferTools.convertHexString(
-                "24248100230CA23285100306145907022346901135294700000000C04001012C0E1100000021CB0D"))));
 
-        verify(decoder.decode(null, null, ChannelBuffers.wrappedBuffer(ChannelBufferTools.convertHexString(
-                "2424800023c2631e00111220104909833268648703804100000000c0470000000b4e00000000550d"))));
+        DecoderVectors.verify(decoder, "Gator");
 
-        verify(decoder.decode(null, null, ChannelBuffers.wrappedBuffer(ChannelBufferTools.convertHexString(
-                "24248000260009632d141121072702059226180104367500000000c04700079c0c34000ad80b00ff000a0d"))));
-        
     }
 
 }
@@ -1,10 +1,7 @@
 package org.traccar.protocol;
 
-import org.jboss.netty.buffer.ChannelBuffers;
-import static org.junit.Assert.assertNull;
 import org.junit.Test;
-import org.traccar.helper.ChannelBufferTools;
-import static org.traccar.helper.DecoderVerifier.verify;
+import org.traccar.DecoderVectors;
 import org.traccar.helper.TestDataManager;
 
 public class Gt02ProtocolDecoderTest {
@@ -14,14 +11,7 @@ public class Gt02ProtocolDecoderTest {
 
         Gt02ProtocolDecoder decoder = new Gt02ProtocolDecoder(new TestDataManager(), null, null);
 
-        verify(decoder.decode(null, null, ChannelBuffers.wrappedBuffer(ChannelBufferTools.convertHexString(
-                "68682500000123456789012345000110010101010101026B3F3E026B3F3E000000000000000000010D0A"))));
-
-        assertNull(decoder.decode(null, null, ChannelBuffers.wrappedBuffer(ChannelBufferTools.convertHexString(
-                "6868110603035889905101276600001a0402292d0d0a"))));
-
-        verify(decoder.decode(null, null, ChannelBuffers.wrappedBuffer(ChannelBufferTools.convertHexString(
-                "68682500a403588990510127660001100e09060a1d1b00ade1c90b79ea3000011b000000000000050d0a"))));
+        DecoderVectors.verify(decoder, "Gt02");
 
     }
 
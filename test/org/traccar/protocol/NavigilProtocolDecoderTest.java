@@ -1,12 +1,8 @@
 package org.traccar.protocol;
 
-import org.traccar.helper.TestDataManager;
-import java.nio.ByteOrder;
-import org.jboss.netty.buffer.ChannelBuffers;
-import static org.junit.Assert.assertNull;
 import org.junit.Test;
-import org.traccar.helper.ChannelBufferTools;
-import static org.traccar.helper.DecoderVerifier.verify;
+import org.traccar.DecoderVectors;
+import org.traccar.helper.TestDataManager;
 
 public class NavigilProtocolDecoderTest {
 
@@ -15,11 +11,7 @@ public class NavigilProtocolDecoderTest {
 
         NavigilProtocolDecoder decoder = new NavigilProtocolDecoder(new TestDataManager(), null, null);
 
-        assertNull(decoder.decode(null, null, ChannelBuffers.wrappedBuffer(ByteOrder.LITTLE_ENDIAN, ChannelBufferTools.convertHexString(
-                "01004300040020000000f60203080200e7cd0f510c0000003b00000000000000"))));
-
-        verify(decoder.decode(null, null, ChannelBuffers.wrappedBuffer(ByteOrder.LITTLE_ENDIAN, ChannelBufferTools.convertHexString(
-                "0100b3000f0024000000f4a803080200ca0c1151ef8885f0b82e6d130400c00403000000"))));
+        DecoderVectors.verify(decoder, "Navigil");
 
     }
 
@@ -1,12 +1,8 @@
 package org.traccar.protocol;
 
-import org.traccar.helper.ChannelBufferTools;
-import org.traccar.helper.TestDataManager;
-import java.nio.ByteOrder;
-import org.jboss.netty.buffer.ChannelBuffers;
-import static org.traccar.helper.DecoderVerifier.verify;
-import static org.junit.Assert.assertNull;
 import org.junit.Test;
+import org.traccar.DecoderVectors;
+import org.traccar.helper.TestDataManager;
 
 public class NavisProtocolDecoderTest {
 
@@ -15,14 +11,7 @@ public class NavisProtocolDecoderTest {
 
         NavisProtocolDecoder decoder = new NavisProtocolDecoder(new TestDataManager(), null, null);
 
-        assertNull(decoder.decode(null, null, ChannelBuffers.wrappedBuffer(ByteOrder.LITTLE_ENDIAN, ChannelBufferTools.convertHexString(
-                "404E5443010000007B000000130044342A3E533A383631373835303035323035303739"))));
-
-        verify(decoder.decode(null, null, ChannelBuffers.wrappedBuffer(ByteOrder.LITTLE_ENDIAN, ChannelBufferTools.convertHexString(
-                "404E5443010000007B0000005A0050692A3E410125DB0E00000015110707110A0C0880630000AA39A2381600020000000000000000000C110708110A0CB389793F1AEF263F00000000120034F516440000000000000000000000FAFF000000FAFF000000FAFF80808080"))));
-
-        assertNull(decoder.decode(null, null, ChannelBuffers.wrappedBuffer(ByteOrder.LITTLE_ENDIAN, ChannelBufferTools.convertHexString(
-                "404E5443010000007B000000130047372A3E533A383631373835303035313236303639"))));
+        DecoderVectors.verify(decoder, "Navis");
 
     }
 
@@ -1,9 +1,8 @@
 package org.traccar.protocol;
 
-import org.traccar.helper.TestDataManager;
-import static org.traccar.helper.DecoderVerifier.verify;
-import static org.junit.Assert.assertNull;
 import org.junit.Test;
+import org.traccar.DecoderVectors;
+import org.traccar.helper.TestDataManager;
 
 public class TelikProtocolDecoderTest {
 
@@ -12,12 +11,8 @@ public class TelikProtocolDecoderTest {
 
         TelikProtocolDecoder decoder = new TelikProtocolDecoder(new TestDataManager(), null, null);
 
-        assertNull(decoder.decode(null, null,
-                "0026436729|232|01|003002030"));
+        DecoderVectors.verify(decoder, "Telik");
 
-        verify(decoder.decode(null, null,
-                "182043672999,010100001301,0,270613041652,166653,475341,3,0,355,6,2,1,231,8112432,23201,01,00,217,0,0,0,0,7"));
-        
     }
 
 }
@@ -0,0 +1,48 @@
+package org.traccar.protocol;
+
+import java.nio.charset.Charset;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.handler.codec.embedder.DecoderEmbedder;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class WondexFrameDecoderTest {
+
+    private static final String MESSAGE = "1044989601,20130323074605,28.254000,-26.621380,0,0,0,0,1,0,0.000,0,0";
+
+    private static ChannelBuffer buffer(String data) {
+        return ChannelBuffers.copiedBuffer(data, Charset.forName("US-ASCII"));
+    }
+
+    @Test
+    public void testProbeAfterJunk() throws Exception {
+
+        WondexFrameDecoder decoder = new WondexFrameDecoder();
+
+        // Junk longer than the message, a stale scan offset would skip the delimiter
+        assertNull(decoder.decode(null, null, buffer(MESSAGE + MESSAGE)));
+
+        ChannelBuffer frame = (ChannelBuffer) decoder.decode(null, null, buffer(MESSAGE + "\r\n"));
+        assertEquals(MESSAGE, frame.toString(Charset.forName("US-ASCII")));
+
+    }
+
+    @Test
+    public void testFragmented() {
+
+        DecoderEmbedder<ChannelBuffer> embedder = new DecoderEmbedder<ChannelBuffer>(new WondexFrameDecoder());
+
+        embedder.offer(buffer(MESSAGE.substring(0, 20)));
+        embedder.offer(buffer(MESSAGE.substring(20) + "\r"));
+        embedder.offer(buffer("\n" + MESSAGE + "\r\n"));
+
+        assertEquals(MESSAGE, embedder.poll().toString(Charset.forName("US-ASCII")));
+        assertEquals(MESSAGE, embedder.poll().toString(Charset.forName("US-ASCII")));
+        assertNull(embedder.poll());
+
+    }
+
+}
@@ -1,8 +1,8 @@
 package org.traccar.protocol;
 
-import org.traccar.helper.TestDataManager;
-import static org.traccar.helper.DecoderVerifier.verify;
 import org.junit.Test;
+import org.traccar.DecoderVectors;
+import org.traccar.helper.TestDataManager;
 
 public class XirgoProtocolDecoderTest {
 
@@ -11,8 +11,7 @@ public class XirgoProtocolDecoderTest {
 
         XirgoProtocolDecoder decoder = new XirgoProtocolDecoder(new TestDataManager(), null, null);
 
-        verify(decoder.decode(null, null, null,
-                "$$354898045650537,6031,2015/02/26,15:47:26,33.42552,-112.30308,287.8,0,0,0,0,0.0,7,1.2,2,0.0,12.2,22,1,0,82.3"));
+        DecoderVectors.verify(decoder, "Xirgo");
 
     }
 
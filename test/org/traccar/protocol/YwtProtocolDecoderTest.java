@@ -1,9 +1,8 @@
 package org.traccar.protocol;
 
-import org.traccar.helper.TestDataManager;
-import static org.traccar.helper.DecoderVerifier.verify;
-import static org.junit.Assert.assertNull;
 import org.junit.Test;
+import org.traccar.DecoderVectors;
+import org.traccar.helper.TestDataManager;
 
 public class YwtProtocolDecoderTest {
 
@@ -11,18 +10,8 @@ public class YwtProtocolDecoderTest {
     public void testDecode() throws Exception {
 
         YwtProtocolDecoder decoder = new YwtProtocolDecoder(new TestDataManager(), null, null);
-        
-        assertNull(decoder.decode(null, null,
-                "%SN,0417061042:0,0,140117041203,404"));
-
-        verify(decoder.decode(null, null,
-                "%GP,3000012345:0,090723182813,E114.602345,N22.069725,,30,160,4,0,00,,2794-10FF-46000,3>0-0"));
-
-        verify(decoder.decode(null, null,
-                "%RP,3000012345:0,090807182815,E114.602345,N22.069725,,30,160,4,0,00"));
 
-        verify(decoder.decode(null, null,
-                "%KP,3000012345:0,090807183115,E114.602345,N22.069725,,30,160,5,0,00;"));
+        DecoderVectors.verify(decoder, "Ywt");
 
     }
 
@@ -0,0 +1,10 @@
+#!/bin/sh
+#
+# Load test with simulated devices, options are described in
+# benchmark/org/traccar/load/LoadGenerator.java
+#
+# Example: ./load.sh protocol=gt06 devices=5000 interval=5000 duration=120
+#
+
+cd "$(dirname "$0")/.." && mvn -B -q -Pbenchmark test-compile exec:exec \
+    -Dbenchmark.main=org.traccar.load.LoadGenerator -Dbenchmark="$*"